@@ -1,11 +1,22 @@
-import React from 'react';
+import React, { useEffect, useState } from 'react';
 import { Link, useNavigate } from 'react-router-dom';
 import { useAuth } from '../context/AuthContext';
+import { notificationService } from '../services/notificationService';
 import './Navbar.css';
 
 const Navbar = () => {
   const { user, logout } = useAuth();
   const navigate = useNavigate();
+  const [unreadCount, setUnreadCount] = useState(0);
+
+  // Live unread count pushed over the notification stream while logged in
+  useEffect(() => {
+    if (!user) {
+      setUnreadCount(0);
+      return undefined;
+    }
+    return notificationService.openStream({ onUnreadCount: setUnreadCount });
+  }, [user]);
 
   const handleLogout = () => {
     logout();
@@ -33,7 +44,14 @@ const Navbar = () => {
               {user.role === 'ADMIN' && (
                 <Link to="/admin">Admin Dashboard</Link>
               )}
-              <span className="navbar-user">{user.firstName} {user.lastName}</span>
+              <span className="navbar-user">
+                {user.firstName} {user.lastName}
+                {unreadCount > 0 && (
+                  <span className="navbar-badge" title={`${unreadCount} unread notifications`}>
+                    {unreadCount > 99 ? '99+' : unreadCount}
+                  </span>
+                )}
+              </span>
               <button onClick={handleLogout} className="btn-logout">
                 Logout
               </button>
@@ -14,7 +14,7 @@
  * @version 3.0
  */
 
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { adminService } from '../services/adminService';
 import Navbar from '../components/Navbar';
 import LoadingSpinner from '../components/LoadingSpinner';
@@ -26,6 +26,7 @@ const AdminDashboard = () => {
   // Data states
   const [pendingPayments, setPendingPayments] = useState([]);
   const [pendingJobs, setPendingJobs] = useState([]);
+  const [pendingJobCount, setPendingJobCount] = useState(0); // All pending jobs, not just the first page
   const [employers, setEmployers] = useState([]);
   const [jobSeekers, setJobSeekers] = useState([]);
 
@@ -47,6 +48,15 @@ const AdminDashboard = () => {
   const [rejectionReason, setRejectionReason] = useState('');
   const [processingJob, setProcessingJob] = useState(null);
 
+  // Job review queue: jobs claimed for this admin after "Start reviewing" (null while not reviewing)
+  const [reviewQueue, setReviewQueue] = useState(null);
+  const [reviewLeaseExpiresAt, setReviewLeaseExpiresAt] = useState(null);
+  const [claimingQueue, setClaimingQueue] = useState(false);
+  const [selectedJobIds, setSelectedJobIds] = useState([]); // Bulk selection within the review queue
+  const [bulkProcessing, setBulkProcessing] = useState(false);
+  const [showBulkRejectModal, setShowBulkRejectModal] = useState(false);
+  const reviewingRef = useRef(false);
+
   // User management
   const [processingUser, setProcessingUser] = useState(null);
   const [selectedUser, setSelectedUser] = useState(null);
@@ -70,6 +80,13 @@ const AdminDashboard = () => {
     }
 
     loadData();
+
+    // Hand claimed jobs back to other admins when leaving the dashboard
+    return () => {
+      if (reviewingRef.current) {
+        adminService.releaseReviewQueue().catch(() => {});
+      }
+    };
   }, []);
 
   /**
@@ -107,9 +124,10 @@ const AdminDashboard = () => {
 
       // Handle jobs
       if (results[1].status === 'fulfilled') {
-        const jobs = results[1].value || [];
-        console.log('Loaded pending jobs:', jobs);
-        setPendingJobs(jobs);
+        const page = results[1].value;
+        console.log('Loaded pending jobs:', page);
+        setPendingJobs(page?.content || []);
+        setPendingJobCount(page?.totalElements || 0);
       } else {
         console.error('Error loading jobs:', results[1].reason);
         const errorMsg = results[1].reason?.response?.data?.error ||
@@ -121,6 +139,7 @@ const AdminDashboard = () => {
           setError(`Failed to load jobs: ${errorMsg}`);
         }
         setPendingJobs([]);
+        setPendingJobCount(0);
       }
 
       // Handle employers
@@ -166,12 +185,19 @@ const AdminDashboard = () => {
   };
 
   /**
-   * View payment proof document
+   * Download URL of a payment proof; variant 'thumb' returns a small preview image
    */
-  const viewPaymentProof = (filePath) => {
+  const paymentProofUrl = (filePath, variant) => {
     const apiBaseUrl = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
     const fileUrl = `${apiBaseUrl}/files/download/${filePath.split('/').map(encodeURIComponent).join('/')}`;
-    window.open(fileUrl, '_blank');
+    return variant ? `${fileUrl}?variant=${variant}` : fileUrl;
+  };
+
+  /**
+   * View payment proof document
+   */
+  const viewPaymentProof = (filePath) => {
+    window.open(paymentProofUrl(filePath), '_blank');
   };
 
   /**
@@ -252,6 +278,145 @@ const AdminDashboard = () => {
     setRejectionReason('');
   };
 
+  /**
+   * Start reviewing: claim a queue of pending jobs so other admins don't review the same ones
+   */
+  const handleStartReviewing = async () => {
+    setClaimingQueue(true);
+    setError('');
+    try {
+      const queue = await adminService.claimReviewQueue();
+      reviewingRef.current = true;
+      setReviewQueue(queue.jobs || []);
+      setSelectedJobIds([]);
+      setReviewLeaseExpiresAt(queue.leaseExpiresAt);
+    } catch (err) {
+      setError(err.response?.data?.error || 'Failed to start reviewing');
+    } finally {
+      setClaimingQueue(false);
+    }
+  };
+
+  /**
+   * Stop reviewing: release the claimed jobs right away instead of waiting for the lease to expire
+   */
+  const handleStopReviewing = async () => {
+    reviewingRef.current = false;
+    setReviewQueue(null);
+    setReviewLeaseExpiresAt(null);
+    setSelectedJobIds([]);
+    try {
+      await adminService.releaseReviewQueue();
+    } catch (err) {
+      console.error('Error releasing review queue:', err);
+    }
+  };
+
+  /**
+   * Drop reviewed jobs from the queue; the server already cleared their claims.
+   * Once the queue is empty the remaining claims are released and review mode ends.
+   */
+  const removeFromReviewQueue = (jobIds) => {
+    const remaining = (reviewQueue || []).filter((job) => !jobIds.includes(job.id));
+    setSelectedJobIds((current) => current.filter((id) => !jobIds.includes(id)));
+    if (remaining.length === 0) {
+      handleStopReviewing();
+    } else {
+      setReviewQueue(remaining);
+    }
+  };
+
+  /**
+   * Toggle one job, or all jobs in the review queue, in the bulk selection
+   */
+  const toggleJobSelection = (jobId) => {
+    setSelectedJobIds((current) =>
+      current.includes(jobId) ? current.filter((id) => id !== jobId) : [...current, jobId]
+    );
+  };
+
+  const toggleSelectAllJobs = () => {
+    const queueIds = (reviewQueue || []).map((job) => job.id);
+    setSelectedJobIds(selectedJobIds.length === queueIds.length ? [] : queueIds);
+  };
+
+  /**
+   * Apply a bulk approve/reject result: every requested job leaves the queue, since the
+   * skipped ones were processed or claimed elsewhere and can't be reviewed here any more
+   */
+  const applyBulkResult = (jobIds, result, action) => {
+    removeFromReviewQueue(jobIds);
+    const skipped = jobIds.length - (result.updated || 0);
+    if (skipped > 0) {
+      setError(`${skipped} of ${jobIds.length} selected jobs were not ${action}: ` +
+        'they were already processed or are claimed by another admin.');
+    } else {
+      setError('');
+    }
+  };
+
+  /**
+   * Approve all selected jobs in one request
+   */
+  const handleBulkApprove = async () => {
+    const jobIds = [...selectedJobIds];
+    if (jobIds.length === 0) {
+      return;
+    }
+
+    if (!window.confirm(`Are you sure you want to approve ${jobIds.length} job postings? They will become visible to job seekers.`)) {
+      return;
+    }
+
+    setBulkProcessing(true);
+    setError('');
+    try {
+      const result = await adminService.approveJobs(jobIds);
+      applyBulkResult(jobIds, result, 'approved');
+      await loadData();
+    } catch (err) {
+      console.error('Bulk job approval error:', err);
+      setError(err.response?.data?.error || err.message || 'Failed to approve selected jobs');
+    } finally {
+      setBulkProcessing(false);
+    }
+  };
+
+  const openBulkRejectModal = () => {
+    setRejectionReason('');
+    setShowBulkRejectModal(true);
+  };
+
+  const closeBulkRejectModal = () => {
+    setShowBulkRejectModal(false);
+    setRejectionReason('');
+  };
+
+  /**
+   * Reject all selected jobs with the same reason in one request
+   */
+  const handleBulkReject = async () => {
+    const jobIds = [...selectedJobIds];
+    if (!rejectionReason.trim()) {
+      setError('Rejection reason is required');
+      return;
+    }
+
+    setBulkProcessing(true);
+    setError('');
+    try {
+      const result = await adminService.rejectJobs(jobIds, rejectionReason);
+      closeBulkRejectModal();
+      applyBulkResult(jobIds, result, 'rejected');
+      await loadData();
+    } catch (err) {
+      console.error('Bulk job rejection error:', err);
+      setError(err.response?.data?.error || err.message || 'Failed to reject selected jobs');
+    } finally {
+      setBulkProcessing(false);
+    }
+  };
+
   /**
    * Handle job approval
    */
@@ -270,6 +435,7 @@ const AdminDashboard = () => {
     try {
       const result = await adminService.approveJob(jobId);
       console.log('Job approval successful:', result);
+      removeFromReviewQueue([jobId]);
       // Reload data to refresh the list
       await loadData();
       // Clear any previous errors
@@ -305,6 +471,7 @@ const AdminDashboard = () => {
     try {
       const result = await adminService.rejectJob(selectedJob.id, rejectionReason);
       console.log('Job rejection successful:', result);
+      removeFromReviewQueue([selectedJob.id]);
       closeJobRejectModal();
       // Reload data to refresh the list
       await loadData();
@@ -409,7 +576,7 @@ const AdminDashboard = () => {
             className={`tab-button ${activeTab === 'jobs' ? 'active' : ''}`}
             onClick={() => setActiveTab('jobs')}
           >
-            Jobs ({pendingJobs.length})
+            Jobs ({pendingJobCount})
           </button>
           <button
             className={`tab-button ${activeTab === 'employers' ? 'active' : ''}`}
@@ -493,6 +660,16 @@ const AdminDashboard = () => {
                       <StatusBadge status={payment.status} type="payment" />
                     </div>
 
+                    {payment.filePath && (
+                      <img
+                        src={paymentProofUrl(payment.filePath, 'thumb')}
+                        alt={`Payment #${payment.id} proof`}
+                        loading="lazy"
+                        onClick={() => viewPaymentProof(payment.filePath)}
+                        style={{ maxWidth: '160px', maxHeight: '160px', cursor: 'pointer', marginBottom: '10px' }}
+                      />
+                    )}
+
                     <div className="item-actions">
                       <button
                         onClick={() => viewPaymentProof(payment.filePath)}
@@ -528,10 +705,32 @@ const AdminDashboard = () => {
             <div className="card-header">
               <div>
                 <h2>Pending Job Approvals</h2>
-                <p className="card-subtitle">Review and approve job postings submitted by employers</p>
+                <p className="card-subtitle">
+                  {reviewQueue
+                    ? `Reviewing ${reviewQueue.length} jobs claimed for you until ${formatDate(reviewLeaseExpiresAt)}`
+                    : 'Review and approve job postings submitted by employers'}
+                </p>
               </div>
               <div style={{ display: 'flex', alignItems: 'center', gap: '10px' }}>
-                <span className="badge-count">{pendingJobs.length}</span>
+                <span className="badge-count">{pendingJobCount}</span>
+                {reviewQueue ? (
+                  <button
+                    onClick={handleStopReviewing}
+                    className="btn-secondary"
+                    style={{ padding: '8px 16px', fontSize: '0.9rem' }}
+                  >
+                    Stop Reviewing
+                  </button>
+                ) : (
+                  <button
+                    onClick={handleStartReviewing}
+                    className="btn-success"
+                    style={{ padding: '8px 16px', fontSize: '0.9rem' }}
+                    disabled={claimingQueue || pendingJobCount === 0}
+                  >
+                    {claimingQueue ? 'Claiming...' : 'Start Reviewing'}
+                  </button>
+                )}
                 <button
                   onClick={loadData}
                   className="btn-secondary"
@@ -543,7 +742,14 @@ const AdminDashboard = () => {
               </div>
             </div>
 
-            {pendingJobs.length === 0 ? (
+            {reviewQueue && reviewQueue.length === 0 ? (
+              <div className="empty-state">
+                <p>No jobs left to claim</p>
+                <p style={{ fontSize: '0.9rem', color: '#666', marginTop: '10px' }}>
+                  The remaining pending jobs are being reviewed by other admins.
+                </p>
+              </div>
+            ) : (reviewQueue || pendingJobs).length === 0 ? (
               <div className="empty-state">
                 <p>No pending job approvals</p>
                 <p style={{ fontSize: '0.9rem', color: '#666', marginTop: '10px' }}>
@@ -560,9 +766,52 @@ const AdminDashboard = () => {
               </div>
             ) : (
               <div className="list-container">
-                {pendingJobs.map((job) => (
+                {!reviewQueue && (
+                  <p className="card-subtitle">
+                    Showing the oldest {pendingJobs.length} of {pendingJobCount} pending jobs. Start reviewing to
+                    claim jobs to approve or reject; other admins won't be handed the same ones.
+                  </p>
+                )}
+                {reviewQueue && (
+                  <div className="bulk-actions">
+                    <label>
+                      <input
+                        type="checkbox"
+                        checked={selectedJobIds.length === reviewQueue.length}
+                        onChange={toggleSelectAllJobs}
+                        disabled={bulkProcessing}
+                      />
+                      {' '}Select all
+                    </label>
+                    <button
+                      onClick={handleBulkApprove}
+                      className="btn-success"
+                      disabled={bulkProcessing || selectedJobIds.length === 0}
+                    >
+                      {bulkProcessing ? 'Processing...' : `Approve selected (${selectedJobIds.length})`}
+                    </button>
+                    <button
+                      onClick={openBulkRejectModal}
+                      className="btn-danger"
+                      disabled={bulkProcessing || selectedJobIds.length === 0}
+                    >
+                      Reject selected ({selectedJobIds.length})
+                    </button>
+                  </div>
+                )}
+                {(reviewQueue || pendingJobs).map((job) => (
                   <div key={job.id} className="item-card">
                     <div className="item-header">
+                      {reviewQueue && (
+                        <input
+                          type="checkbox"
+                          className="item-select"
+                          checked={selectedJobIds.includes(job.id)}
+                          onChange={() => toggleJobSelection(job.id)}
+                          disabled={bulkProcessing}
+                          aria-label={`Select ${job.title}`}
+                        />
+                      )}
                       <div>
                         <h3>{job.title}</h3>
                         <p className="item-meta">
@@ -607,20 +856,24 @@ const AdminDashboard = () => {
                       >
                         View Full Details
                       </button>
-                      <button
-                        onClick={() => handleApproveJob(job.id)}
-                        disabled={processingJob === job.id}
-                        className="btn-success"
-                      >
-                        {processingJob === job.id ? 'Processing...' : 'Approve'}
-                      </button>
-                      <button
-                        onClick={() => openJobRejectModal(job)}
-                        disabled={processingJob === job.id}
-                        className="btn-danger"
-                      >
-                        Reject
-                      </button>
+                      {reviewQueue && (
+                        <>
+                          <button
+                            onClick={() => handleApproveJob(job.id)}
+                            disabled={processingJob === job.id}
+                            className="btn-success"
+                          >
+                            {processingJob === job.id ? 'Processing...' : 'Approve'}
+                          </button>
+                          <button
+                            onClick={() => openJobRejectModal(job)}
+                            disabled={processingJob === job.id}
+                            className="btn-danger"
+                          >
+                            Reject
+                          </button>
+                        </>
+                      )}
                     </div>
                   </div>
                 ))}
@@ -890,6 +1143,42 @@ const AdminDashboard = () => {
           </div>
         )}
 
+        {/* Bulk Job Rejection Modal */}
+        {showBulkRejectModal && (
+          <div className="modal-overlay" onClick={closeBulkRejectModal}>
+            <div className="modal-content" onClick={(e) => e.stopPropagation()}>
+              <div className="modal-header">
+                <h3>Reject {selectedJobIds.length} Job Postings</h3>
+                <button className="modal-close" onClick={closeBulkRejectModal}>×</button>
+              </div>
+              <div className="modal-body">
+                <div className="form-group">
+                  <label>Rejection Reason (Required, sent to every employer):</label>
+                  <textarea
+                    value={rejectionReason}
+                    onChange={(e) => setRejectionReason(e.target.value)}
+                    placeholder="Enter the reason for rejecting these job postings..."
+                    rows={4}
+                    required
+                  />
+                </div>
+              </div>
+              <div className="modal-footer">
+                <button className="btn-secondary" onClick={closeBulkRejectModal}>
+                  Cancel
+                </button>
+                <button
+                  className="btn-danger"
+                  onClick={handleBulkReject}
+                  disabled={bulkProcessing || !rejectionReason.trim()}
+                >
+                  {bulkProcessing ? 'Processing...' : 'Reject Jobs'}
+                </button>
+              </div>
+            </div>
+          </div>
+        )}
+
         {/* User Details Modal */}
         {showUserModal && selectedUser && (
           <div className="modal-overlay" onClick={closeUserModal}>
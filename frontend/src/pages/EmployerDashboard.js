@@ -27,6 +27,7 @@ import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { companyService } from '../services/companyService';
 import { paymentService } from '../services/paymentService';
+import { uploadService } from '../services/uploadService';
 import { jobService } from '../services/jobService';
 import { applicationService } from '../services/applicationService';
 import Navbar from '../components/Navbar';
@@ -41,6 +42,8 @@ const EmployerDashboard = () => {
   const [paymentStatus, setPaymentStatus] = useState(null);
   const [jobs, setJobs] = useState([]);
   const [applications, setApplications] = useState({}); // jobId -> applications array
+  const [applicationCursors, setApplicationCursors] = useState({}); // jobId -> nextCursor (null on the last page)
+  const [loadingMoreApplications, setLoadingMoreApplications] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   
@@ -64,6 +67,7 @@ const EmployerDashboard = () => {
   const [paymentFile, setPaymentFile] = useState(null);
   const [referenceNumber, setReferenceNumber] = useState('');
   const [uploadingPayment, setUploadingPayment] = useState(false);
+  const [paymentUploadProgress, setPaymentUploadProgress] = useState(0);
   
   // Job form data
   const [jobFormData, setJobFormData] = useState({
@@ -153,9 +157,12 @@ const EmployerDashboard = () => {
     }
     
     setUploadingPayment(true);
+    setPaymentUploadProgress(0);
     setError('');
     try {
-      await paymentService.uploadPayment(paymentFile, referenceNumber);
+      // Sent in resumable chunks; the completed upload is then attached to the payment
+      const uploadId = await uploadService.uploadChunked(paymentFile, 'payment', setPaymentUploadProgress);
+      await paymentService.uploadPayment(uploadId, referenceNumber);
       setShowPaymentForm(false);
       setPaymentFile(null);
       setReferenceNumber('');
@@ -211,7 +218,7 @@ const EmployerDashboard = () => {
   };
 
   /**
-   * Load applications for a specific job
+   * Load the first page of applications for a specific job
    */
   const loadApplications = async (jobId) => {
     if (applications[jobId]) {
@@ -221,24 +228,77 @@ const EmployerDashboard = () => {
     }
     
     try {
-      const apps = await applicationService.getApplicationsByJob(jobId);
-      setApplications({ ...applications, [jobId]: apps });
+      const page = await applicationService.getApplicationsByJob(jobId);
+      setApplications({ ...applications, [jobId]: page.content });
+      setApplicationCursors({ ...applicationCursors, [jobId]: page.nextCursor });
       setSelectedJobId(jobId);
     } catch (err) {
       setError(err.response?.data?.error || 'Failed to load applications');
     }
   };
 
+  /**
+   * Append the next page of applications for a job, using the cursor of the last page
+   */
+  const loadMoreApplications = async (jobId) => {
+    const cursor = applicationCursors[jobId];
+    if (!cursor || loadingMoreApplications) {
+      return;
+    }
+    
+    setLoadingMoreApplications(true);
+    try {
+      const page = await applicationService.getApplicationsByJob(jobId, { cursor });
+      setApplications((current) => ({ ...current, [jobId]: [...(current[jobId] || []), ...page.content] }));
+      setApplicationCursors((current) => ({ ...current, [jobId]: page.nextCursor }));
+    } catch (err) {
+      setError(err.response?.data?.error || 'Failed to load more applications');
+    } finally {
+      setLoadingMoreApplications(false);
+    }
+  };
+
+  /**
+   * Absolute link for a signed resume URL ("/api/files/download/...?expires=...&signature=...")
+   */
+  const resumeLink = (resumeUrl) => {
+    const apiBaseUrl = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
+    return apiBaseUrl.replace(/\/api\/?$/, '') + resumeUrl;
+  };
+
+  /**
+   * Download all resumes for a job as a single ZIP
+   */
+  const handleDownloadResumes = async (jobId) => {
+    try {
+      const blob = await applicationService.downloadResumes(jobId);
+      const url = window.URL.createObjectURL(blob);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = `job-${jobId}-resumes.zip`;
+      link.click();
+      window.URL.revokeObjectURL(url);
+    } catch (err) {
+      setError('Failed to download resumes');
+    }
+  };
+
   /**
    * Update application status (shortlist, reject, hire)
    */
   const handleUpdateApplicationStatus = async (applicationId, status, notes = '') => {
     try {
-      await applicationService.updateApplicationStatus(applicationId, status, notes);
-      // Reload applications for the selected job
+      const updated = await applicationService.updateApplicationStatus(applicationId, status, notes);
+      // Update the application in place, so pages loaded with "Load more" are kept
       if (selectedJobId) {
-        const apps = await applicationService.getApplicationsByJob(selectedJobId);
-        setApplications({ ...applications, [selectedJobId]: apps });
+        setApplications((current) => ({
+          ...current,
+          [selectedJobId]: (current[selectedJobId] || []).map((app) =>
+            app.id === applicationId
+              ? { ...app, status: updated.status, employerNotes: updated.employerNotes }
+              : app
+          ),
+        }));
       }
     } catch (err) {
       setError(err.response?.data?.error || 'Failed to update application status');
@@ -471,7 +531,9 @@ const EmployerDashboard = () => {
                     </div>
                     <div className="form-actions">
                       <button type="submit" disabled={uploadingPayment} className="btn-primary">
-                        {uploadingPayment ? 'Uploading...' : 'Upload Payment Proof'}
+                        {uploadingPayment
+                          ? `Uploading... ${Math.round(paymentUploadProgress * 100)}%`
+                          : 'Upload Payment Proof'}
                       </button>
                       <button type="button" onClick={() => setShowPaymentForm(false)} className="btn-secondary">
                         Cancel
@@ -637,7 +699,17 @@ const EmployerDashboard = () => {
                         {/* Applications Section */}
                         {selectedJobId === job.id && applications[job.id] && (
                           <div className="applications-section">
-                            <h4>Applications ({applications[job.id].length})</h4>
+                            <h4>
+                              Applications ({applications[job.id].length}{applicationCursors[job.id] ? '+' : ''})
+                            </h4>
+                            {applications[job.id].length > 0 && (
+                              <button
+                                onClick={() => handleDownloadResumes(job.id)}
+                                className="btn-secondary"
+                              >
+                                Download All Resumes
+                              </button>
+                            )}
                             {applications[job.id].length === 0 ? (
                               <p className="empty-state">No applications yet</p>
                             ) : (
@@ -646,13 +718,20 @@ const EmployerDashboard = () => {
                                   <div key={app.id} className="application-item">
                                     <div className="application-header">
                                       <div>
-                                        <p><strong>{app.jobSeeker?.firstName} {app.jobSeeker?.lastName}</strong></p>
+                                        <p><strong>{app.applicantFirstName} {app.applicantLastName}</strong></p>
                                         <p className="application-meta">
-                                          {app.jobSeeker?.email} • Applied: {new Date(app.appliedAt).toLocaleDateString()}
+                                          {app.applicantEmail} • Applied: {new Date(app.appliedAt).toLocaleDateString()}
                                         </p>
                                       </div>
                                       <StatusBadge status={app.status} type="application" />
                                     </div>
+                                    {app.resumeUrl && (
+                                      <p className="application-meta">
+                                        <a href={resumeLink(app.resumeUrl)} target="_blank" rel="noopener noreferrer">
+                                          View Resume
+                                        </a>
+                                      </p>
+                                    )}
                                     {app.coverLetter && (
                                       <div className="cover-letter">
                                         <strong>Cover Letter:</strong>
@@ -698,6 +777,15 @@ const EmployerDashboard = () => {
                                 ))}
                               </div>
                             )}
+                            {applicationCursors[job.id] && (
+                              <button
+                                onClick={() => loadMoreApplications(job.id)}
+                                className="btn-secondary"
+                                disabled={loadingMoreApplications}
+                              >
+                                {loadingMoreApplications ? 'Loading...' : 'Load more applications'}
+                              </button>
+                            )}
                           </div>
                         )}
                       </div>
@@ -1,7 +1,8 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { jobService } from '../services/jobService';
 import { applicationService } from '../services/applicationService';
+import { uploadService } from '../services/uploadService';
 import { useAuth } from '../context/AuthContext';
 import Navbar from '../components/Navbar';
 import LoadingSpinner from '../components/LoadingSpinner';
@@ -18,8 +19,13 @@ const JobDetails = () => {
   const [resume, setResume] = useState(null);
   const [coverLetter, setCoverLetter] = useState('');
   const [applying, setApplying] = useState(false);
+  const [uploadProgress, setUploadProgress] = useState(null);
   const [error, setError] = useState('');
   const [loadError, setLoadError] = useState('');
+  // One key per application form, so double clicks and retries resolve to the same application
+  const idempotencyKey = useRef(crypto.randomUUID());
+  // Completed upload of the chosen resume, reused when the submission is retried
+  const resumeUpload = useRef(null);
 
   useEffect(() => {
     loadJob();
@@ -50,13 +56,24 @@ const JobDetails = () => {
     setError('');
 
     try {
-      await applicationService.createApplication(id, resume, coverLetter);
+      let uploadId = null;
+      if (resume) {
+        if (resumeUpload.current?.file !== resume) {
+          setUploadProgress(0);
+          const sessionId = await uploadService.uploadChunked(resume, 'resume', setUploadProgress);
+          resumeUpload.current = { file: resume, uploadId: sessionId };
+          setUploadProgress(null);
+        }
+        uploadId = resumeUpload.current.uploadId;
+      }
+      await applicationService.createApplication(id, uploadId, coverLetter, idempotencyKey.current);
       alert('Application submitted successfully!');
       navigate('/my-applications');
     } catch (err) {
       setError(err.response?.data?.error || 'Failed to submit application');
     } finally {
       setApplying(false);
+      setUploadProgress(null);
     }
   };
 
@@ -141,7 +158,9 @@ const JobDetails = () => {
                 />
               </div>
               <button type="submit" disabled={applying} className="btn-primary">
-                {applying ? 'Submitting...' : 'Submit Application'}
+                {uploadProgress !== null
+                  ? `Uploading resume... ${Math.round(uploadProgress * 100)}%`
+                  : applying ? 'Submitting...' : 'Submit Application'}
               </button>
             </form>
           </div>
@@ -14,8 +14,24 @@ export const adminService = {
     return response.data;
   },
 
-  getPendingJobs: async () => {
-    const response = await api.get('/admin/jobs/pending');
+  // Read-only page of all pending jobs: { content, totalElements, ... }; claims nothing
+  getPendingJobs: async (page = 0, size = 20) => {
+    const response = await api.get('/admin/jobs/pending', {
+      params: { page, size },
+    });
+    return response.data;
+  },
+
+  // Claims pending jobs for this admin: { jobs, leaseExpiresAt }; other admins' queues skip them until the lease expires
+  claimReviewQueue: async (size = 20) => {
+    const response = await api.post('/admin/jobs/review-queue', null, {
+      params: { size },
+    });
+    return response.data;
+  },
+
+  releaseReviewQueue: async () => {
+    const response = await api.delete('/admin/jobs/review-queue');
     return response.data;
   },
 
@@ -31,6 +47,17 @@ export const adminService = {
     return response.data;
   },
 
+  // Bulk review: resolves to { updated, results: { [jobId]: outcome } }
+  approveJobs: async (jobIds) => {
+    const response = await api.put('/admin/jobs/approve', { jobIds });
+    return response.data;
+  },
+
+  rejectJobs: async (jobIds, reason) => {
+    const response = await api.put('/admin/jobs/reject', { jobIds, reason });
+    return response.data;
+  },
+
   // User Management Methods
   getUsersByRole: async (role) => {
     const response = await api.get('/admin/users', {
@@ -16,7 +16,7 @@
 import axios from 'axios';
 
 // API base URL - can be overridden via environment variable
-const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
+export const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080/api';
 
 // Create axios instance with default configuration
 const api = axios.create({
@@ -1,18 +1,22 @@
 import api from './api';
 
 export const applicationService = {
-    createApplication: async(jobId, resume, coverLetter) => {
+    // uploadId is a completed resume upload from uploadService.uploadChunked; without one the profile resume is used
+    createApplication: async(jobId, uploadId, coverLetter, idempotencyKey) => {
         const formData = new FormData();
         formData.append('jobId', jobId);
-        if (resume) {
-            formData.append('resume', resume);
+        if (uploadId) {
+            formData.append('uploadId', uploadId);
         }
         if (coverLetter) {
             formData.append('coverLetter', coverLetter);
         }
         const response = await api.post('/applications', formData, {
+            // jobId in the query lets the server answer a retried key before the upload
+            params: { jobId },
             headers: {
                 'Content-Type': 'multipart/form-data',
+                ...(idempotencyKey && { 'Idempotency-Key': idempotencyKey }),
             },
         });
         return response.data;
@@ -26,8 +30,20 @@ export const applicationService = {
         return response.data;
     },
 
-    getApplicationsByJob: async(jobId) => {
-        const response = await api.get(`/applications/job/${jobId}`);
+    // Returns { content, size, hasNext, nextCursor }; pass nextCursor back to load the next page
+    getApplicationsByJob: async(jobId, { status, cursor, size } = {}) => {
+        const response = await api.get(`/applications/job/${jobId}`, {
+            params: { status, cursor, size },
+        });
+        return response.data;
+    },
+
+    // Returns a Blob with a ZIP of the job's resumes, optionally only those in one status
+    downloadResumes: async(jobId, status) => {
+        const response = await api.get(`/applications/job/${jobId}/resumes.zip`, {
+            params: { status },
+            responseType: 'blob',
+        });
         return response.data;
     },
 
@@ -38,4 +54,13 @@ export const applicationService = {
         });
         return response.data;
     },
+
+    updateApplicationStatuses: async(applicationIds, status, notes) => {
+        const response = await api.put('/applications/status', {
+            applicationIds,
+            status,
+            employerNotes: notes,
+        });
+        return response.data;
+    },
 };
\ No newline at end of file
@@ -20,5 +20,23 @@ export const jobService = {
     const response = await api.get('/jobs/my');
     return response.data;
   },
+
+  // Employer: job seekers ranked by resume similarity, [{ jobSeekerId, firstName, lastName, email, score }]
+  getJobMatches: async (jobId, limit = 20) => {
+    const response = await api.get(`/jobs/${jobId}/matches`, { params: { limit } });
+    return response.data;
+  },
+
+  // Jobs that applicants of this job also applied to, [{ jobId, sharedApplicants }]
+  getSimilarJobs: async (jobId, limit = 10) => {
+    const response = await api.get(`/jobs/${jobId}/similar`, { params: { limit } });
+    return response.data;
+  },
+
+  // Job seeker: active jobs ranked by similarity to their resume, [{ job, score }]
+  getRecommendedJobs: async (limit = 20) => {
+    const response = await api.get('/jobs/recommended', { params: { limit } });
+    return response.data;
+  },
 };
 
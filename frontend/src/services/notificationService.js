@@ -1,4 +1,6 @@
-import api from './api';
+import api, { API_BASE_URL } from './api';
+
+const STREAM_RECONNECT_DELAY_MS = 5000;
 
 export const notificationService = {
   getNotifications: async (page = 0, size = 10) => {
@@ -17,5 +19,72 @@ export const notificationService = {
     const response = await api.put(`/users/notifications/${notificationId}/read`);
     return response.data;
   },
+
+  markManyAsRead: async (notificationIds) => {
+    const response = await api.put('/users/notifications/read', { ids: notificationIds });
+    return response.data;
+  },
+
+  markAllAsRead: async () => {
+    const response = await api.put('/users/notifications/read-all');
+    return response.data;
+  },
+
+  deleteNotifications: async (notificationIds) => {
+    const response = await api.delete('/users/notifications', { data: { ids: notificationIds } });
+    return response.data;
+  },
+
+  getStreamToken: async () => {
+    const response = await api.post('/users/notifications/stream-token');
+    return response.data;
+  },
+
+  // EventSource cannot send the Authorization header, so each (re)connect uses a fresh
+  // short-lived stream token in the query string. Returns a function that closes the stream.
+  openStream: ({ onNotification, onUnreadCount }) => {
+    let source = null;
+    let reconnectTimer = null;
+    let closed = false;
+
+    const connect = async () => {
+      try {
+        const { token } = await notificationService.getStreamToken();
+        if (closed) {
+          return;
+        }
+        source = new EventSource(
+          `${API_BASE_URL}/users/notifications/stream?token=${encodeURIComponent(token)}`
+        );
+        source.addEventListener('notification', (event) => {
+          if (onNotification) onNotification(JSON.parse(event.data));
+        });
+        source.addEventListener('unread-count', (event) => {
+          if (onUnreadCount) onUnreadCount(JSON.parse(event.data).count);
+        });
+        source.onerror = () => {
+          // The token in the URL has expired by now, so reconnect ourselves with a new one
+          source.close();
+          scheduleReconnect();
+        };
+      } catch (error) {
+        scheduleReconnect();
+      }
+    };
+
+    const scheduleReconnect = () => {
+      if (!closed) {
+        reconnectTimer = setTimeout(connect, STREAM_RECONNECT_DELAY_MS);
+      }
+    };
+
+    connect();
+
+    return () => {
+      closed = true;
+      clearTimeout(reconnectTimer);
+      if (source) source.close();
+    };
+  },
 };
 
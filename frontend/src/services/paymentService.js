@@ -1,9 +1,10 @@
 import api from './api';
 
 export const paymentService = {
-  uploadPayment: async (file, referenceNumber) => {
+  // uploadId is a completed payment upload from uploadService.uploadChunked
+  uploadPayment: async (uploadId, referenceNumber) => {
     const formData = new FormData();
-    formData.append('file', file);
+    formData.append('uploadId', uploadId);
     formData.append('referenceNumber', referenceNumber);
     const response = await api.post('/payments/upload', formData, {
       headers: {
@@ -0,0 +1,45 @@
+import api from './api';
+
+const CHUNK_SIZE = 1024 * 1024; // 1MB
+const MAX_RETRIES = 5;
+
+export const uploadService = {
+  // Uploads a file in resumable chunks and returns the completed upload's id, which is sent
+  // as "uploadId" to the endpoint that takes the file (each id can be used once).
+  // type is 'resume', 'payment' or 'logo'; a failed chunk is retried from the server's offset.
+  uploadChunked: async (file, type, onProgress) => {
+    const session = (await api.post('/uploads', {
+      type,
+      filename: file.name,
+      contentType: file.type || 'application/octet-stream',
+      size: file.size,
+    })).data;
+
+    let offset = 0;
+    let retries = 0;
+    while (offset < file.size) {
+      const chunk = file.slice(offset, Math.min(offset + CHUNK_SIZE, file.size));
+      try {
+        const response = await api.put(`/uploads/${session.id}`, chunk, {
+          params: { offset },
+          headers: { 'Content-Type': 'application/octet-stream' },
+        });
+        offset = response.data.receivedBytes;
+        retries = 0;
+        if (onProgress) {
+          onProgress(offset / file.size);
+        }
+      } catch (err) {
+        if (++retries > MAX_RETRIES || (err.response && err.response.status < 500)) {
+          throw err;
+        }
+        await new Promise((resolve) => setTimeout(resolve, 1000 * retries));
+        // Continue from whatever the server actually received
+        offset = (await api.get(`/uploads/${session.id}`)).data.receivedBytes;
+      }
+    }
+
+    await api.post(`/uploads/${session.id}/complete`);
+    return session.id;
+  },
+};
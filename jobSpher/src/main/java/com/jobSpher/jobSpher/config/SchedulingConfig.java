@@ -0,0 +1,12 @@
+package com.jobSpher.jobSpher.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background tasks (notification stream heartbeats, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,14 +1,20 @@
 package com.jobSpher.jobSpher.controller;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -17,6 +23,11 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.jobSpher.jobSpher.dto.BulkJobReviewRequest;
+import com.jobSpher.jobSpher.dto.BulkJobReviewResponse;
+import com.jobSpher.jobSpher.dto.GarbageCollectionReport;
+import com.jobSpher.jobSpher.dto.JobReviewQueueResponse;
+import com.jobSpher.jobSpher.dto.LayoutMigrationStatus;
 import com.jobSpher.jobSpher.dto.PaymentVerificationRequest;
 import com.jobSpher.jobSpher.model.Job;
 import com.jobSpher.jobSpher.model.ManualPayment;
@@ -25,6 +36,8 @@ import com.jobSpher.jobSpher.model.User.Role;
 import com.jobSpher.jobSpher.repository.UserRepository;
 import com.jobSpher.jobSpher.service.JobService;
 import com.jobSpher.jobSpher.service.PaymentService;
+import com.jobSpher.jobSpher.service.StorageLayoutMigrationService;
+import com.jobSpher.jobSpher.service.UploadGarbageCollector;
 
 import jakarta.validation.Valid;
 
@@ -54,6 +67,12 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private StorageLayoutMigrationService storageLayoutMigrationService;
+    
+    @Autowired
+    private UploadGarbageCollector uploadGarbageCollector;
+    
     /**
      * Get all pending payment verifications
      * 
@@ -141,40 +160,72 @@ public class AdminController {
     }
     
     /**
-     * Get all pending job approvals
+     * Start reviewing: claim the admin's job review queue
+     * 
+     * Returns pending jobs claimed for the current admin, oldest first. Jobs the admin
+     * already holds are kept and the queue is topped up with unclaimed pending jobs, claimed with
+     * row locks that skip jobs another admin is claiming at the same moment. Claimed jobs are not
+     * shown to other admins' queues until the lease (admin.review-queue.lease-minutes) runs out,
+     * so admins working in parallel never review the same job. Claiming again renews the lease
+     * on the jobs still held; approved and rejected jobs drop out of the queue. Release the
+     * queue (DELETE) when done reviewing.
+     * 
+     * Required Role: ADMIN
+     * 
+     * @param size Number of jobs to hold (default: 20, max: admin.review-queue.max-size)
+     * @return ResponseEntity containing the claimed jobs and when the claim expires
+     */
+    @PostMapping("/jobs/review-queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobReviewQueueResponse> claimReviewQueue(
+            @RequestParam(defaultValue = "20") int size) {
+        User admin = getCurrentUserFromContext();
+        return ResponseEntity.ok(jobService.claimReviewQueue(admin, size));
+    }
+    
+    /**
+     * Release the admin's job review queue
      * 
-     * Returns a list of all jobs that are pending admin approval.
-     * New jobs created by employers start with status PENDING_APPROVAL and must be
-     * approved by an admin before becoming visible to job seekers.
+     * Hands all pending jobs claimed by the current admin back to the queue immediately
+     * instead of waiting for the lease to expire.
      * 
      * Required Role: ADMIN
      * 
-     * @return ResponseEntity containing a List of Job entities with status PENDING_APPROVAL
+     * @return ResponseEntity containing a map with "released" key and the number of jobs released
+     */
+    @DeleteMapping("/jobs/review-queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> releaseReviewQueue() {
+        User admin = getCurrentUserFromContext();
+        Map<String, Integer> response = new HashMap<>();
+        response.put("released", jobService.releaseReviewQueue(admin));
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Get pending job approvals
+     * 
+     * Returns a page of all jobs pending admin approval, oldest first, including jobs other
+     * admins are reviewing. Read-only: nothing is claimed, so its totalElements is the real
+     * backlog. New jobs created by employers start with status PENDING_APPROVAL and must be
+     * approved by an admin before becoming visible to job seekers; to review them without
+     * colliding with other admins, claim a queue with POST /jobs/review-queue.
+     * 
+     * Required Role: ADMIN
+     * 
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 20, max: 100)
+     * @return ResponseEntity containing a Page of Job entities with status PENDING_APPROVAL
      */
     @GetMapping("/jobs/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    @Transactional(readOnly = true)
-    public ResponseEntity<List<Job>> getPendingJobs() {
-        try {
-            List<Job> jobs = jobService.getPendingJobs();
-            // Relationships are already eagerly fetched by the custom query
-            // Ensure all relationships are initialized for JSON serialization
-            if (jobs != null) {
-                jobs.forEach(job -> {
-                    // Access nested relationships to ensure they're loaded
-                    if (job.getCompany() != null) {
-                        job.getCompany().getName();
-                        if (job.getCompany().getEmployer() != null) {
-                            job.getCompany().getEmployer().getEmail();
-                        }
-                    }
-                });
-            }
-            return ResponseEntity.ok(jobs != null ? jobs : java.util.Collections.emptyList());
-        } catch (Exception e) {
-            e.printStackTrace(); // Log the full stack trace
-            throw new RuntimeException("Failed to retrieve pending jobs: " + e.getMessage(), e);
+    public ResponseEntity<Page<Job>> getPendingJobs(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size <= 0 || size > 100) {
+            throw new RuntimeException("Page must be at least 0 and size between 1 and 100");
         }
+        return ResponseEntity.ok(jobService.getPendingJobs(PageRequest.of(page, size)));
     }
     
     /**
@@ -253,6 +304,45 @@ public class AdminController {
         }
     }
     
+    /**
+     * Approve several job postings
+     * 
+     * Approves every listed job that is still pending in one statement, notifies their
+     * employers in one batch and refreshes the job matching index once. Jobs that were
+     * already processed, don't exist or are claimed by another admin's review queue are
+     * skipped; the response reports the outcome for each requested ID.
+     * 
+     * Required Role: ADMIN
+     * 
+     * @param request BulkJobReviewRequest containing the job IDs (at most 1000)
+     * @return ResponseEntity containing the number of jobs approved and the outcome per job ID
+     */
+    @PutMapping("/jobs/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkJobReviewResponse> approveJobs(@Valid @RequestBody BulkJobReviewRequest request) {
+        User admin = getCurrentUserFromContext();
+        return ResponseEntity.ok(jobService.approveJobs(request.getJobIds(), admin));
+    }
+    
+    /**
+     * Reject several job postings
+     * 
+     * Rejects every listed job that is still pending with the same reason, in one statement,
+     * and notifies their employers in one batch. Skipped jobs are reported as for bulk approval.
+     * 
+     * Required Role: ADMIN
+     * 
+     * @param request BulkJobReviewRequest containing the job IDs (at most 1000) and the rejection reason
+     * @return ResponseEntity containing the number of jobs rejected and the outcome per job ID
+     * @throws RuntimeException if no rejection reason is given
+     */
+    @PutMapping("/jobs/reject")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkJobReviewResponse> rejectJobs(@Valid @RequestBody BulkJobReviewRequest request) {
+        User admin = getCurrentUserFromContext();
+        return ResponseEntity.ok(jobService.rejectJobs(request.getJobIds(), admin, request.getReason()));
+    }
+    
     /**
      * Get all users by role
      * 
@@ -316,6 +406,72 @@ public class AdminController {
         return ResponseEntity.ok(user);
     }
     
+    /**
+     * Start moving uploads into the sharded layout
+     * 
+     * New uploads are stored as e.g. "resumes/3c/7b/<name>". This starts a background run that
+     * moves files uploaded before that into the sharded layout and rewrites the paths stored
+     * in users, applications, manual_payments and companies in chunks. Downloads work with
+     * both old and new paths throughout. Starting while a run is in progress on this node has
+     * no effect, and is rejected while one is in progress on another node; a finished or
+     * interrupted run can be started again safely.
+     * 
+     * Required Role: ADMIN
+     * 
+     * @return ResponseEntity containing the migration status (202 Accepted)
+     * @throws RuntimeException if another node is running the migration
+     */
+    @PostMapping("/storage/layout-migration")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LayoutMigrationStatus> startLayoutMigration() {
+        return ResponseEntity.accepted().body(storageLayoutMigrationService.start());
+    }
+    
+    /**
+     * Get the progress of the uploads layout migration
+     * 
+     * Required Role: ADMIN
+     * 
+     * @return ResponseEntity containing the state and file/row counters of the current or last run
+     */
+    @GetMapping("/storage/layout-migration")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LayoutMigrationStatus> getLayoutMigrationStatus() {
+        return ResponseEntity.ok(storageLayoutMigrationService.getStatus());
+    }
+    
+    /**
+     * Start collecting orphaned uploads
+     * 
+     * Starts a background mark-and-sweep run that deletes uploaded files no longer referenced
+     * by any user, application, payment, company or upload session, such as files left by
+     * failed requests or replaced resumes. Files younger than the grace period
+     * (file.gc.grace-hours) are never touched. A run also happens nightly; starting while one
+     * is in progress has no effect.
+     * 
+     * Required Role: ADMIN
+     * 
+     * @return ResponseEntity containing the collection report (202 Accepted)
+     */
+    @PostMapping("/storage/gc")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GarbageCollectionReport> startGarbageCollection() {
+        return ResponseEntity.accepted().body(uploadGarbageCollector.start());
+    }
+    
+    /**
+     * Get the report of the current or last orphaned upload collection
+     * 
+     * Required Role: ADMIN
+     * 
+     * @return ResponseEntity containing the state, scanned/deleted file counts and bytes reclaimed
+     */
+    @GetMapping("/storage/gc")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GarbageCollectionReport> getGarbageCollectionReport() {
+        return ResponseEntity.ok(uploadGarbageCollector.getReport());
+    }
+    
     /**
      * Helper method to extract the currently authenticated user from Spring Security context
      * 
@@ -1,24 +1,36 @@
 package com.jobSpher.jobSpher.controller;
 
+import com.jobSpher.jobSpher.dto.ApplicantPageResponse;
 import com.jobSpher.jobSpher.dto.ApplicationRequest;
 import com.jobSpher.jobSpher.dto.ApplicationStatusUpdateRequest;
+import com.jobSpher.jobSpher.dto.BulkApplicationStatusUpdateRequest;
+import com.jobSpher.jobSpher.dto.MultipartUpload;
+import com.jobSpher.jobSpher.dto.ResumeExportEntry;
 import com.jobSpher.jobSpher.model.Application;
-import com.jobSpher.jobSpher.model.Job;
 import com.jobSpher.jobSpher.model.User;
 import com.jobSpher.jobSpher.repository.UserRepository;
 import com.jobSpher.jobSpher.service.ApplicationService;
 import com.jobSpher.jobSpher.service.FileStorageService;
 import com.jobSpher.jobSpher.service.JobService;
+import com.jobSpher.jobSpher.service.MultipartUploadService;
+import com.jobSpher.jobSpher.service.ResumeArchiveService;
+import com.jobSpher.jobSpher.storage.UploadType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Application Controller
@@ -39,18 +51,23 @@ public class ApplicationController {
     @Autowired
     private ApplicationService applicationService;
     
+    @Autowired
+    private MultipartUploadService multipartUploadService;
+    
     @Autowired
     private FileStorageService fileStorageService;
     
     @Autowired
     private JobService jobService;
     
+    @Autowired
+    private ResumeArchiveService resumeArchiveService;
+    
     @Autowired
     private UserRepository userRepository;
     
-    // Allowed MIME types for resume uploads (PDF and Word documents)
-    private static final String[] ALLOWED_RESUME_TYPES = {"application/pdf", "application/msword", 
-                                                          "application/vnd.openxmlformats-officedocument.wordprocessingml.document"};
+    // Response header marking an application returned for a repeated Idempotency-Key
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
     
     /**
      * Create a new job application
@@ -59,48 +76,95 @@ public class ApplicationController {
      * If a resume file is provided, it will be uploaded and stored. Otherwise, the user's
      * existing resume (from their profile) will be used. If no resume exists, an error is thrown.
      * 
+     * Clients may send an Idempotency-Key header (at most 100 characters) that stays the same
+     * across retries of one submission. A retry with a key that already created an application
+     * returns that application without storing the resume again, with an
+     * "Idempotent-Replayed: true" response header.
+     * 
+     * The multipart request is streamed: a "resume" part goes straight to storage, its content
+     * is checked to be PDF or DOC/DOCX from the first bytes and the 10MB limit is enforced
+     * while it arrives. "jobId" and "coverLetter" are read from the form fields.
+     * 
+     * Instead of a "resume" part, the form may carry an "uploadId" field naming a completed
+     * resumable upload (see /api/uploads) of the job seeker's. It can be used for one
+     * submission only, and its content is checked like a "resume" part.
+     * 
      * Required Role: JOB_SEEKER
      * 
-     * @param jobId ID of the job to apply for
-     * @param resume Optional MultipartFile containing the resume (PDF or DOC/DOCX)
-     * @param coverLetter Optional cover letter text
+     * @param httpRequest multipart/form-data request with a "jobId" field, an optional "resume"
+     *        part (PDF or DOC/DOCX) or "uploadId" field and an optional "coverLetter" field
+     * @param jobIdParam Optional copy of the "jobId" field in the query string; lets a retry
+     *        with an Idempotency-Key be answered before the resume is uploaded
+     * @param idempotencyKey Optional key identifying this submission across retries. Reusing
+     *        a key for a different job returns 422
      * @return ResponseEntity containing the created Application entity
-     * @throws RuntimeException if resume is invalid/missing, file type is not allowed, or file storage fails
+     * @throws RuntimeException if resume is invalid/missing, file type is not allowed, file storage fails,
+     *         or the job seeker already applied to the job
      */
     @PostMapping
     @PreAuthorize("hasRole('JOB_SEEKER')")
     public ResponseEntity<Application> createApplication(
-            @RequestParam("jobId") Long jobId,
-            @RequestParam(value = "resume", required = false) MultipartFile resume,
-            @RequestParam(value = "coverLetter", required = false) String coverLetter) {
+            HttpServletRequest httpRequest,
+            @RequestParam(value = "jobId", required = false) Long jobIdParam,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         
         User jobSeeker = getCurrentUserFromContext();
         
-        // Get resume path - either from upload or user's existing resume
-        String resumePath;
-        if (resume != null && !resume.isEmpty()) {
-            // Validate file type before storing
-            if (!fileStorageService.isValidFileType(resume, ALLOWED_RESUME_TYPES)) {
-                throw new RuntimeException("Invalid resume file type. Only PDF and DOC/DOCX are allowed.");
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > 100) {
+                throw new RuntimeException("Idempotency-Key must be between 1 and 100 characters");
             }
-            try {
-                resumePath = fileStorageService.storeFile(resume, "resumes");
-            } catch (java.io.IOException e) {
-                throw new RuntimeException("Failed to store resume: " + e.getMessage());
+        }
+        if (idempotencyKey != null && jobIdParam != null) {
+            // Retry of a submission that already went through: skip the upload entirely
+            Optional<Application> existing = applicationService.findByIdempotencyKey(jobSeeker, jobIdParam,
+                    idempotencyKey);
+            if (existing.isPresent()) {
+                return ResponseEntity.ok().header(IDEMPOTENT_REPLAYED, "true").body(existing.get());
             }
-        } else {
-            // Use user's existing resume if available
+        }
+        
+        MultipartUpload upload;
+        try {
+            upload = multipartUploadService.receive(httpRequest, "resume", fields -> UploadType.RESUME);
+            multipartUploadService.claimUploadSession(upload, jobSeeker, UploadType.RESUME);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store resume: " + e.getMessage());
+        }
+        
+        // Get resume path - either from upload or user's existing resume
+        String resumePath = upload.getFilePath();
+        if (resumePath == null) {
+            // Use user's existing resume if available; the application holds its own reference to it
             resumePath = jobSeeker.getResumePath();
             if (resumePath == null) {
                 throw new RuntimeException("Resume is required");
             }
+            fileStorageService.retainFile(resumePath);
+            upload.setFilePath(resumePath);
         }
         
         ApplicationRequest request = new ApplicationRequest();
-        request.setJobId(jobId);
-        request.setCoverLetter(coverLetter);
+        request.setCoverLetter(upload.getFields().get("coverLetter"));
+        request.setIdempotencyKey(idempotencyKey);
+        
+        Application application;
+        try {
+            request.setJobId(parseJobId(upload.getFields().get("jobId")));
+            if (jobIdParam != null && !jobIdParam.equals(request.getJobId())) {
+                throw new RuntimeException("jobId in the query string does not match the form field");
+            }
+            application = applicationService.createApplication(jobSeeker, request, resumePath);
+        } catch (RuntimeException e) {
+            multipartUploadService.releaseQuietly(upload);
+            throw e;
+        }
         
-        Application application = applicationService.createApplication(jobSeeker, request, resumePath);
+        if (application.isReplayed()) {
+            // A concurrent retry with the same key won the insert; our reference to the resume is unused
+            multipartUploadService.releaseQuietly(upload);
+            return ResponseEntity.ok().header(IDEMPOTENT_REPLAYED, "true").body(application);
+        }
         return ResponseEntity.ok(application);
     }
     
@@ -123,30 +187,71 @@ public class ApplicationController {
     }
     
     /**
-     * Get all applications for a specific job
+     * Get applicants for a specific job
      * 
-     * Allows employers to view all applications received for a specific job posting.
+     * Allows employers to page through the applications received for a specific job posting.
+     * Returns lightweight applicant summaries (name, email, status, applied date, resume path)
+     * fetched in a single query, newest first, optionally filtered by status.
+     * Pagination is keyset based: pass the returned nextCursor as "cursor" to get the next page.
+     * With "q", only applicants whose resume contains every keyword are returned (e.g. q=kubernetes).
+     * Resumes are indexed asynchronously shortly after upload; PDF and DOCX resumes are searchable.
+     * Each summary includes resumeUrl, a short-lived signed link to download the resume.
      * Only the employer who owns the job can access this endpoint.
      * 
      * Required Role: EMPLOYER
      * 
      * @param jobId ID of the job
-     * @return ResponseEntity containing a List of Application entities
-     * @throws RuntimeException if job not found or employer doesn't own the job
+     * @param status Optional application status filter
+     * @param q Optional keywords to search for in the applicants' resumes
+     * @param cursor Optional cursor returned by the previous page
+     * @param size Page size (default: 20, max: 100)
+     * @return ResponseEntity containing an ApplicantPageResponse
+     * @throws RuntimeException if employer doesn't own the job or the cursor is invalid
      */
     @GetMapping("/job/{jobId}")
     @PreAuthorize("hasRole('EMPLOYER')")
-    public ResponseEntity<List<Application>> getApplicationsByJob(@PathVariable Long jobId) {
-        User employer = getCurrentUserFromContext();
-        Job job = jobService.getJobById(jobId);
-        
-        // Verify employer owns the job (authorization check)
-        if (!job.getCompany().getEmployer().getId().equals(employer.getId())) {
-            throw new RuntimeException("Unauthorized");
+    public ResponseEntity<ApplicantPageResponse> getApplicationsByJob(
+            @PathVariable Long jobId,
+            @RequestParam(required = false) Application.ApplicationStatus status,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size <= 0 || size > 100) {
+            throw new RuntimeException("Page size must be between 1 and 100");
         }
+        User employer = getCurrentUserFromContext();
+        ApplicantPageResponse applicants = applicationService.getApplicantsByJob(jobId, employer, status, q, cursor, size);
+        return ResponseEntity.ok(applicants);
+    }
+    
+    /**
+     * Download the resumes for a job as a ZIP archive
+     * 
+     * Streams one archive containing the resume of every application for the job, named
+     * "Lastname_Firstname_<applicationId>.<ext>", optionally only for applications in one status.
+     * The archive is written to the response as it is built, so memory use does not depend
+     * on the number or size of resumes. Only the employer who owns the job can download it.
+     * 
+     * Required Role: EMPLOYER
+     * 
+     * @param jobId ID of the job
+     * @param status Optional application status filter
+     * @param response HTTP response the archive is streamed to
+     * @throws RuntimeException if employer doesn't own the job
+     */
+    @GetMapping("/job/{jobId}/resumes.zip")
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public void downloadResumes(
+            @PathVariable Long jobId,
+            @RequestParam(required = false) Application.ApplicationStatus status,
+            HttpServletResponse response) throws IOException {
+        User employer = getCurrentUserFromContext();
+        // Resolved before anything is written, so authorization errors still get a normal error response
+        List<ResumeExportEntry> entries = applicationService.getResumeEntries(jobId, employer, status);
         
-        List<Application> applications = applicationService.getApplicationsByJob(job);
-        return ResponseEntity.ok(applications);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"job-" + jobId + "-resumes.zip\"");
+        resumeArchiveService.writeZip(entries, response.getOutputStream());
     }
     
     /**
@@ -172,6 +277,41 @@ public class ApplicationController {
         return ResponseEntity.ok(application);
     }
     
+    /**
+     * Update the status of several applications
+     * 
+     * Allows employers to triage applicants in batches, e.g. reject or shortlist many at once.
+     * All applications must belong to jobs owned by the employer, otherwise nothing is changed.
+     * Applications already in the target status are skipped.
+     * 
+     * Required Role: EMPLOYER
+     * 
+     * @param request BulkApplicationStatusUpdateRequest containing the application IDs, new status and optional notes
+     * @return ResponseEntity containing a map with "updated" key and the number of applications changed
+     * @throws RuntimeException if any application is not found or not owned by the employer
+     */
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public ResponseEntity<Map<String, Integer>> updateApplicationStatuses(
+            @Valid @RequestBody BulkApplicationStatusUpdateRequest request) {
+        User employer = getCurrentUserFromContext();
+        int updated = applicationService.updateApplicationStatuses(employer, request);
+        Map<String, Integer> response = new HashMap<>();
+        response.put("updated", updated);
+        return ResponseEntity.ok(response);
+    }
+    
+    private Long parseJobId(String jobId) {
+        if (jobId == null || jobId.isBlank()) {
+            throw new RuntimeException("Job ID is required");
+        }
+        try {
+            return Long.valueOf(jobId.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid job ID");
+        }
+    }
+    
     /**
      * Helper method to extract the currently authenticated user from Spring Security context
      * 
@@ -1,5 +1,7 @@
 package com.jobSpher.jobSpher.controller;
 
+import java.io.IOException;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -14,11 +16,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.jobSpher.jobSpher.dto.CompanyRequest;
+import com.jobSpher.jobSpher.dto.MultipartUpload;
 import com.jobSpher.jobSpher.model.Company;
 import com.jobSpher.jobSpher.model.User;
 import com.jobSpher.jobSpher.repository.UserRepository;
 import com.jobSpher.jobSpher.service.CompanyService;
+import com.jobSpher.jobSpher.service.MultipartUploadService;
+import com.jobSpher.jobSpher.storage.UploadType;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 /**
@@ -41,6 +47,9 @@ public class CompanyController {
     @Autowired
     private CompanyService companyService;
     
+    @Autowired
+    private MultipartUploadService multipartUploadService;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -103,6 +112,50 @@ public class CompanyController {
         return ResponseEntity.ok(company);
     }
     
+    /**
+     * Replace the current employer's company logo
+     * 
+     * Stores a new logo for the company. The previous logo is released in the same
+     * transaction; files nothing refers to any more are deleted later by the upload garbage
+     * collector.
+     * 
+     * The request is streamed: the "logo" part goes straight to storage and must be an
+     * image judging by its first bytes. Instead of the part, an "uploadId" field may name a
+     * completed resumable upload (see /api/uploads); it can be used once and is checked the
+     * same way.
+     * 
+     * Required Role: EMPLOYER
+     * 
+     * @param request multipart/form-data request with a "logo" part or an "uploadId" field
+     * @return ResponseEntity containing the updated Company entity
+     * @throws RuntimeException if the logo is missing, not an image, can't be stored, or the
+     *         employer doesn't have a company registered
+     */
+    @PutMapping("/my/logo")
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public ResponseEntity<Company> replaceMyLogo(HttpServletRequest request) {
+        User employer = getCurrentUserFromContext();
+        MultipartUpload upload;
+        try {
+            upload = multipartUploadService.receive(request, "logo", fields -> UploadType.LOGO);
+            multipartUploadService.claimUploadSession(upload, employer, UploadType.LOGO);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store logo: " + e.getMessage());
+        }
+        String logoPath = upload.getFilePath();
+        if (logoPath == null) {
+            throw new RuntimeException("Logo is required");
+        }
+        Company company;
+        try {
+            company = companyService.replaceLogo(employer, logoPath);
+        } catch (RuntimeException e) {
+            multipartUploadService.releaseQuietly(upload);
+            throw e;
+        }
+        return ResponseEntity.ok(company);
+    }
+    
     /**
      * Helper method to extract the currently authenticated user from Spring Security context
      * 
@@ -1,22 +1,46 @@
 package com.jobSpher.jobSpher.controller;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
 
+import com.jobSpher.jobSpher.dto.MultipartUpload;
+import com.jobSpher.jobSpher.security.SignedUrlService;
 import com.jobSpher.jobSpher.service.FileStorageService;
+import com.jobSpher.jobSpher.service.MultipartUploadService;
+import com.jobSpher.jobSpher.service.ThumbnailService;
+import com.jobSpher.jobSpher.storage.StorageResource;
+import com.jobSpher.jobSpher.storage.UploadType;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * File Controller
@@ -38,9 +62,30 @@ import com.jobSpher.jobSpher.service.FileStorageService;
 @CrossOrigin(origins = "http://localhost:3000") // CORS configuration - should be moved to SecurityConfig in production
 public class FileController {
     
+    private static final String VARIANT_THUMBNAIL = "thumb";
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    
+    // Request attributes of Tomcat's sendfile support (see its DefaultServlet)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
     @Autowired
     private FileStorageService fileStorageService;
     
+    @Autowired
+    private MultipartUploadService multipartUploadService;
+    
+    @Autowired
+    private ThumbnailService thumbnailService;
+    
+    @Autowired
+    private SignedUrlService signedUrlService;
+    
+    @Value("${file.cache.private-directories:payments}")
+    private Set<String> privateCacheDirectories;
+    
     /**
      * Upload a file
      * 
@@ -53,56 +98,42 @@ public class FileController {
      * - "payment": Images and PDF files → stored in "payments" directory
      * - "logo": Image files → stored in "logos" directory
      * 
-     * @param file MultipartFile to upload
-     * @param type File type (resume, payment, or logo)
+     * The request is parsed as a stream: the file part is piped straight to storage while its
+     * real type is sniffed from the first bytes and the 10MB limit is enforced on the fly. The
+     * type therefore has to be known before the file part arrives - pass it as a query
+     * parameter or as a "type" form field placed before "file".
+     * 
+     * Files that may not make it in one request can be uploaded in resumable chunks
+     * through /api/uploads instead.
+     * 
+     * @param request multipart/form-data request with a "file" part
+     * @param type File type (resume, payment, or logo); may instead be sent as a form field before the file
      * @return ResponseEntity containing filePath and success message
-     * @throws RuntimeException if file type is invalid, file type doesn't match allowed types, or storage fails
+     * @throws RuntimeException if file type is invalid, file content doesn't match allowed types, or storage fails
      */
     @PostMapping("/upload")
     public ResponseEntity<Map<String, String>> uploadFile(
-            @RequestParam("file") MultipartFile file,
-            @RequestParam("type") String type) {
-        
-        String[] allowedTypes;
-        String subdirectory;
-        
-        // Configure allowed file types and storage directory based on file type
-        switch (type.toLowerCase()) {
-            case "resume":
-                // Resumes: PDF and Word documents only
-                allowedTypes = new String[]{"application/pdf", "application/msword", 
-                                           "application/vnd.openxmlformats-officedocument.wordprocessingml.document"};
-                subdirectory = "resumes";
-                break;
-            case "payment":
-                // Payment proofs: Images and PDFs
-                allowedTypes = new String[]{"image/", "application/pdf"};
-                subdirectory = "payments";
-                break;
-            case "logo":
-                // Company logos: Images only
-                allowedTypes = new String[]{"image/"};
-                subdirectory = "logos";
-                break;
-            default:
-                throw new RuntimeException("Invalid file type");
-        }
-        
-        // Validate file MIME type
-        if (!fileStorageService.isValidFileType(file, allowedTypes)) {
-            throw new RuntimeException("Invalid file type for " + type);
-        }
+            HttpServletRequest request,
+            @RequestParam(value = "type", required = false) String type) {
         
-        // Store file and get the file path
-        String filePath;
+        MultipartUpload upload;
         try {
-            filePath = fileStorageService.storeFile(file, subdirectory);
-        } catch (java.io.IOException e) {
+            upload = multipartUploadService.receive(request, "file", fields -> {
+                String name = type != null ? type : fields.get("type");
+                if (name == null) {
+                    throw new RuntimeException("File type must be sent before the file");
+                }
+                return UploadType.fromName(name);
+            });
+        } catch (IOException e) {
             throw new RuntimeException("Failed to store file: " + e.getMessage());
         }
+        if (upload.getFilePath() == null) {
+            throw new RuntimeException("File is required");
+        }
         
         Map<String, String> response = new HashMap<>();
-        response.put("filePath", filePath);
+        response.put("filePath", upload.getFilePath());
         response.put("message", "File uploaded successfully");
         
         return ResponseEntity.ok(response);
@@ -113,27 +144,221 @@ public class FileController {
      * 
      * Public endpoint to download files by their file path.
      * The file path should be the relative path returned from the upload endpoint.
+     * Files in private directories (resumes) are only served through a signed URL carrying
+     * "expires" and "signature" parameters, as issued with the applicant list; without a
+     * valid, unexpired signature 403 is returned.
+     * 
+     * The file is streamed from the storage backend rather than read into memory. The Content-Type is derived
+     * from the file extension and Content-Length is always set. Range requests are supported
+     * ("Accept-Ranges: bytes"): a satisfiable Range header returns 206 Partial Content with only
+     * the requested bytes, an unsatisfiable one returns 416. With the local backend the file is
+     * handed to Tomcat's sendfile (zero-copy from the page cache) when the connector supports
+     * it; otherwise ranges are read by seeking in the file. With S3 only the requested range
+     * is fetched.
+     * 
+     * Stored files are never overwritten (their names are UUIDs or content hashes), so public
+     * files are sent with "Cache-Control: public, max-age=31536000, immutable" and signed
+     * files with a private max-age lasting until the signature expires. Files in directories
+     * listed in file.cache.private-directories (payment proofs by default) are sent with
+     * "private" instead of "public" so shared caches never store them. Every response
+     * carries a strong ETag and Last-Modified; a matching If-None-Match or If-Modified-Since
+     * returns 304 Not Modified without reading the file. Thumbnails have their own ETag.
+     * 
+     * With ?variant=thumb a small JPEG thumbnail is returned instead for images and PDFs
+     * stored under logos/ and payments/ (first page for PDFs). Thumbnails are generated in
+     * the background after upload; until one exists the original file is returned, marked
+     * "no-cache" so the thumbnail is picked up once it is ready.
      * 
      * @param filePath Relative file path (e.g., "resumes/filename.pdf")
-     * @return ResponseEntity containing file content as byte array with appropriate headers
+     * @param variant Optional variant: "thumb"
+     * @param expires Expiry of a signed URL (epoch seconds)
+     * @param signature Signature of a signed URL
+     * @param headers Request headers (Range and conditional request headers)
+     * @param request The request, used to hand local files to Tomcat's sendfile
+     * @return ResponseEntity streaming the file content with appropriate headers
      *         Returns 404 if file not found
      */
     @GetMapping("/download/{*filePath}")
-    public ResponseEntity<byte[]> downloadFile(@PathVariable String filePath) {
+    public ResponseEntity<Resource> downloadFile(@PathVariable String filePath,
+            @RequestParam(required = false) String variant,
+            @RequestParam(required = false) Long expires,
+            @RequestParam(required = false) String signature,
+            @RequestHeader HttpHeaders headers,
+            HttpServletRequest request) {
+        if (variant != null && !VARIANT_THUMBNAIL.equals(variant)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        boolean privateCache = isPrivateCache(filePath);
+        CacheControl cacheControl = privateCache
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable()
+                : CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+        if (signedUrlService.isPrivate(filePath)) {
+            privateCache = true;
+            if (!signedUrlService.verify(filePath, expires, signature)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            cacheControl = CacheControl.maxAge(Duration.ofSeconds(signedUrlService.secondsUntil(expires)))
+                    .cachePrivate().immutable();
+        }
+        
+        StorageResource resource;
+        boolean thumbnail = false;
+        long length;
+        long lastModified;
         try {
-            byte[] fileContent = fileStorageService.loadFile(filePath);
-            
-            // Set response headers for file download
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", filePath.substring(filePath.lastIndexOf("/") + 1));
-            
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(fileContent);
-        } catch (Exception e) {
+            // The actual key may be in the other (flat or sharded) layout than the requested path
+            resource = fileStorageService.loadAsResource(filePath);
+            if (variant != null) {
+                Optional<String> thumbnailPath = thumbnailService.findThumbnail(resource.getKey());
+                if (thumbnailPath.isPresent()) {
+                    resource = fileStorageService.loadAsResource(thumbnailPath.get());
+                    thumbnail = true;
+                } else {
+                    cacheControl = privateCache ? CacheControl.noCache().cachePrivate() : CacheControl.noCache();
+                }
+            }
+            length = resource.contentLength();
+            lastModified = resource.lastModified();
+        } catch (IOException e) {
             return ResponseEntity.notFound().build();
         }
+        
+        String eTag = strongETag(resource.getKey(), length, lastModified);
+        if (isNotModified(headers, eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        
+        String filename = resource.getFilename();
+        MediaType contentType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        String disposition = (thumbnail ? ContentDisposition.inline() : ContentDisposition.attachment())
+                .filename(filename).build().toString();
+        
+        // If-Range is not checked: content under a path never changes, so any validator matches
+        List<HttpRange> ranges = parseRanges(headers);
+        ResourceRegion region = null;
+        if (ranges != null && ranges.size() == 1) {
+            try {
+                region = ranges.get(0).toResourceRegion(resource);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(region != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(contentType)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition);
+        long start = region != null ? region.getPosition() : 0;
+        long count = region != null ? region.getCount() : length;
+        if (region != null) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + length);
+        }
+        
+        if (resource.isFile()) {
+            if (HttpMethod.GET.matches(request.getMethod())
+                    && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // No body: Tomcat sends the bytes straight from the file (sendfile) after the handler returns
+                try {
+                    request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+                } catch (IOException e) {
+                    return ResponseEntity.notFound().build();
+                }
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, start + count); // exclusive
+                return response.contentLength(count).build();
+            }
+            // Without sendfile Spring MVC writes the file itself, turning any Range header into
+            // ResourceRegions that seek in the file; it only does so for a 200 response
+            return ResponseEntity.ok()
+                    .contentType(contentType)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(cacheControl)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, disposition)
+                    .body(resource);
+        }
+        
+        // Remote backends: a single range is fetched from the backend directly, so only the
+        // requested bytes are transferred; multi-range requests fall through to Spring MVC
+        if (region != null) {
+            try {
+                return response.contentLength(count)
+                        .body(new InputStreamResource(fileStorageService.openRange(resource.getKey(), start,
+                                start + count - 1)));
+            } catch (IOException e) {
+                return ResponseEntity.notFound().build();
+            }
+        }
+        return response.body(resource);
+    }
+    
+    // Files in directories whose responses must not be stored by shared caches
+    private boolean isPrivateCache(String filePath) {
+        String path = filePath.startsWith("/") ? filePath.substring(1) : filePath;
+        int slash = path.indexOf('/');
+        return slash > 0 && privateCacheDirectories.contains(path.substring(0, slash));
+    }
+    
+    /**
+     * Strong ETag of a stored file, derived from its full key
+     * 
+     * Content-addressed names are the SHA-256 of the content, followed by any variant before
+     * the extension: "<sha>.png" is "<sha>" and its thumbnail "<sha>.thumb.jpg" is
+     * "<sha>-thumb". Other files use size and modification time.
+     */
+    static String strongETag(String key, long length, long lastModified) {
+        String filename = key.substring(key.lastIndexOf('/') + 1);
+        int dot = filename.indexOf('.');
+        String base = dot == -1 ? filename : filename.substring(0, dot);
+        if (CONTENT_HASH.matcher(base).matches()) {
+            int extension = filename.lastIndexOf('.');
+            String variant = extension > dot ? "-" + filename.substring(dot + 1, extension).replace('.', '-') : "";
+            return "\"" + base + variant + "\"";
+        }
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+    
+    // If-None-Match takes precedence over If-Modified-Since (RFC 9110, section 13.2.2)
+    private boolean isNotModified(HttpHeaders headers, String eTag, long lastModified) {
+        List<String> ifNoneMatch = headers.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            for (String candidate : ifNoneMatch) {
+                if (candidate.equals("*") || candidate.replaceFirst("^W/", "").equals(eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = headers.getIfModifiedSince();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // HTTP dates have second precision
+        return ifModifiedSince != -1 && lastModified / 1000 * 1000 <= ifModifiedSince;
+    }
+    
+    // Null when there is no Range header or it can't be parsed; Spring MVC then answers 416 itself
+    private List<HttpRange> parseRanges(HttpHeaders headers) {
+        if (!headers.containsKey(HttpHeaders.RANGE)) {
+            return null;
+        }
+        try {
+            return headers.getRange();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 }
 
@@ -21,13 +21,18 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.jobSpher.jobSpher.dto.CandidateMatch;
+import com.jobSpher.jobSpher.dto.JobRecommendation;
 import com.jobSpher.jobSpher.dto.JobRequest;
+import com.jobSpher.jobSpher.dto.SimilarJob;
 import com.jobSpher.jobSpher.model.Company;
 import com.jobSpher.jobSpher.model.Job;
 import com.jobSpher.jobSpher.model.User;
 import com.jobSpher.jobSpher.repository.UserRepository;
 import com.jobSpher.jobSpher.service.CompanyService;
 import com.jobSpher.jobSpher.service.JobService;
+import com.jobSpher.jobSpher.service.MatchingService;
+import com.jobSpher.jobSpher.service.SimilarJobsService;
 
 import jakarta.validation.Valid;
 
@@ -57,6 +62,12 @@ public class JobController {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private MatchingService matchingService;
+    
+    @Autowired
+    private SimilarJobsService similarJobsService;
+    
     /**
      * Create a new job posting
      * 
@@ -150,6 +161,9 @@ public class JobController {
      * Get all jobs posted by the current employer
      * 
      * Returns all jobs (regardless of status) posted by the authenticated employer.
+     * Each job carries applicationStats with its application counts per status
+     * (submitted, shortlisted, rejected, hired), read from the denormalized
+     * job_application_stats table instead of counting applications.
      * 
      * Required Role: EMPLOYER
      * 
@@ -160,10 +174,83 @@ public class JobController {
     public ResponseEntity<List<Job>> getMyJobs() {
         User employer = getCurrentUserFromContext();
         Company company = companyService.getCompanyByEmployer(employer);
-        List<Job> jobs = jobService.getJobsByCompany(company);
+        List<Job> jobs = jobService.getJobsWithApplicationStats(company);
         return ResponseEntity.ok(jobs);
     }
     
+    /**
+     * Get the job seekers whose resumes best match a job
+     * 
+     * Ranks the job's applicants by the TF-IDF cosine similarity between the job's title and
+     * requirements and the resume of their most recent application. Job seekers who have not
+     * applied to the job are never included. Only applicants with an indexed PDF or DOCX
+     * resume are ranked. Results are refreshed shortly after
+     * jobs are approved or resumes are indexed. Only the employer who owns the job can access it.
+     * 
+     * Required Role: EMPLOYER
+     * 
+     * @param id Job ID
+     * @param limit Maximum number of matches (default: 20, max: 100)
+     * @return ResponseEntity containing a List of CandidateMatch, best match first
+     * @throws RuntimeException if employer doesn't own the job
+     */
+    @GetMapping("/{id}/matches")
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public ResponseEntity<List<CandidateMatch>> getCandidateMatches(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int limit) {
+        validateLimit(limit);
+        User employer = getCurrentUserFromContext();
+        return ResponseEntity.ok(matchingService.matchCandidates(id, employer, limit));
+    }
+    
+    /**
+     * Get recommended jobs for the current job seeker
+     * 
+     * Ranks active jobs by the TF-IDF cosine similarity between their title and requirements
+     * and the resume of the job seeker's most recent application. Returns an empty list until
+     * a PDF or DOCX resume of the job seeker has been indexed.
+     * 
+     * Required Role: JOB_SEEKER
+     * 
+     * @param limit Maximum number of jobs (default: 20, max: 100)
+     * @return ResponseEntity containing a List of JobRecommendation, best match first
+     */
+    @GetMapping("/recommended")
+    @PreAuthorize("hasRole('JOB_SEEKER')")
+    public ResponseEntity<List<JobRecommendation>> getRecommendedJobs(@RequestParam(defaultValue = "20") int limit) {
+        validateLimit(limit);
+        User jobSeeker = getCurrentUserFromContext();
+        return ResponseEntity.ok(matchingService.recommendJobs(jobSeeker, limit));
+    }
+    
+    /**
+     * Get jobs that applicants of this job also applied to
+     * 
+     * Public endpoint. Served from an in-memory co-occurrence model that is updated as
+     * applications are submitted; only ACTIVE jobs are returned. Returns job IDs with the
+     * number of shared applicants, most shared first; details can be loaded with GET /api/jobs/{id}.
+     * 
+     * @param id Job ID
+     * @param limit Maximum number of jobs (default: 10, max: 50)
+     * @return ResponseEntity containing a List of SimilarJob
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarJob>> getSimilarJobs(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit <= 0 || limit > 50) {
+            throw new RuntimeException("Limit must be between 1 and 50");
+        }
+        return ResponseEntity.ok(similarJobsService.getSimilarJobs(id, limit));
+    }
+    
+    private void validateLimit(int limit) {
+        if (limit <= 0 || limit > MatchingService.MAX_RESULTS) {
+            throw new RuntimeException("Limit must be between 1 and " + MatchingService.MAX_RESULTS);
+        }
+    }
+    
     /**
      * Helper method to extract the currently authenticated user from Spring Security context
      * 
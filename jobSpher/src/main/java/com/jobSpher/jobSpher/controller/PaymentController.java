@@ -13,15 +13,17 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
 
+import com.jobSpher.jobSpher.dto.MultipartUpload;
 import com.jobSpher.jobSpher.model.ManualPayment;
 import com.jobSpher.jobSpher.model.User;
 import com.jobSpher.jobSpher.repository.UserRepository;
-import com.jobSpher.jobSpher.service.FileStorageService;
+import com.jobSpher.jobSpher.service.MultipartUploadService;
 import com.jobSpher.jobSpher.service.PaymentService;
+import com.jobSpher.jobSpher.storage.UploadType;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Payment Controller
@@ -44,14 +46,11 @@ public class PaymentController {
     private PaymentService paymentService;
     
     @Autowired
-    private FileStorageService fileStorageService;
+    private MultipartUploadService multipartUploadService;
     
     @Autowired
     private UserRepository userRepository;
     
-    // Allowed file types for payment proof documents (images and PDFs)
-    private static final String[] ALLOWED_TYPES = {"image/", "application/pdf"};
-    
     /**
      * Upload payment verification document
      * 
@@ -61,34 +60,48 @@ public class PaymentController {
      * 
      * Required Role: EMPLOYER
      * 
-     * @param file MultipartFile containing the payment proof document (image or PDF)
-     * @param referenceNumber Payment reference number from the payment provider
+     * The request is streamed: the "file" part goes straight to storage and its content is
+     * checked to be an image or PDF from its first bytes. "referenceNumber" may be sent before
+     * or after the file. Instead of a "file" part, an "uploadId" field may name a completed
+     * resumable upload (see /api/uploads) of the employer's; it can be used once and its
+     * content is checked the same way.
+     * 
+     * @param request multipart/form-data request with a "file" part (image or PDF) or an
+     *        "uploadId" field, and a "referenceNumber" field holding the payment provider's reference
      * @return ResponseEntity containing payment ID, status, and success message
-     * @throws RuntimeException if file type is invalid or file storage fails
+     * @throws RuntimeException if file type is invalid, a field is missing, or file storage fails
      */
     @PostMapping("/upload")
     @PreAuthorize("hasRole('EMPLOYER')")
-    public ResponseEntity<Map<String, Object>> uploadPayment(
-            @RequestParam("file") MultipartFile file,
-            @RequestParam("referenceNumber") String referenceNumber) {
+    public ResponseEntity<Map<String, Object>> uploadPayment(HttpServletRequest request) {
         
         User employer = getCurrentUserFromContext();
         
-        // Validate file type before processing
-        if (!fileStorageService.isValidFileType(file, ALLOWED_TYPES)) {
-            throw new RuntimeException("Invalid file type. Only images and PDFs are allowed.");
-        }
-        
-        // Store the payment proof file
-        String filePath;
+        // Store the payment proof file while the request is read
+        MultipartUpload upload;
         try {
-            filePath = fileStorageService.storeFile(file, "payments");
+            upload = multipartUploadService.receive(request, "file", fields -> UploadType.PAYMENT);
+            multipartUploadService.claimUploadSession(upload, employer, UploadType.PAYMENT);
         } catch (java.io.IOException e) {
             throw new RuntimeException("Failed to store file: " + e.getMessage());
         }
+        String filePath = upload.getFilePath();
         
-        // Create payment record
-        ManualPayment payment = paymentService.uploadPayment(employer, filePath, referenceNumber);
+        // Create payment record; the stored file is dropped again if that fails
+        ManualPayment payment;
+        try {
+            if (filePath == null) {
+                throw new RuntimeException("File is required");
+            }
+            String referenceNumber = upload.getFields().get("referenceNumber");
+            if (referenceNumber == null || referenceNumber.isBlank()) {
+                throw new RuntimeException("Reference number is required");
+            }
+            payment = paymentService.uploadPayment(employer, filePath, referenceNumber);
+        } catch (RuntimeException e) {
+            multipartUploadService.releaseQuietly(upload);
+            throw e;
+        }
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Payment proof uploaded successfully. Admin will verify within 24-48 hours.");
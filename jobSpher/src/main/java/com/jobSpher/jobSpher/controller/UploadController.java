@@ -0,0 +1,173 @@
+package com.jobSpher.jobSpher.controller;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jobSpher.jobSpher.dto.UploadSessionRequest;
+import com.jobSpher.jobSpher.exception.MisdirectedUploadException;
+import com.jobSpher.jobSpher.model.UploadSession;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.UserRepository;
+import com.jobSpher.jobSpher.service.ChunkedUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+/**
+ * Upload Controller
+ * 
+ * Resumable chunked uploads for clients on unreliable connections. Instead of sending the
+ * whole file in one multipart request, the client:
+ * 1. opens an upload session (POST /api/uploads) with the file type, name and size,
+ * 2. sends the bytes in chunks (PUT /api/uploads/{id}?offset=N, raw request body),
+ * 3. completes the session (POST /api/uploads/{id}/complete) to get the stored file path,
+ * 4. passes the session id as the "uploadId" field to the endpoint that takes the file
+ *    (POST /api/applications, POST /api/payments/upload, PUT /api/users/me/resume or
+ *    PUT /api/companies/my/logo), which claims it once.
+ * 
+ * After a lost connection the client reads the session (GET /api/uploads/{id}) and
+ * continues from its "receivedBytes" offset instead of starting over. The completed file
+ * is stored exactly like an upload through /api/files/upload.
+ * 
+ * Chunks are kept on the local disk of the node that opened the session until the upload
+ * is completed. When several nodes serve the API, all requests of one upload must reach
+ * that node (e.g. a sticky session at the load balancer); chunk and complete requests
+ * that reach another node return 421 Misdirected Request with the owning node.
+ * 
+ * Base URL: /api/uploads
+ * 
+ * @author JobSpher Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@CrossOrigin(origins = "http://localhost:3000") // CORS configuration - should be moved to SecurityConfig in production
+public class UploadController {
+    
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    /**
+     * Open an upload session
+     * 
+     * Validates the file type ("resume", "payment" or "logo") against the declared content
+     * type and the declared size against the upload limit.
+     * 
+     * @param request Type, file name, content type and size in bytes
+     * @return ResponseEntity containing the new session (201 Created) with its id and receivedBytes = 0
+     * @throws RuntimeException if the type is invalid, the content type isn't allowed or the file is too large
+     */
+    @PostMapping
+    public ResponseEntity<UploadSession> createSession(@Valid @RequestBody UploadSessionRequest request)
+            throws IOException {
+        User user = getCurrentUserFromContext();
+        UploadSession session = chunkedUploadService.createSession(user, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(session);
+    }
+    
+    /**
+     * Get an upload session
+     * 
+     * Used to resume: receivedBytes is the offset the next chunk must start at (or before).
+     * 
+     * @param id Upload session ID
+     * @return ResponseEntity containing the session
+     * @throws RuntimeException if the session doesn't exist or belongs to another user
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSession> getSession(@PathVariable String id) {
+        User user = getCurrentUserFromContext();
+        return ResponseEntity.ok(chunkedUploadService.getSession(id, user));
+    }
+    
+    /**
+     * Upload one chunk
+     * 
+     * The request body is the raw chunk (Content-Type: application/octet-stream) and must
+     * carry a Content-Length. The chunk may overlap bytes already received, e.g. when it is
+     * re-sent after a timeout, but must not start after the received offset. If the
+     * connection drops mid-chunk, the bytes that arrived are kept.
+     * 
+     * @param id Upload session ID
+     * @param offset Byte offset of the chunk within the file
+     * @param contentLength Size of the chunk in bytes
+     * @return ResponseEntity containing receivedBytes after this chunk
+     * @throws RuntimeException if the offset or size is invalid, or the session is completed or expired
+     * @throws MisdirectedUploadException if the session was opened on another node (421)
+     */
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Map<String, Long>> uploadChunk(
+            @PathVariable String id,
+            @RequestParam long offset,
+            @RequestHeader(HttpHeaders.CONTENT_LENGTH) long contentLength,
+            HttpServletRequest request) throws IOException {
+        User user = getCurrentUserFromContext();
+        long receivedBytes = chunkedUploadService.writeChunk(id, user, offset, contentLength, request.getInputStream());
+        
+        Map<String, Long> response = new HashMap<>();
+        response.put("receivedBytes", receivedBytes);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Complete an upload
+     * 
+     * Stores the assembled file in the directory for its type. Completing a session that is
+     * already completed returns the same file path again, so the call can be retried.
+     * 
+     * @param id Upload session ID
+     * @return ResponseEntity containing filePath and success message
+     * @throws RuntimeException if not all bytes have been received or storage fails
+     * @throws MisdirectedUploadException if the session was opened on another node (421)
+     */
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<Map<String, String>> completeUpload(@PathVariable String id) {
+        User user = getCurrentUserFromContext();
+        String filePath;
+        try {
+            filePath = chunkedUploadService.complete(id, user);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + e.getMessage());
+        }
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("filePath", filePath);
+        response.put("message", "File uploaded successfully");
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Helper method to extract the currently authenticated user from Spring Security context
+     * 
+     * @return User entity of the authenticated user
+     * @throws RuntimeException if user is not found in database
+     */
+    private User getCurrentUserFromContext() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -1,17 +1,30 @@
 package com.jobSpher.jobSpher.controller;
 
+import com.jobSpher.jobSpher.dto.MultipartUpload;
+import com.jobSpher.jobSpher.dto.NotificationIdsRequest;
 import com.jobSpher.jobSpher.model.User;
 import com.jobSpher.jobSpher.repository.UserRepository;
+import com.jobSpher.jobSpher.security.JwtService;
 import com.jobSpher.jobSpher.service.NotificationService;
+import com.jobSpher.jobSpher.service.MultipartUploadService;
+import com.jobSpher.jobSpher.service.NotificationStreamService;
+import com.jobSpher.jobSpher.service.UserService;
+import com.jobSpher.jobSpher.storage.UploadType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -37,6 +50,18 @@ public class UserController {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+    
+    @Autowired
+    private JwtService jwtService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private MultipartUploadService multipartUploadService;
+    
     /**
      * Get current user profile
      * 
@@ -72,6 +97,48 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
     
+    /**
+     * Replace the current job seeker's resume
+     * 
+     * Stores a new profile resume, used for applications submitted without a resume of
+     * their own. The previous profile resume is released in the same transaction; files
+     * nothing refers to any more are deleted later by the upload garbage collector.
+     * 
+     * The request is streamed like application uploads: the "resume" part goes straight to
+     * storage and must be a PDF or DOC/DOCX judging by its first bytes. Instead of the part,
+     * an "uploadId" field may name a completed resumable upload (see /api/uploads); it can
+     * be used once and is checked the same way.
+     * 
+     * Required Role: JOB_SEEKER
+     * 
+     * @param request multipart/form-data request with a "resume" part or an "uploadId" field
+     * @return ResponseEntity containing the updated User entity
+     * @throws RuntimeException if the resume is missing, of the wrong type or can't be stored
+     */
+    @PutMapping("/me/resume")
+    @PreAuthorize("hasRole('JOB_SEEKER')")
+    public ResponseEntity<User> replaceResume(HttpServletRequest request) {
+        User user = getCurrentUserFromContext();
+        MultipartUpload upload;
+        try {
+            upload = multipartUploadService.receive(request, "resume", fields -> UploadType.RESUME);
+            multipartUploadService.claimUploadSession(upload, user, UploadType.RESUME);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store resume: " + e.getMessage());
+        }
+        String resumePath = upload.getFilePath();
+        if (resumePath == null) {
+            throw new RuntimeException("Resume is required");
+        }
+        try {
+            user = userService.replaceResume(user, resumePath);
+        } catch (RuntimeException e) {
+            multipartUploadService.releaseQuietly(upload);
+            throw e;
+        }
+        return ResponseEntity.ok(user);
+    }
+    
     /**
      * Get user notifications
      * 
@@ -106,6 +173,49 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Get a notification stream token
+     * 
+     * Browsers' EventSource cannot send an Authorization header, so the stream is opened
+     * with a short-lived token in the query string:
+     * GET /api/users/notifications/stream?token=... The token is only accepted by the stream
+     * endpoint and expires after jwt.stream-token-expiration (default: 1 minute); request a
+     * new one before reconnecting.
+     * 
+     * @return ResponseEntity containing "token" and "expiresIn" (milliseconds)
+     */
+    @PostMapping("/notifications/stream-token")
+    public ResponseEntity<Map<String, Object>> getStreamToken() {
+        User user = getCurrentUserFromContext();
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", jwtService.generateStreamToken(user.getEmail()));
+        response.put("expiresIn", jwtService.getStreamTokenExpiration());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Subscribe to notification push events
+     * 
+     * Opens a Server-Sent Events stream for the currently authenticated user.
+     * Emits "notification" events as notifications are created and "unread-count" events
+     * whenever the unread count changes (the current count is sent on connect), so clients
+     * no longer need to poll the unread-count endpoint. The connection is held asynchronously
+     * and does not occupy a request thread while idle.
+     * 
+     * Authenticate with the usual Authorization header or, from a browser EventSource, with
+     * a stream token from POST /notifications/stream-token in the "token" query parameter.
+     * 
+     * @param response HTTP response, used to disable proxy buffering for the stream
+     * @return SseEmitter bound to the user's connection
+     */
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(HttpServletResponse response) {
+        User user = getCurrentUserFromContext();
+        response.setHeader("X-Accel-Buffering", "no");
+        response.setHeader("Cache-Control", "no-cache");
+        return notificationStreamService.subscribe(user);
+    }
+    
     /**
      * Mark notification as read
      * 
@@ -123,6 +233,58 @@ public class UserController {
         return ResponseEntity.ok(notification);
     }
     
+    /**
+     * Mark several notifications as read
+     * 
+     * Marks the given notifications as read in a single statement. IDs that don't belong
+     * to the current user, or that are already read, are skipped.
+     * 
+     * @param request NotificationIdsRequest containing the notification IDs
+     * @return ResponseEntity containing a map with "updated" key and the number of notifications changed
+     */
+    @PutMapping("/notifications/read")
+    public ResponseEntity<Map<String, Integer>> markAsRead(@Valid @RequestBody NotificationIdsRequest request) {
+        User user = getCurrentUserFromContext();
+        int updated = notificationService.markAsRead(request.getIds(), user);
+        Map<String, Integer> response = new HashMap<>();
+        response.put("updated", updated);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Mark all notifications as read
+     * 
+     * Marks every unread notification of the current user as read in a single statement.
+     * 
+     * @return ResponseEntity containing a map with "updated" key and the number of notifications changed
+     */
+    @PutMapping("/notifications/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllAsRead() {
+        User user = getCurrentUserFromContext();
+        int updated = notificationService.markAllAsRead(user);
+        Map<String, Integer> response = new HashMap<>();
+        response.put("updated", updated);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Delete several notifications
+     * 
+     * Deletes the given notifications owned by the current user. IDs that don't belong
+     * to the current user are skipped.
+     * 
+     * @param request NotificationIdsRequest containing the notification IDs
+     * @return ResponseEntity containing a map with "deleted" key and the number of notifications removed
+     */
+    @DeleteMapping("/notifications")
+    public ResponseEntity<Map<String, Integer>> deleteNotifications(@Valid @RequestBody NotificationIdsRequest request) {
+        User user = getCurrentUserFromContext();
+        int deleted = notificationService.deleteNotifications(request.getIds(), user);
+        Map<String, Integer> response = new HashMap<>();
+        response.put("deleted", deleted);
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Helper method to extract the currently authenticated user from Spring Security context
      * 
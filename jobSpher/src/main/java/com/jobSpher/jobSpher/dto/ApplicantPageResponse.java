@@ -0,0 +1,20 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of applicants. Pass nextCursor back as "cursor" to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicantPageResponse {
+    private List<ApplicantSummary> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // null on the last page
+}
@@ -0,0 +1,44 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.time.LocalDateTime;
+
+import com.jobSpher.jobSpher.model.Application;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read-only projection of an application for the employer's applicant list.
+ * Built directly by a JPQL constructor expression, so no entities or lazy proxies are loaded.
+ * resumeUrl is filled in afterwards with a short-lived signed download URL.
+ */
+@Data
+@NoArgsConstructor
+public class ApplicantSummary {
+    private Long id;
+    private Long applicantId;
+    private String applicantFirstName;
+    private String applicantLastName;
+    private String applicantEmail;
+    private Application.ApplicationStatus status;
+    private LocalDateTime appliedAt;
+    private String resumePath;
+    private String coverLetter;
+    private String employerNotes;
+    private String resumeUrl;
+    
+    public ApplicantSummary(Long id, Long applicantId, String applicantFirstName, String applicantLastName,
+            String applicantEmail, Application.ApplicationStatus status, LocalDateTime appliedAt, String resumePath,
+            String coverLetter, String employerNotes) {
+        this.id = id;
+        this.applicantId = applicantId;
+        this.applicantFirstName = applicantFirstName;
+        this.applicantLastName = applicantLastName;
+        this.applicantEmail = applicantEmail;
+        this.status = status;
+        this.appliedAt = appliedAt;
+        this.resumePath = resumePath;
+        this.coverLetter = coverLetter;
+        this.employerNotes = employerNotes;
+    }
+}
@@ -9,5 +9,7 @@ public class ApplicationRequest {
     private Long jobId;
     
     private String coverLetter;
+    
+    private String idempotencyKey; // Optional Idempotency-Key header of the submission
 }
 
@@ -0,0 +1,21 @@
+package com.jobSpher.jobSpher.dto;
+
+import com.jobSpher.jobSpher.model.Application;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Minimal application data needed to change statuses in bulk and notify the job seekers
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusRow {
+    private Long id;
+    private Long jobSeekerId;
+    private Long jobId;
+    private String jobTitle;
+    private Application.ApplicationStatus status;
+}
@@ -0,0 +1,22 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.util.List;
+
+import com.jobSpher.jobSpher.model.Application;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BulkApplicationStatusUpdateRequest {
+    @NotEmpty(message = "Application IDs are required")
+    @Size(max = 1000, message = "At most 1000 applications can be updated at once")
+    private List<Long> applicationIds;
+    
+    @NotNull(message = "Status is required")
+    private Application.ApplicationStatus status;
+    
+    private String employerNotes;
+}
@@ -0,0 +1,16 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BulkJobReviewRequest {
+    @NotEmpty(message = "Job IDs are required")
+    @Size(max = 1000, message = "At most 1000 jobs can be reviewed at once")
+    private List<Long> jobIds;
+    
+    private String reason; // required when rejecting
+}
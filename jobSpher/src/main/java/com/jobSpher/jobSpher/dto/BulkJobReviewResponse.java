@@ -0,0 +1,19 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk approve or reject, per requested job ID
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobReviewResponse {
+    private int updated;
+    // APPROVED or REJECTED, otherwise NOT_FOUND, ALREADY_PROCESSED or CLAIMED_BY_OTHER_ADMIN
+    private Map<Long, String> results;
+}
@@ -0,0 +1,19 @@
+package com.jobSpher.jobSpher.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Job seeker ranked against a job's requirements; score is the cosine similarity (0..1)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateMatch {
+    private Long jobSeekerId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private double score;
+}
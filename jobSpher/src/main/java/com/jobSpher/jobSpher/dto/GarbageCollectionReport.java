@@ -0,0 +1,27 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What the orphaned upload collector found and reclaimed in its current or last run
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GarbageCollectionReport {
+    private String state; // IDLE, RUNNING, COMPLETED, FAILED or STOPPED
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long referencedPaths;
+    private long filesScanned;
+    private long filesDeleted;
+    private long tempFilesDeleted; // abandoned partial writes under .tmp
+    private long bytesReclaimed;
+    private long filesFailed;
+    private boolean limitReached; // stopped at file.gc.max-deletions; the rest is left for the next run
+    private String error;
+}
@@ -0,0 +1,18 @@
+package com.jobSpher.jobSpher.dto;
+
+import com.jobSpher.jobSpher.model.Job;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Active job ranked against a job seeker's resume; score is the cosine similarity (0..1)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRecommendation {
+    private Job job;
+    private double score;
+}
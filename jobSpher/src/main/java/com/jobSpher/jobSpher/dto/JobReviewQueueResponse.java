@@ -0,0 +1,21 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.jobSpher.jobSpher.model.Job;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The pending jobs claimed by one admin for review, and when that claim lapses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobReviewQueueResponse {
+    private List<Job> jobs;
+    private LocalDateTime leaseExpiresAt; // fetch the queue again before this to keep the jobs
+}
@@ -0,0 +1,24 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the move from the flat to the sharded uploads layout
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LayoutMigrationStatus {
+    private String state; // IDLE, RUNNING, COMPLETED, FAILED or STOPPED
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long filesMoved;
+    private long filesMissing; // referenced in the database but in neither layout
+    private long filesFailed;
+    private long rowsUpdated;
+    private String error;
+}
@@ -0,0 +1,24 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of reading a multipart request: its text fields and the stored file, if one was sent
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultipartUpload {
+    private Map<String, String> fields;
+    private String filePath; // null when the request had no (non-empty) file part
+    private String uploadId; // completed chunked upload claimed in place of a file part, if any
+    
+    public MultipartUpload(Map<String, String> fields, String filePath) {
+        this.fields = fields;
+        this.filePath = filePath;
+    }
+}
@@ -0,0 +1,14 @@
+package com.jobSpher.jobSpher.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class NotificationIdsRequest {
+    @NotEmpty(message = "Notification IDs are required")
+    @Size(max = 1000, message = "At most 1000 notifications can be updated at once")
+    private List<Long> ids;
+}
@@ -0,0 +1,18 @@
+package com.jobSpher.jobSpher.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One resume to include in a job's resume archive, built by a JPQL constructor expression
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeExportEntry {
+    private Long applicationId;
+    private String applicantFirstName;
+    private String applicantLastName;
+    private String resumePath;
+}
@@ -0,0 +1,16 @@
+package com.jobSpher.jobSpher.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Job that applicants of another job also applied to, with the number of shared applicants
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarJob {
+    private Long jobId;
+    private int sharedApplicants;
+}
@@ -0,0 +1,25 @@
+package com.jobSpher.jobSpher.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class UploadSessionRequest {
+    @NotBlank(message = "Type is required")
+    private String type; // resume, payment or logo
+    
+    @NotBlank(message = "File name is required")
+    @Size(max = 255, message = "File name is too long")
+    private String filename;
+    
+    @NotBlank(message = "Content type is required")
+    @Size(max = 100, message = "Content type is too long")
+    private String contentType;
+    
+    @NotNull(message = "Size is required")
+    @Positive(message = "Size must be positive")
+    private Long size;
+}
@@ -0,0 +1,16 @@
+package com.jobSpher.jobSpher.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by JobService when an admin approves one or more jobs and they become visible
+ * to job seekers. A bulk approval publishes a single event for all its jobs.
+ */
+@Data
+@AllArgsConstructor
+public class JobApprovedEvent {
+    private List<Long> jobIds;
+}
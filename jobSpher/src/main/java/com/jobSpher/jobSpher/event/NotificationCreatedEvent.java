@@ -0,0 +1,24 @@
+package com.jobSpher.jobSpher.event;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by NotificationService when a notification is stored.
+ *
+ * Carries plain values rather than the entity so listeners running after the
+ * transaction has committed never touch lazy proxies.
+ */
+@Data
+@AllArgsConstructor
+public class NotificationCreatedEvent {
+    private Long userId;
+    private Long notificationId;
+    private String title;
+    private String message;
+    private String type;
+    private String link;
+    private LocalDateTime createdAt;
+}
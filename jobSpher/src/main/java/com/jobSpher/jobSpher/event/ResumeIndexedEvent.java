@@ -0,0 +1,13 @@
+package com.jobSpher.jobSpher.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by ResumeIndexService once an application's resume terms have been (re)written.
+ */
+@Data
+@AllArgsConstructor
+public class ResumeIndexedEvent {
+    private Long applicationId;
+}
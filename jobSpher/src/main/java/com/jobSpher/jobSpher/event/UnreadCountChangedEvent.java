@@ -0,0 +1,14 @@
+package com.jobSpher.jobSpher.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by NotificationService when notifications are marked as read or removed
+ * without a new notification being created.
+ */
+@Data
+@AllArgsConstructor
+public class UnreadCountChangedEvent {
+    private Long userId;
+}
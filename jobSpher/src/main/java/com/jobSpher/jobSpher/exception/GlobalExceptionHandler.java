@@ -100,6 +100,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    /**
+     * Handle chunked upload requests sent to the wrong node
+     * 
+     * Returns 421 Misdirected Request with the owning node, so the request can be
+     * retried there.
+     * 
+     * @param ex MisdirectedUploadException naming the node that holds the upload
+     * @return ResponseEntity with error message, node and 421 status code
+     */
+    @ExceptionHandler(MisdirectedUploadException.class)
+    public ResponseEntity<Map<String, String>> handleMisdirectedUploadException(MisdirectedUploadException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        error.put("node", ex.getNode());
+        return ResponseEntity.status(421).body(error);
+    }
+
+    /**
+     * Handle an Idempotency-Key reused for a different request
+     * 
+     * @param ex IdempotencyKeyReusedException
+     * @return ResponseEntity with error message and 422 status code
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
     @ExceptionHandler(FileNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleFileNotFoundException(FileNotFoundException ex) {
         Map<String, String> error = new HashMap<>();
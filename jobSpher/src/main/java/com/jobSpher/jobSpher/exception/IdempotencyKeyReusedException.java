@@ -0,0 +1,14 @@
+package com.jobSpher.jobSpher.exception;
+
+/**
+ * An Idempotency-Key was sent again with a different request than the one it first identified
+ *
+ * Mapped to 422 Unprocessable Entity by GlobalExceptionHandler: replaying the original
+ * response would be wrong, and the client should generate a new key for the new request.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("Idempotency-Key was already used for an application to a different job");
+    }
+}
@@ -0,0 +1,21 @@
+package com.jobSpher.jobSpher.exception;
+
+/**
+ * A chunked upload request reached a node other than the one holding the upload's part file
+ *
+ * Mapped to 421 Misdirected Request by GlobalExceptionHandler, so a load balancer or
+ * client can tell it apart from a bad request and retry against the owning node.
+ */
+public class MisdirectedUploadException extends RuntimeException {
+
+    private final String node;
+
+    public MisdirectedUploadException(String node) {
+        super("Upload belongs to node " + node + "; send its chunks and completion to that node");
+        this.node = node;
+    }
+
+    public String getNode() {
+        return node;
+    }
+}
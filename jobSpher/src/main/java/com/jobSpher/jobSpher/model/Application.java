@@ -1,5 +1,7 @@
 package com.jobSpher.jobSpher.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,7 +16,10 @@ import java.time.LocalDateTime;
 @Table(name = "applications", indexes = {
     @Index(name = "idx_job_id", columnList = "job_id"),
     @Index(name = "idx_job_seeker_id", columnList = "job_seeker_id"),
-    @Index(name = "idx_status", columnList = "status")
+    @Index(name = "idx_status", columnList = "status"),
+    @Index(name = "idx_applications_job_status_applied", columnList = "job_id, status, applied_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uq_applications_job_job_seeker", columnNames = {"job_id", "job_seeker_id"})
 })
 @Data
 @NoArgsConstructor
@@ -48,6 +53,14 @@ public class Application {
     @Column(columnDefinition = "TEXT")
     private String employerNotes;
     
+    @JsonIgnore
+    @Column(length = 100)
+    private String idempotencyKey; // Idempotency-Key header of the submitting request, if any
+    
+    @Transient
+    @JsonIgnore
+    private boolean replayed; // Set when a submission resolved to an existing application
+    
     @Column(nullable = false)
     private LocalDateTime appliedAt;
 
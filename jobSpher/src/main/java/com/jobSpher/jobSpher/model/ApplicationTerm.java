@@ -0,0 +1,46 @@
+package com.jobSpher.jobSpher.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One distinct term of an application's resume text and how often it occurs
+ * 
+ * Rows are written in batches by ResumeIndexService; job_id is denormalized so a
+ * keyword search only touches the index entries of one job.
+ */
+@Entity
+@Table(name = "application_terms", indexes = {
+    @Index(name = "idx_application_terms_job_term", columnList = "job_id, term")
+})
+@IdClass(ApplicationTerm.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationTerm {
+    
+    @Id
+    private Long applicationId;
+    
+    @Id
+    @Column(length = 50)
+    private String term;
+    
+    @Column(nullable = false)
+    private Long jobId;
+    
+    @Column(nullable = false)
+    private Integer frequency;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long applicationId;
+        private String term;
+    }
+}
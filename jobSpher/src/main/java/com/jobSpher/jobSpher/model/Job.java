@@ -1,5 +1,7 @@
 package com.jobSpher.jobSpher.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -83,6 +85,12 @@ public class Job {
     
     private String rejectionReason; // Reason for rejection (if rejected by admin)
     
+    @JsonIgnore
+    private Long reviewClaimedBy; // Admin currently holding this pending job in their review queue
+    
+    @JsonIgnore
+    private LocalDateTime reviewClaimedUntil; // End of that admin's lease; afterwards other admins can claim it
+    
     @Column(nullable = false)
     private LocalDateTime createdAt; // Job creation timestamp
     
@@ -90,6 +98,9 @@ public class Job {
     
     private LocalDateTime publishedAt; // Timestamp when job was published (approved)
     
+    @Transient
+    private JobApplicationStats applicationStats; // Application counters, only populated for the employer's own job list
+    
     /**
      * JPA lifecycle callback - executed before entity is persisted
      * Sets creation and update timestamps
@@ -0,0 +1,49 @@
+package com.jobSpher.jobSpher.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized application counters per job and status
+ * 
+ * Rows are only written through JobApplicationStatsRepository.applyDelta (an atomic upsert),
+ * never through entity saves, so concurrent submissions can't lose updates.
+ */
+@Entity
+@Table(name = "job_application_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobApplicationStats {
+    
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+    
+    @Column(nullable = false)
+    private Long submittedCount = 0L;
+    
+    @Column(nullable = false)
+    private Long shortlistedCount = 0L;
+    
+    @Column(nullable = false)
+    private Long rejectedCount = 0L;
+    
+    @Column(nullable = false)
+    private Long hiredCount = 0L;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public long getTotalCount() {
+        return submittedCount + shortlistedCount + rejectedCount + hiredCount;
+    }
+    
+    public static JobApplicationStats empty(Long jobId) {
+        return new JobApplicationStats(jobId, 0L, 0L, 0L, 0L, null);
+    }
+}
@@ -25,8 +25,8 @@ import lombok.NoArgsConstructor;
 @Table(
         name = "notifications",
         indexes = {
-                @Index(name = "idx_notifications_user_id", columnList = "user_id"),
-                @Index(name = "idx_notifications_read", columnList = "read")
+                // Matches the per-partition index created by the V4 migration
+                @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at DESC")
         }
 )
 @Data
@@ -58,6 +58,11 @@ public class Notification {
 
     private String link; // Optional link to related resource
 
+    private String groupKey; // Set on coalesced notifications, e.g. "job:42"
+
+    @Column(nullable = false)
+    private Integer groupCount = 1; // Number of events merged into this notification
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,56 @@
+package com.jobSpher.jobSpher.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Text extraction state of an application's resume
+ * 
+ * Created as PENDING together with the application; ResumeIndexService moves it to
+ * INDEXED once the resume's terms are in application_terms.
+ */
+@Entity
+@Table(name = "resume_extractions", indexes = {
+    @Index(name = "idx_resume_extractions_status_updated", columnList = "status, updated_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeExtraction {
+    
+    @Id
+    private Long applicationId;
+    
+    @Column(nullable = false)
+    private Long jobId;
+    
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ExtractionStatus status = ExtractionStatus.PENDING;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(length = 500)
+    private String lastError;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public enum ExtractionStatus {
+        PENDING,     // Waiting for (another) extraction attempt
+        INDEXED,     // Terms written to application_terms
+        UNSUPPORTED, // File type without a text extractor (e.g. legacy .doc)
+        FAILED       // Gave up after the configured number of attempts
+    }
+}
@@ -0,0 +1,42 @@
+package com.jobSpher.jobSpher.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Content-addressed file blob and its reference count
+ * 
+ * The path is derived from the SHA-256 of the content, so identical uploads share one
+ * blob. Rows are only changed through StoredFileRepository's atomic acquire/release queries.
+ */
+@Entity
+@Table(name = "stored_files", indexes = {
+    @Index(name = "idx_stored_files_ref_count", columnList = "ref_count")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFile {
+    
+    @Id
+    private String path;
+    
+    @Column(nullable = false, length = 64)
+    private String sha256;
+    
+    @Column(nullable = false)
+    private Long sizeBytes;
+    
+    @Column(nullable = false)
+    private Integer refCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime lastReferencedAt;
+}
@@ -0,0 +1,79 @@
+package com.jobSpher.jobSpher.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jobSpher.jobSpher.storage.UploadType;
+
+/**
+ * Resumable chunked upload
+ * 
+ * Chunks are written into a part file on the local disk of the node that opened the
+ * session (recorded in node); receivedBytes is the contiguous prefix already written, i.e.
+ * the offset the client continues from after a lost connection.
+ * receivedBytes and status are only changed through UploadSessionRepository's conditional
+ * updates, so concurrent chunk and complete requests can't lose each other's progress.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+    @Index(name = "idx_upload_sessions_expires", columnList = "status, expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+    
+    @Id
+    @Column(length = 36)
+    private String id;
+    
+    @JsonIgnore
+    @Column(nullable = false)
+    private Long ownerId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UploadType uploadType;
+    
+    @Column(nullable = false)
+    private String filename;
+    
+    @Column(nullable = false, length = 100)
+    private String contentType;
+    
+    @Column(nullable = false)
+    private Long totalBytes;
+    
+    @Column(nullable = false)
+    private Long receivedBytes;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UploadStatus status;
+    
+    // Stored file path once completed
+    private String filePath;
+    
+    // Node holding the part file; null for sessions opened before nodes were recorded
+    @JsonIgnore
+    private String node;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    public enum UploadStatus {
+        // CLAIMED: the stored file has been taken by an application, payment, resume or logo
+        OPEN, COMPLETING, COMPLETED, CLAIMED
+    }
+}
@@ -65,6 +65,11 @@ public class User implements UserDetails {
     private String address; // Optional address
     private String resumePath; // Path to resume file (used by job seekers)
 
+    // Denormalized unread notification counter, maintained by NotificationService.
+    // Not updatable through the entity so a stale User save can't overwrite it.
+    @Column(nullable = false, updatable = false)
+    private Long unreadNotificationCount = 0L;
+
     @Column(nullable = false)
     private LocalDateTime createdAt; // Account creation timestamp
 
@@ -1,11 +1,24 @@
 package com.jobSpher.jobSpher.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.LockModeType;
+
+import com.jobSpher.jobSpher.dto.ApplicantSummary;
+import com.jobSpher.jobSpher.dto.ApplicationStatusRow;
+import com.jobSpher.jobSpher.dto.ResumeExportEntry;
 import com.jobSpher.jobSpher.model.Application;
 import com.jobSpher.jobSpher.model.Job;
 import com.jobSpher.jobSpher.model.User;
@@ -15,6 +28,108 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
     List<Application> findByJobSeeker(User jobSeeker);
     List<Application> findByJob(Job job);
     Optional<Application> findByJobAndJobSeeker(Job job, User jobSeeker);
-    boolean existsByJobAndJobSeeker(Job job, User jobSeeker);
-}
+    Optional<Application> findByJobSeeker_IdAndIdempotencyKey(Long jobSeekerId, String idempotencyKey);
+
+    // Inserts the application in one round trip; returns null instead of failing when the
+    // job seeker already applied to the job (uq_applications_job_job_seeker) or already used
+    // the idempotency key (uq_applications_job_seeker_idempotency_key)
+    @Transactional
+    @Query(value = "INSERT INTO applications " +
+            "(job_id, job_seeker_id, resume_path, cover_letter, status, idempotency_key, applied_at, updated_at) " +
+            "VALUES (:jobId, :jobSeekerId, :resumePath, :coverLetter, 'SUBMITTED', :idempotencyKey, :appliedAt, :appliedAt) " +
+            "ON CONFLICT DO NOTHING " +
+            "RETURNING id",
+            nativeQuery = true)
+    Long insertIfAbsent(
+            @Param("jobId") Long jobId,
+            @Param("jobSeekerId") Long jobSeekerId,
+            @Param("resumePath") String resumePath,
+            @Param("coverLetter") String coverLetter,
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("appliedAt") LocalDateTime appliedAt);
+
+    // Resumes of a job's applicants in application order, for the ZIP export
+    @Query("SELECT new com.jobSpher.jobSpher.dto.ResumeExportEntry(a.id, s.firstName, s.lastName, a.resumePath) " +
+            "FROM Application a JOIN a.jobSeeker s " +
+            "WHERE a.job.id = :jobId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.appliedAt, a.id")
+    List<ResumeExportEntry> findResumeEntries(
+            @Param("jobId") Long jobId,
+            @Param("status") Application.ApplicationStatus status);
+
+    // Applicant list for one job in a single query, newest first.
+    // When beforeAppliedAt/beforeId are set, returns rows after that keyset cursor.
+    @Query("SELECT new com.jobSpher.jobSpher.dto.ApplicantSummary(" +
+            "a.id, s.id, s.firstName, s.lastName, s.email, a.status, a.appliedAt, a.resumePath, " +
+            "a.coverLetter, a.employerNotes) " +
+            "FROM Application a JOIN a.jobSeeker s " +
+            "WHERE a.job.id = :jobId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND (:beforeAppliedAt IS NULL OR a.appliedAt < :beforeAppliedAt " +
+            "     OR (a.appliedAt = :beforeAppliedAt AND a.id < :beforeId)) " +
+            "ORDER BY a.appliedAt DESC, a.id DESC")
+    List<ApplicantSummary> findApplicantSummaries(
+            @Param("jobId") Long jobId,
+            @Param("status") Application.ApplicationStatus status,
+            @Param("beforeAppliedAt") LocalDateTime beforeAppliedAt,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
+    // Same as findApplicantSummaries, restricted to applications whose indexed resume
+    // contains every one of the given terms (termCount = number of distinct terms)
+    @Query("SELECT new com.jobSpher.jobSpher.dto.ApplicantSummary(" +
+            "a.id, s.id, s.firstName, s.lastName, s.email, a.status, a.appliedAt, a.resumePath, " +
+            "a.coverLetter, a.employerNotes) " +
+            "FROM Application a JOIN a.jobSeeker s " +
+            "WHERE a.job.id = :jobId " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND (:beforeAppliedAt IS NULL OR a.appliedAt < :beforeAppliedAt " +
+            "     OR (a.appliedAt = :beforeAppliedAt AND a.id < :beforeId)) " +
+            "AND a.id IN (SELECT t.applicationId FROM ApplicationTerm t " +
+            "             WHERE t.jobId = :jobId AND t.term IN :terms " +
+            "             GROUP BY t.applicationId HAVING COUNT(t.term) = :termCount) " +
+            "ORDER BY a.appliedAt DESC, a.id DESC")
+    List<ApplicantSummary> findApplicantSummariesMatching(
+            @Param("jobId") Long jobId,
+            @Param("status") Application.ApplicationStatus status,
+            @Param("beforeAppliedAt") LocalDateTime beforeAppliedAt,
+            @Param("beforeId") Long beforeId,
+            @Param("terms") Collection<String> terms,
+            @Param("termCount") long termCount,
+            Pageable pageable);
 
+    @Query("SELECT a.resumePath FROM Application a WHERE a.id = :id")
+    Optional<String> findResumePathById(@Param("id") Long id);
+
+    // Job seekers who applied to the job, e.g. the only candidates an employer may be shown
+    @Query("SELECT DISTINCT a.jobSeeker.id FROM Application a WHERE a.job.id = :jobId")
+    List<Long> findJobSeekerIdsByJobId(@Param("jobId") Long jobId);
+
+    // Locks the application before its current status is read, so concurrent status changes serialize
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Application a WHERE a.id = :id")
+    Optional<Application> findByIdForUpdate(@Param("id") Long id);
+
+    // Row locks taken in id order before a bulk status change reads the current statuses
+    @Query(value = "SELECT id FROM applications WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIds(@Param("ids") List<Long> ids);
+
+    // Applications among the given IDs that belong to jobs of the employer's company
+    @Query("SELECT new com.jobSpher.jobSpher.dto.ApplicationStatusRow(a.id, a.jobSeeker.id, j.id, j.title, a.status) " +
+            "FROM Application a JOIN a.job j JOIN j.company c " +
+            "WHERE a.id IN :ids AND c.employer.id = :employerId")
+    List<ApplicationStatusRow> findStatusRowsOwnedBy(@Param("ids") List<Long> ids, @Param("employerId") Long employerId);
+
+    // Moves the applications from :expected to :status; rows changed by someone else since they
+    // were read no longer match and are skipped, so the returned count tells the caller what really changed
+    @Modifying
+    @Query("UPDATE Application a SET a.status = :status, a.employerNotes = :employerNotes, a.updatedAt = :updatedAt " +
+            "WHERE a.id IN :ids AND a.status = :expected")
+    int updateStatusByIds(
+            @Param("ids") List<Long> ids,
+            @Param("expected") Application.ApplicationStatus expected,
+            @Param("status") Application.ApplicationStatus status,
+            @Param("employerNotes") String employerNotes,
+            @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,17 @@
+package com.jobSpher.jobSpher.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.jobSpher.jobSpher.model.ApplicationTerm;
+
+@Repository
+public interface ApplicationTermRepository extends JpaRepository<ApplicationTerm, ApplicationTerm.Key> {
+
+    @Modifying
+    @Query("DELETE FROM ApplicationTerm t WHERE t.applicationId = :applicationId")
+    int deleteByApplicationId(@Param("applicationId") Long applicationId);
+}
@@ -0,0 +1,32 @@
+package com.jobSpher.jobSpher.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.jobSpher.jobSpher.model.JobApplicationStats;
+
+@Repository
+public interface JobApplicationStatsRepository extends JpaRepository<JobApplicationStats, Long> {
+
+    // Atomic upsert: concurrent writers add their deltas to the same row without read-modify-write
+    @Modifying
+    @Query(value = "INSERT INTO job_application_stats " +
+            "(job_id, submitted_count, shortlisted_count, rejected_count, hired_count, updated_at) " +
+            "VALUES (:jobId, :submitted, :shortlisted, :rejected, :hired, now()) " +
+            "ON CONFLICT (job_id) DO UPDATE SET " +
+            "submitted_count = job_application_stats.submitted_count + EXCLUDED.submitted_count, " +
+            "shortlisted_count = job_application_stats.shortlisted_count + EXCLUDED.shortlisted_count, " +
+            "rejected_count = job_application_stats.rejected_count + EXCLUDED.rejected_count, " +
+            "hired_count = job_application_stats.hired_count + EXCLUDED.hired_count, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int applyDelta(
+            @Param("jobId") Long jobId,
+            @Param("submitted") long submitted,
+            @Param("shortlisted") long shortlisted,
+            @Param("rejected") long rejected,
+            @Param("hired") long hired);
+}
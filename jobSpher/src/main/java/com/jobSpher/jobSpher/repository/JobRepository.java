@@ -1,15 +1,18 @@
 package com.jobSpher.jobSpher.repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.jobSpher.jobSpher.model.Company;
 import com.jobSpher.jobSpher.model.Job;
@@ -18,17 +21,46 @@ import com.jobSpher.jobSpher.model.Job;
 public interface JobRepository extends JpaRepository<Job, Long> {
     List<Job> findByCompany(Company company);
 
+    // Ownership check without loading the job, company or employer
+    boolean existsByIdAndCompany_Employer_Id(Long id, Long employerId);
+
     @EntityGraph(attributePaths = { "company", "approvedBy" })
     Page<Job> findByStatus(Job.JobStatus status, Pageable pageable);
 
-    // Custom query to fetch pending jobs with all relationships including nested
-    // company.employer
-    @Query("SELECT DISTINCT j FROM Job j " +
-            "LEFT JOIN FETCH j.company c " +
-            "LEFT JOIN FETCH j.approvedBy " +
-            "LEFT JOIN FETCH c.employer " +
-            "WHERE j.status = :status")
-    List<Job> findPendingJobsWithRelations(@Param("status") Job.JobStatus status);
+    // Claims up to :limit unclaimed (or lease-expired) pending jobs, oldest first. Rows locked by
+    // another admin's concurrent claim are skipped instead of waited on.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE jobs SET review_claimed_by = :adminId, review_claimed_until = :until " +
+            "WHERE id IN (SELECT id FROM jobs WHERE status = 'PENDING_APPROVAL' " +
+            "AND (review_claimed_until IS NULL OR review_claimed_until <= :now) " +
+            "ORDER BY created_at, id LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int claimForReview(@Param("adminId") Long adminId, @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until, @Param("limit") int limit);
+
+    // Extends the lease on the pending jobs an admin still holds
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.reviewClaimedUntil = :until WHERE j.reviewClaimedBy = :adminId " +
+            "AND j.status = com.jobSpher.jobSpher.model.Job.JobStatus.PENDING_APPROVAL AND j.reviewClaimedUntil > :now")
+    int renewReviewClaims(@Param("adminId") Long adminId, @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.reviewClaimedBy = NULL, j.reviewClaimedUntil = NULL WHERE j.reviewClaimedBy = :adminId " +
+            "AND j.status = com.jobSpher.jobSpher.model.Job.JobStatus.PENDING_APPROVAL")
+    int releaseReviewClaims(@Param("adminId") Long adminId);
+
+    // Read-only overview of pending jobs, oldest first; claiming them is a separate, explicit step
+    @EntityGraph(attributePaths = { "company", "company.employer", "approvedBy" })
+    Page<Job> findByStatusOrderByCreatedAtAscIdAsc(Job.JobStatus status, Pageable pageable);
+
+    // An admin's claimed jobs with everything the review screen shows, one page at a time
+    @EntityGraph(attributePaths = { "company", "company.employer", "approvedBy" })
+    List<Job> findByStatusAndReviewClaimedByAndReviewClaimedUntilAfterOrderByCreatedAtAscIdAsc(
+            Job.JobStatus status, Long adminId, LocalDateTime now, Pageable pageable);
 
     @EntityGraph(attributePaths = { "company", "approvedBy" })
     @Override
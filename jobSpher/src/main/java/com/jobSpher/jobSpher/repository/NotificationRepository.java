@@ -1,12 +1,19 @@
 package com.jobSpher.jobSpher.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
 import com.jobSpher.jobSpher.model.Notification;
 import com.jobSpher.jobSpher.model.User;
 
@@ -15,5 +22,23 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserOrderByCreatedAtDesc(User user);
     Page<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
     long countByUserAndReadFalse(User user);
+
+    // Unread aggregate a coalesced event can be merged into, locked against concurrent merges
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Notification> findFirstByUser_IdAndGroupKeyAndReadFalseOrderByCreatedAtDesc(Long userId, String groupKey);
+
+    // Conditional update so concurrent mark-as-read calls only decrement the unread counter once
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.read = false")
+    int markAsReadIfUnread(@Param("id") Long id);
+
+    // Bulk operations: one statement each, scoped to the owner so foreign IDs are ignored
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.id IN :ids AND n.read = false")
+    int markAsReadByIds(@Param("userId") Long userId, @Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false")
+    int markAllAsRead(@Param("userId") Long userId);
 }
 
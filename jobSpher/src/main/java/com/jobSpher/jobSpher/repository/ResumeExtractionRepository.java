@@ -0,0 +1,27 @@
+package com.jobSpher.jobSpher.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.jobSpher.jobSpher.model.ResumeExtraction;
+
+@Repository
+public interface ResumeExtractionRepository extends JpaRepository<ResumeExtraction, Long> {
+
+    // Plain insert: save() would first SELECT because the id is assigned
+    @Modifying
+    @Query(value = "INSERT INTO resume_extractions (application_id, job_id, status, attempts, updated_at) " +
+            "VALUES (:applicationId, :jobId, 'PENDING', 0, CURRENT_TIMESTAMP)",
+            nativeQuery = true)
+    int insertPending(@Param("applicationId") Long applicationId, @Param("jobId") Long jobId);
+
+    // Oldest extractions still waiting for an attempt
+    @Query("SELECT e.applicationId FROM ResumeExtraction e WHERE e.status = :status ORDER BY e.updatedAt")
+    List<Long> findIdsByStatus(@Param("status") ResumeExtraction.ExtractionStatus status, Pageable pageable);
+}
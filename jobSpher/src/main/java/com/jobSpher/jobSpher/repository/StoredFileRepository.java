@@ -0,0 +1,38 @@
+package com.jobSpher.jobSpher.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jobSpher.jobSpher.model.StoredFile;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // Registers one more reference to a blob, creating its row on first use
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO stored_files (path, sha256, size_bytes, ref_count, created_at, last_referenced_at) " +
+            "VALUES (:path, :sha256, :sizeBytes, 1, now(), now()) " +
+            "ON CONFLICT (path) DO UPDATE SET " +
+            "ref_count = stored_files.ref_count + 1, last_referenced_at = EXCLUDED.last_referenced_at",
+            nativeQuery = true)
+    int acquire(@Param("path") String path, @Param("sha256") String sha256, @Param("sizeBytes") long sizeBytes);
+
+    // Registers one more reference to a blob that is already stored, e.g. a profile resume reused by an application
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount + 1, f.lastReferencedAt = :now WHERE f.path = :path")
+    int retain(@Param("path") String path, @Param("now") LocalDateTime now);
+
+    // Drops one reference; the blob itself is left for garbage collection
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount - 1 WHERE f.path = :path AND f.refCount > 0")
+    int release(@Param("path") String path);
+}
@@ -0,0 +1,45 @@
+package com.jobSpher.jobSpher.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jobSpher.jobSpher.model.UploadSession;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    // Extends the contiguous received prefix; never moves it backwards
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET " +
+            "s.receivedBytes = CASE WHEN s.receivedBytes < :end THEN :end ELSE s.receivedBytes END, " +
+            "s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.status = com.jobSpher.jobSpher.model.UploadSession.UploadStatus.OPEN " +
+            "AND s.receivedBytes >= :start")
+    int advance(@Param("id") String id, @Param("start") long start, @Param("end") long end,
+            @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.status = :to, s.updatedAt = :now WHERE s.id = :id AND s.status = :from")
+    int transition(@Param("id") String id, @Param("from") UploadSession.UploadStatus from,
+            @Param("to") UploadSession.UploadStatus to, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.status = com.jobSpher.jobSpher.model.UploadSession.UploadStatus.COMPLETED, " +
+            "s.filePath = :filePath, s.updatedAt = :now WHERE s.id = :id")
+    int markCompleted(@Param("id") String id, @Param("filePath") String filePath, @Param("now") LocalDateTime now);
+
+    // Only the node holding the part files deletes a session, so no part file is left behind
+    @Query("SELECT s.id FROM UploadSession s WHERE s.expiresAt < :now AND (s.node = :node OR s.node IS NULL)")
+    List<String> findExpiredIds(@Param("now") LocalDateTime now, @Param("node") String node, Pageable pageable);
+}
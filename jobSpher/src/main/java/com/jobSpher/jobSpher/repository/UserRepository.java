@@ -3,6 +3,9 @@ package com.jobSpher.jobSpher.repository;
 import com.jobSpher.jobSpher.model.User;
 import com.jobSpher.jobSpher.model.User.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,5 +16,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     List<User> findByRole(Role role);
+
+    @Modifying
+    @Query("UPDATE User u SET u.unreadNotificationCount = u.unreadNotificationCount + :delta WHERE u.id = :userId")
+    int adjustUnreadNotificationCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Query("SELECT u.unreadNotificationCount FROM User u WHERE u.id = :userId")
+    Long findUnreadNotificationCountById(@Param("userId") Long userId);
 }
 
@@ -29,6 +29,11 @@ import jakarta.servlet.http.HttpServletResponse;
  * 3. Loads user details and sets Spring Security authentication context
  * 4. Allows the request to proceed through the filter chain
  * 
+ * The notification stream is opened with EventSource, which cannot send headers, so for
+ * that one path a short-lived stream token is also accepted in the "token" query parameter.
+ * Stream tokens are never accepted in the Authorization header, and login tokens are never
+ * accepted in the query string.
+ * 
  * If no token is present or token is invalid, the request proceeds without authentication,
  * and Spring Security will handle authorization based on the endpoint's security configuration.
  * 
@@ -44,6 +49,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    private static final String STREAM_PATH = "/api/users/notifications/stream";
+    
     /**
      * Filter method that processes each HTTP request to extract and validate JWT tokens
      * 
@@ -59,15 +66,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract Authorization header
         final String authHeader = request.getHeader("Authorization");
         
-        // If no Authorization header or doesn't start with "Bearer ", skip JWT processing
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        // The notification stream may carry a stream token in the query string instead
+        final String streamToken = STREAM_PATH.equals(request.getRequestURI()) ? request.getParameter("token") : null;
+        
+        // If no Authorization header or doesn't start with "Bearer ", and no stream token, skip JWT processing
+        if ((authHeader == null || !authHeader.startsWith("Bearer ")) && streamToken == null) {
             filterChain.doFilter(request, response);
             return;
         }
         
         try {
             // Extract JWT token (remove "Bearer " prefix)
-            final String jwt = authHeader.substring(7);
+            final boolean fromHeader = authHeader != null && authHeader.startsWith("Bearer ");
+            final String jwt = fromHeader ? authHeader.substring(7) : streamToken;
+            
+            // Each kind of token is only accepted where it belongs
+            final boolean isStreamToken = JwtService.STREAM_PURPOSE.equals(jwtService.extractPurpose(jwt));
+            if (isStreamToken == fromHeader) {
+                filterChain.doFilter(request, response);
+                return;
+            }
             
             // Extract username (email) from JWT token
             final String userEmail = jwtService.extractUsername(jwt);
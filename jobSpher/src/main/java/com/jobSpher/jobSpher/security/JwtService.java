@@ -42,6 +42,14 @@ public class JwtService {
     @Value("${jwt.expiration:86400000}") // 24 hours default
     private Long expiration;
     
+    // Lifetime of notification stream tokens in milliseconds (default: 1 minute)
+    @Value("${jwt.stream-token-expiration:60000}")
+    private Long streamTokenExpiration;
+    
+    // "purpose" claim of tokens that only open the notification stream
+    public static final String PURPOSE_CLAIM = "purpose";
+    public static final String STREAM_PURPOSE = "notification-stream";
+    
     /**
      * Get the signing key for JWT tokens
      * 
@@ -141,6 +149,42 @@ public class JwtService {
         return createToken(claims, userDetails.getUsername());
     }
     
+    /**
+     * Generate a short-lived token that only opens the notification stream
+     * 
+     * EventSource cannot send an Authorization header, so the stream is opened with this
+     * token in the query string instead. Because URLs end up in logs and browser history,
+     * the token expires quickly and is not accepted as a Bearer token anywhere else.
+     * 
+     * @param username Username (email) of the authenticated user
+     * @return JWT token string with purpose "notification-stream"
+     */
+    public String generateStreamToken(String username) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(PURPOSE_CLAIM, STREAM_PURPOSE);
+        return Jwts.builder()
+                .claims(claims)
+                .subject(username)
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + streamTokenExpiration))
+                .signWith(getSigningKey())
+                .compact();
+    }
+    
+    public long getStreamTokenExpiration() {
+        return streamTokenExpiration;
+    }
+    
+    /**
+     * Extract the purpose of a restricted token, e.g. "notification-stream"
+     * 
+     * @param token JWT token string
+     * @return Purpose claim, or null for regular login tokens
+     */
+    public String extractPurpose(String token) {
+        return extractClaim(token, claims -> claims.get(PURPOSE_CLAIM, String.class));
+    }
+    
     /**
      * Create JWT token
      * 
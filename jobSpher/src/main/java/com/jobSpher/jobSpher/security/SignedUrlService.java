@@ -0,0 +1,115 @@
+package com.jobSpher.jobSpher.security;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Signed URL Service
+ * 
+ * Issues and verifies short-lived signed download URLs for private files such as resumes.
+ * A signed URL carries "expires" (epoch seconds) and "signature", an HMAC-SHA256 over
+ * the file path and the expiry. The download endpoint is public, so the signature is
+ * what authorizes access to files in the private directories.
+ * 
+ * Expiry times are at least one TTL away, rounded up to a multiple of the TTL, so every
+ * URL issued for a file within the same window is identical and browsers can serve it
+ * from their cache. A URL therefore stays valid for between one and two TTLs.
+ * 
+ * @author JobSpher Team
+ * @version 1.0
+ */
+@Service
+public class SignedUrlService {
+    
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String DOWNLOAD_PATH = "/api/files/download/";
+    
+    @Value("${file.signed-urls.secret:${jwt.secret}}")
+    private String secret;
+    
+    @Value("${file.signed-urls.ttl-seconds:900}")
+    private long ttlSeconds;
+    
+    @Value("${file.private-directories:resumes}")
+    private Set<String> privateDirectories;
+    
+    /**
+     * Check whether a file may only be downloaded through a signed URL
+     * 
+     * @param filePath Relative file path (e.g., "resumes/filename.pdf")
+     * @return true if the file lives in a private directory
+     */
+    public boolean isPrivate(String filePath) {
+        String path = normalize(filePath);
+        int slash = path.indexOf('/');
+        return slash > 0 && privateDirectories.contains(path.substring(0, slash));
+    }
+    
+    /**
+     * Build a signed download URL for a file, relative to the server root
+     * 
+     * @param filePath Relative file path (e.g., "resumes/filename.pdf")
+     * @return URL such as /api/files/download/resumes/x.pdf?expires=...&signature=...
+     */
+    public String sign(String filePath) {
+        String path = normalize(filePath);
+        long now = Instant.now().getEpochSecond();
+        long expires = (now / ttlSeconds + 2) * ttlSeconds;
+        String encodedPath = Arrays.stream(path.split("/"))
+                .map(segment -> URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20"))
+                .collect(Collectors.joining("/"));
+        return DOWNLOAD_PATH + encodedPath + "?expires=" + expires + "&signature=" + signature(path, expires);
+    }
+    
+    /**
+     * Verify a signed URL's parameters
+     * 
+     * @param filePath Relative file path of the request
+     * @param expires Expiry in epoch seconds, may be null
+     * @param signature Signature from the URL, may be null
+     * @return true if the signature matches and has not expired
+     */
+    public boolean verify(String filePath, Long expires, String signature) {
+        if (expires == null || signature == null || expires < Instant.now().getEpochSecond()) {
+            return false;
+        }
+        byte[] expected = signature(normalize(filePath), expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    /**
+     * Seconds until a signed URL expires, for its Cache-Control max-age
+     */
+    public long secondsUntil(long expires) {
+        return Math.max(0, expires - Instant.now().getEpochSecond());
+    }
+    
+    private String signature(String path, long expires) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            byte[] digest = mac.doFinal((path + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Cannot sign URL", e);
+        }
+    }
+    
+    private static String normalize(String filePath) {
+        return filePath.replaceFirst("^/+", "");
+    }
+}
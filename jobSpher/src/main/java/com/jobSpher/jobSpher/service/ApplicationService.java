@@ -1,17 +1,34 @@
 package com.jobSpher.jobSpher.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.jobSpher.jobSpher.dto.ApplicantPageResponse;
+import com.jobSpher.jobSpher.dto.ApplicantSummary;
 import com.jobSpher.jobSpher.dto.ApplicationRequest;
+import com.jobSpher.jobSpher.dto.ApplicationStatusRow;
 import com.jobSpher.jobSpher.dto.ApplicationStatusUpdateRequest;
+import com.jobSpher.jobSpher.dto.BulkApplicationStatusUpdateRequest;
+import com.jobSpher.jobSpher.dto.ResumeExportEntry;
+import com.jobSpher.jobSpher.exception.IdempotencyKeyReusedException;
 import com.jobSpher.jobSpher.model.Application;
 import com.jobSpher.jobSpher.model.Job;
+import com.jobSpher.jobSpher.model.Notification;
 import com.jobSpher.jobSpher.model.User;
 import com.jobSpher.jobSpher.repository.ApplicationRepository;
+import com.jobSpher.jobSpher.repository.UserRepository;
+import com.jobSpher.jobSpher.security.SignedUrlService;
+import com.jobSpher.jobSpher.util.TextTokenizer;
 
 /**
  * Service for job application management
@@ -22,12 +39,38 @@ public class ApplicationService {
     @Autowired
     private ApplicationRepository applicationRepository;
     
+    @Autowired
+    private UserRepository userRepository;
+    
     @Autowired
     private JobService jobService;
     
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private NotificationCoalescer notificationCoalescer;
+    
+    @Autowired
+    private JobApplicationStatsService jobApplicationStatsService;
+    
+    @Autowired
+    private ResumeIndexService resumeIndexService;
+    
+    @Autowired
+    private SimilarJobsService similarJobsService;
+    
+    @Autowired
+    private SignedUrlService signedUrlService;
+    
+    /**
+     * Submits an application with a single INSERT ... ON CONFLICT DO NOTHING.
+     * 
+     * The unique (job_id, job_seeker_id) constraint decides between concurrent submissions.
+     * When the insert loses and the request carries the same idempotency key as the
+     * existing application, that application is returned instead of an error. A key the job
+     * seeker already used for a different job is rejected with IdempotencyKeyReusedException.
+     */
     @Transactional
     public Application createApplication(User jobSeeker, ApplicationRequest request, String resumePath) {
         Job job = jobService.getJobById(request.getJobId());
@@ -36,37 +79,128 @@ public class ApplicationService {
             throw new RuntimeException("Cannot apply to a job that is not approved");
         }
         
-        if (applicationRepository.existsByJobAndJobSeeker(job, jobSeeker)) {
-            throw new RuntimeException("You have already applied to this job");
-        }
+        LocalDateTime appliedAt = LocalDateTime.now();
+        Long applicationId = applicationRepository.insertIfAbsent(job.getId(), jobSeeker.getId(), resumePath,
+                request.getCoverLetter(), request.getIdempotencyKey(), appliedAt);
         
-        Application application = new Application();
-        application.setJob(job);
-        application.setJobSeeker(jobSeeker);
-        application.setResumePath(resumePath);
-        application.setCoverLetter(request.getCoverLetter());
-        application.setStatus(Application.ApplicationStatus.SUBMITTED);
+        if (applicationId == null) {
+            Application existing = findByIdempotencyKey(jobSeeker, job.getId(), request.getIdempotencyKey())
+                    .orElseThrow(() -> new RuntimeException("You have already applied to this job"));
+            existing.setReplayed(true);
+            return existing;
+        }
         
-        Application savedApplication = applicationRepository.save(application);
+        Application savedApplication = new Application();
+        savedApplication.setId(applicationId);
+        savedApplication.setJob(job);
+        savedApplication.setJobSeeker(jobSeeker);
+        savedApplication.setResumePath(resumePath);
+        savedApplication.setCoverLetter(request.getCoverLetter());
+        savedApplication.setStatus(Application.ApplicationStatus.SUBMITTED);
+        savedApplication.setIdempotencyKey(request.getIdempotencyKey());
+        savedApplication.setAppliedAt(appliedAt);
+        savedApplication.setUpdatedAt(appliedAt);
+        jobApplicationStatsService.recordSubmitted(job.getId());
+        resumeIndexService.schedule(applicationId, job.getId());
+        similarJobsService.recordApplication(jobSeeker.getId(), job.getId());
         
-        // Notify employer
-        notificationService.createNotification(
-            job.getCompany().getEmployer(),
+        // Notify employer; bursts of applications to one job are merged into a single notification
+        notificationCoalescer.submit(
+            job.getCompany().getEmployer().getId(),
+            "NEW_APPLICATION",
+            "job:" + job.getId(),
             "New Application",
             jobSeeker.getFirstName() + " " + jobSeeker.getLastName() + " applied to '" + job.getTitle() + "'",
-            "NEW_APPLICATION",
-            "/applications/" + savedApplication.getId()
+            "/applications/" + savedApplication.getId(),
+            "%d new applications for '" + job.getTitle().replace("%", "%%") + "'",
+            "/employer"
         );
         
         return savedApplication;
     }
     
+    /**
+     * Finds the application a job seeker created for the job with the given idempotency key, if any
+     * 
+     * @throws IdempotencyKeyReusedException if the key was used for an application to another job
+     */
+    @Transactional(readOnly = true)
+    public Optional<Application> findByIdempotencyKey(User jobSeeker, Long jobId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        Optional<Application> existing = applicationRepository.findByJobSeeker_IdAndIdempotencyKey(jobSeeker.getId(),
+                idempotencyKey);
+        if (existing.isPresent() && !existing.get().getJob().getId().equals(jobId)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        return existing;
+    }
+    
     public List<Application> getApplicationsByJobSeeker(User jobSeeker) {
         return applicationRepository.findByJobSeeker(jobSeeker);
     }
     
-    public List<Application> getApplicationsByJob(Job job) {
-        return applicationRepository.findByJob(job);
+    /**
+     * Returns one page of applicants for a job as projections, newest first.
+     * Uses keyset pagination: the cursor is "appliedAt_id" of the last row of the previous page.
+     * When query is given, only applicants whose indexed resume contains all of its terms are returned.
+     * Each row carries a signed resume URL, since resumes can't be downloaded without one.
+     */
+    @Transactional(readOnly = true)
+    public ApplicantPageResponse getApplicantsByJob(Long jobId, User employer, Application.ApplicationStatus status,
+            String query, String cursor, int size) {
+        if (!jobService.isJobOwnedBy(jobId, employer)) {
+            throw new RuntimeException("Unauthorized");
+        }
+        
+        LocalDateTime beforeAppliedAt = null;
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf('_');
+            try {
+                beforeAppliedAt = LocalDateTime.parse(cursor.substring(0, separator));
+                beforeId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        
+        // Fetch one extra row to know whether another page exists
+        Set<String> terms = TextTokenizer.terms(query);
+        if (terms.size() > 10) {
+            throw new RuntimeException("Search is limited to 10 keywords");
+        }
+        List<ApplicantSummary> rows = terms.isEmpty()
+                ? applicationRepository.findApplicantSummaries(
+                        jobId, status, beforeAppliedAt, beforeId, PageRequest.of(0, size + 1))
+                : applicationRepository.findApplicantSummariesMatching(
+                        jobId, status, beforeAppliedAt, beforeId, terms, terms.size(), PageRequest.of(0, size + 1));
+        boolean hasNext = rows.size() > size;
+        List<ApplicantSummary> content = hasNext ? rows.subList(0, size) : rows;
+        content.forEach(row -> {
+            if (row.getResumePath() != null) {
+                row.setResumeUrl(signedUrlService.sign(row.getResumePath()));
+            }
+        });
+        
+        String nextCursor = null;
+        if (hasNext) {
+            ApplicantSummary last = content.get(content.size() - 1);
+            nextCursor = last.getAppliedAt() + "_" + last.getId();
+        }
+        return new ApplicantPageResponse(content, content.size(), hasNext, nextCursor);
+    }
+    
+    /**
+     * Lists the resumes to export for a job, optionally only for applications in one status
+     */
+    @Transactional(readOnly = true)
+    public List<ResumeExportEntry> getResumeEntries(Long jobId, User employer, Application.ApplicationStatus status) {
+        if (!jobService.isJobOwnedBy(jobId, employer)) {
+            throw new RuntimeException("Unauthorized");
+        }
+        return applicationRepository.findResumeEntries(jobId, status);
     }
     
     public Application getApplicationById(Long id) {
@@ -76,17 +210,21 @@ public class ApplicationService {
     
     @Transactional
     public Application updateApplicationStatus(Long applicationId, User employer, ApplicationStatusUpdateRequest request) {
-        Application application = getApplicationById(applicationId);
+        // Locked, so the previous status the counters are moved from can't change under us
+        Application application = applicationRepository.findByIdForUpdate(applicationId)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
         
         // Verify employer owns the job
         if (!application.getJob().getCompany().getEmployer().getId().equals(employer.getId())) {
             throw new RuntimeException("Unauthorized");
         }
         
+        Application.ApplicationStatus previousStatus = application.getStatus();
         application.setStatus(request.getStatus());
         application.setEmployerNotes(request.getEmployerNotes());
         
         Application savedApplication = applicationRepository.save(application);
+        jobApplicationStatsService.recordStatusChange(application.getJob().getId(), previousStatus, request.getStatus());
         
         // Notify job seeker
         String statusMessage = getStatusMessage(request.getStatus());
@@ -101,6 +239,66 @@ public class ApplicationService {
         return savedApplication;
     }
     
+    /**
+     * Changes the status of many applications at once.
+     * 
+     * Ownership is verified with one query, the change is applied with one UPDATE and the
+     * job seekers are notified through one batched insert. Applications already in the
+     * target status are left untouched and not notified.
+     * 
+     * @return number of applications whose status changed
+     */
+    @Transactional
+    public int updateApplicationStatuses(User employer, BulkApplicationStatusUpdateRequest request) {
+        List<Long> ids = request.getApplicationIds().stream().distinct().collect(Collectors.toList());
+        // Lock first, then read: the statuses read are the ones the counters are moved from
+        applicationRepository.lockByIds(ids);
+        List<ApplicationStatusRow> rows = applicationRepository.findStatusRowsOwnedBy(ids, employer.getId());
+        
+        // Every requested application must exist and belong to this employer
+        if (rows.size() != ids.size()) {
+            throw new RuntimeException("Unauthorized");
+        }
+        
+        List<ApplicationStatusRow> changed = rows.stream()
+                .filter(row -> row.getStatus() != request.getStatus())
+                .collect(Collectors.toList());
+        if (changed.isEmpty()) {
+            return 0;
+        }
+        
+        // One conditional UPDATE per previous status; each must change exactly the rows read,
+        // otherwise a concurrent change got in between and the counter deltas would be wrong
+        LocalDateTime now = LocalDateTime.now();
+        Map<Application.ApplicationStatus, List<Long>> idsByStatus = changed.stream()
+                .collect(Collectors.groupingBy(ApplicationStatusRow::getStatus,
+                        Collectors.mapping(ApplicationStatusRow::getId, Collectors.toList())));
+        for (Map.Entry<Application.ApplicationStatus, List<Long>> group : idsByStatus.entrySet()) {
+            int updated = applicationRepository.updateStatusByIds(group.getValue(), group.getKey(),
+                    request.getStatus(), request.getEmployerNotes(), now);
+            if (updated != group.getValue().size()) {
+                throw new RuntimeException("Applications were modified concurrently, please retry");
+            }
+        }
+        jobApplicationStatsService.recordStatusChanges(changed, request.getStatus());
+        
+        // Notify job seekers
+        String statusMessage = getStatusMessage(request.getStatus()).toLowerCase();
+        List<Notification> notifications = new ArrayList<>(changed.size());
+        for (ApplicationStatusRow row : changed) {
+            Notification notification = new Notification();
+            notification.setUser(userRepository.getReferenceById(row.getJobSeekerId()));
+            notification.setTitle("Application Status Updated");
+            notification.setMessage("Your application for '" + row.getJobTitle() + "' has been " + statusMessage);
+            notification.setType("APPLICATION_STATUS_UPDATED");
+            notification.setLink("/applications/" + row.getId());
+            notifications.add(notification);
+        }
+        notificationService.createNotifications(notifications);
+        
+        return changed.size();
+    }
+    
     private String getStatusMessage(Application.ApplicationStatus status) {
         return switch (status) {
             case SHORTLISTED -> "Shortlisted";
@@ -0,0 +1,303 @@
+package com.jobSpher.jobSpher.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.jobSpher.jobSpher.dto.UploadSessionRequest;
+import com.jobSpher.jobSpher.exception.MisdirectedUploadException;
+import com.jobSpher.jobSpher.model.UploadSession;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.UploadSessionRepository;
+import com.jobSpher.jobSpher.storage.UploadType;
+import com.jobSpher.jobSpher.util.ContentTypeSniffer;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Resumable chunked uploads
+ *
+ * A client opens a session with the file's type, name and size, PUTs the bytes in chunks
+ * at explicit offsets and completes the session. Each chunk is streamed from the request
+ * into the session's part file with positional FileChannel writes and forced to disk
+ * before the session's received offset is advanced, so after a lost connection the
+ * client asks for the offset and continues from there instead of starting over. Chunks
+ * may be re-sent (overlapping the received prefix) but not skip ahead of it.
+ *
+ * Part files are node-local while sessions live in the database, so every session records
+ * the node that opened it (uploads.chunked.node-id, the host name by default), and chunks
+ * or completions that reach another node are rejected with MisdirectedUploadException.
+ * With several nodes, the load balancer must route all requests of an upload to the same
+ * node, e.g. by a sticky session cookie.
+ *
+ * On completion the part file's real type is sniffed from its first bytes, since the
+ * content type declared when the session was opened is only the client's claim, and the
+ * part file is handed to FileStorageService like any other upload of that type. Sessions that are not completed before they expire are deleted together
+ * with their part file.
+ *
+ * A completed upload is used by passing its id to the endpoint that needs the file
+ * (an application, a payment proof, a resume or a logo), which claims it: only the owner
+ * can claim a session, only once, and only for a type its content is allowed for.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final String PARTS_DIRECTORY = ".uploads";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Value("${uploads.chunked.max-file-size:10MB}")
+    private DataSize maxFileSize;
+
+    @Value("${uploads.chunked.max-chunk-size:5MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${uploads.chunked.session-ttl-hours:24}")
+    private long sessionTtlHours;
+
+    @Value("${uploads.chunked.node-id:}")
+    private String nodeId;
+
+    @PostConstruct
+    public void resolveNodeId() throws UnknownHostException {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = InetAddress.getLocalHost().getHostName();
+        }
+    }
+
+    public UploadSession createSession(User owner, UploadSessionRequest request) throws IOException {
+        UploadType type = UploadType.fromName(request.getType());
+        if (!type.isAllowed(request.getContentType())) {
+            throw new RuntimeException("Invalid file type for " + request.getType());
+        }
+        if (request.getSize() > maxFileSize.toBytes()) {
+            throw new RuntimeException("File size exceeds " + maxFileSize.toMegabytes() + "MB limit");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), owner.getId(), type,
+                request.getFilename(), request.getContentType(), request.getSize(), 0L,
+                UploadSession.UploadStatus.OPEN, null, nodeId, now, now, now.plusHours(sessionTtlHours));
+        session = uploadSessionRepository.save(session);
+        Path part = partFile(session.getId());
+        Files.createDirectories(part.getParent());
+        Files.createFile(part);
+        return session;
+    }
+
+    public UploadSession getSession(String id, User owner) {
+        UploadSession session = uploadSessionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Upload not found"));
+        if (!session.getOwnerId().equals(owner.getId())) {
+            throw new RuntimeException("Unauthorized");
+        }
+        return session;
+    }
+
+    /**
+     * Writes one chunk at the given offset
+     *
+     * @return the session's received offset after this chunk
+     */
+    public long writeChunk(String id, User owner, long offset, long length, InputStream body) throws IOException {
+        UploadSession session = getOpenSession(id, owner);
+        checkNode(session);
+        if (offset < 0 || offset > session.getReceivedBytes()) {
+            throw new RuntimeException("Chunk offset must not exceed the received offset " + session.getReceivedBytes());
+        }
+        if (length <= 0 || length > maxChunkSize.toBytes()) {
+            throw new RuntimeException("Chunk size must be between 1 byte and " + maxChunkSize.toMegabytes() + "MB");
+        }
+        if (offset + length > session.getTotalBytes()) {
+            throw new RuntimeException("Chunk exceeds the declared file size");
+        }
+
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(partFile(id), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] array = buffer.array();
+            while (written < length) {
+                int read = body.read(array, 0, (int) Math.min(array.length, length - written));
+                if (read == -1) {
+                    break;
+                }
+                buffer.clear().limit(read);
+                long position = offset + written;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                written += read;
+            }
+            channel.force(false);
+        }
+        if (written < length) {
+            // Keep the part that did arrive; the client resumes from the new offset
+            log.debug("Upload {} chunk at {} truncated: {} of {} bytes", id, offset, written, length);
+        }
+
+        if (written > 0) {
+            uploadSessionRepository.advance(id, offset, offset + written, LocalDateTime.now());
+        }
+        return uploadSessionRepository.findById(id).map(UploadSession::getReceivedBytes).orElse(offset + written);
+    }
+
+    /**
+     * Stores the assembled file; completing an already completed session returns its file path again
+     */
+    public String complete(String id, User owner) throws IOException {
+        UploadSession session = getSession(id, owner);
+        if (session.getStatus() == UploadSession.UploadStatus.COMPLETED
+                || session.getStatus() == UploadSession.UploadStatus.CLAIMED) {
+            return session.getFilePath();
+        }
+        checkNode(session);
+        if (session.getReceivedBytes() < session.getTotalBytes()) {
+            throw new RuntimeException("Upload incomplete: " + session.getReceivedBytes() + " of "
+                    + session.getTotalBytes() + " bytes received");
+        }
+        if (uploadSessionRepository.transition(id, UploadSession.UploadStatus.OPEN,
+                UploadSession.UploadStatus.COMPLETING, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Upload is already being completed");
+        }
+
+        Path part = partFile(id);
+        String filePath;
+        try {
+            if (!session.getUploadType().isAllowed(sniff(part, session.getFilename()))) {
+                throw new RuntimeException("Invalid file type for " + session.getUploadType().name().toLowerCase());
+            }
+            filePath = fileStorageService.storeFile(part, session.getFilename(),
+                    session.getUploadType().getSubdirectory());
+        } catch (IOException | RuntimeException e) {
+            uploadSessionRepository.transition(id, UploadSession.UploadStatus.COMPLETING,
+                    UploadSession.UploadStatus.OPEN, LocalDateTime.now());
+            throw e;
+        }
+        Files.deleteIfExists(part);
+        uploadSessionRepository.markCompleted(id, filePath, LocalDateTime.now());
+        return filePath;
+    }
+
+    /**
+     * Takes the stored file of a completed upload for use as the given type. The file's
+     * reference, registered when the upload was completed, passes to the caller's row.
+     *
+     * @return the stored file path
+     * @throws RuntimeException if the session isn't the owner's, isn't completed, has expired,
+     *         was already claimed, or its content isn't allowed for the type
+     */
+    public String claim(String id, User owner, UploadType type) throws IOException {
+        UploadSession session = getSession(id, owner);
+        if (session.getStatus() == UploadSession.UploadStatus.CLAIMED) {
+            throw new RuntimeException("Upload has already been used");
+        }
+        if (session.getStatus() != UploadSession.UploadStatus.COMPLETED) {
+            throw new RuntimeException("Upload is not completed");
+        }
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Upload has expired");
+        }
+
+        // Same check as a file part of a multipart request, on the stored bytes rather than the session's type
+        byte[] header;
+        try (InputStream input = fileStorageService.openRange(session.getFilePath(), 0,
+                ContentTypeSniffer.HEADER_LENGTH - 1)) {
+            header = input.readNBytes(ContentTypeSniffer.HEADER_LENGTH);
+        }
+        if (!type.isAllowed(ContentTypeSniffer.sniff(header, header.length, session.getFilename()))) {
+            throw new RuntimeException("Invalid file type for " + type.name().toLowerCase());
+        }
+
+        if (uploadSessionRepository.transition(id, UploadSession.UploadStatus.COMPLETED,
+                UploadSession.UploadStatus.CLAIMED, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Upload has already been used");
+        }
+        return session.getFilePath();
+    }
+
+    /**
+     * Returns a claimed upload when the request that claimed it fails, so it can be used again
+     */
+    public void unclaimQuietly(String id) {
+        try {
+            uploadSessionRepository.transition(id, UploadSession.UploadStatus.CLAIMED,
+                    UploadSession.UploadStatus.COMPLETED, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Failed to release claimed upload {}: {}", id, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${uploads.chunked.cleanup-ms:3600000}")
+    public void deleteExpiredSessions() {
+        List<String> expired = uploadSessionRepository.findExpiredIds(LocalDateTime.now(), nodeId, PageRequest.of(0, 500));
+        for (String id : expired) {
+            try {
+                Files.deleteIfExists(partFile(id));
+                uploadSessionRepository.deleteById(id);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to delete expired upload {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    private UploadSession getOpenSession(String id, User owner) {
+        UploadSession session = getSession(id, owner);
+        if (session.getStatus() != UploadSession.UploadStatus.OPEN) {
+            throw new RuntimeException("Upload is already completed");
+        }
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Upload has expired");
+        }
+        return session;
+    }
+
+    // The part file only exists on the node that opened the session
+    private void checkNode(UploadSession session) {
+        if (session.getNode() != null && !session.getNode().equals(nodeId)) {
+            throw new MisdirectedUploadException(session.getNode());
+        }
+    }
+
+    private String sniff(Path part, String filename) throws IOException {
+        byte[] header = new byte[ContentTypeSniffer.HEADER_LENGTH];
+        int length;
+        try (InputStream input = Files.newInputStream(part)) {
+            length = input.readNBytes(header, 0, header.length);
+        }
+        return ContentTypeSniffer.sniff(header, length, filename);
+    }
+
+    private Path partFile(String id) {
+        // The id is always a server-generated UUID, so it is safe as a file name
+        return Paths.get(uploadDir, PARTS_DIRECTORY, UUID.fromString(id) + ".part");
+    }
+}
@@ -18,6 +18,9 @@ public class CompanyService {
     @Autowired
     private CompanyRepository companyRepository;
     
+    @Autowired
+    private FileStorageService fileStorageService;
+    
     @Transactional
     public Company createCompany(User employer, CompanyRequest request) {
         if (companyRepository.existsByEmployer(employer)) {
@@ -55,6 +58,22 @@ public class CompanyService {
         return companyRepository.save(company);
     }
     
+    /**
+     * Points the employer's company at a newly stored logo and releases the reference held
+     * by the previous one, in the same transaction
+     */
+    @Transactional
+    public Company replaceLogo(User employer, String logoPath) {
+        Company company = getCompanyByEmployer(employer);
+        String previous = company.getLogoPath();
+        company.setLogoPath(logoPath);
+        company = companyRepository.save(company);
+        if (previous != null) {
+            fileStorageService.releaseFile(previous);
+        }
+        return company;
+    }
+    
     @Transactional
     public void setPaymentVerified(Long companyId, boolean verified) {
         Company company = companyRepository.findById(companyId)
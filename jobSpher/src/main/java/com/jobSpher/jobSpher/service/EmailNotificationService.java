@@ -0,0 +1,258 @@
+package com.jobSpher.jobSpher.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.jobSpher.jobSpher.event.NotificationCreatedEvent;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.UserRepository;
+import com.jobSpher.jobSpher.util.EmailTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Email channel for notifications
+ *
+ * Notifications of the configured types are copied to email once their transaction has
+ * committed. The listener only offers the event to a bounded queue and never blocks the
+ * request thread; when the queue is full the email is dropped (the in-app notification
+ * still exists). A single dispatcher thread drains the queue in batches, looks up the
+ * recipients for the whole batch in one query, renders precompiled templates and hands the
+ * batch to JavaMailSender, which sends it over one SMTP connection. Failed messages are
+ * retried with exponential backoff.
+ *
+ * Inactive unless notifications.email.enabled=true and spring.mail.host is configured.
+ */
+@Service
+public class EmailNotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailNotificationService.class);
+
+    private static final String TEMPLATE_LOCATION = "email-templates/";
+    private static final String DEFAULT_TEMPLATE = "default";
+
+    @Autowired
+    private ObjectProvider<JavaMailSender> mailSenderProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${notifications.email.enabled:false}")
+    private boolean enabled;
+
+    @Value("${notifications.email.types:APPLICATION_STATUS_UPDATED,JOB_APPROVED}")
+    private Set<String> emailTypes;
+
+    @Value("${notifications.email.from:no-reply@jobspher.com}")
+    private String from;
+
+    @Value("${notifications.email.app-url:http://localhost:3000}")
+    private String appUrl;
+
+    @Value("${notifications.email.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${notifications.email.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notifications.email.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${notifications.email.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
+    private JavaMailSender mailSender;
+    private BlockingQueue<PendingEmail> queue;
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+    private Thread dispatcher;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        mailSender = mailSenderProvider.getIfAvailable();
+        if (!enabled || mailSender == null) {
+            log.info("Email notifications disabled");
+            return;
+        }
+
+        templates.put(DEFAULT_TEMPLATE, loadTemplate(DEFAULT_TEMPLATE));
+        for (String type : emailTypes) {
+            ClassPathResource resource = new ClassPathResource(TEMPLATE_LOCATION + type + ".txt");
+            if (resource.exists()) {
+                templates.put(type, loadTemplate(type));
+            }
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "email-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (!running || !emailTypes.contains(event.getType())) {
+            return;
+        }
+        if (!queue.offer(new PendingEmail(event, 1))) {
+            log.warn("Email queue full, dropping {} email for user {}", event.getType(), event.getUserId());
+        }
+    }
+
+    private void dispatchLoop() {
+        List<PendingEmail> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingEmail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Email dispatch failed: {}", e.getMessage());
+                batch.forEach(this::scheduleRetry);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<PendingEmail> batch) {
+        Set<Long> userIds = new HashSet<>();
+        batch.forEach(email -> userIds.add(email.event.getUserId()));
+        Map<Long, User> recipients = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Identity keys: MailSendException reports failures by the original message instance
+        Map<SimpleMailMessage, PendingEmail> messages = new IdentityHashMap<>();
+        for (PendingEmail email : batch) {
+            User recipient = recipients.get(email.event.getUserId());
+            if (recipient == null || !Boolean.TRUE.equals(recipient.getEnabled())) {
+                continue;
+            }
+            messages.put(render(email.event, recipient), email);
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // Only the messages that failed are retried
+            e.getFailedMessages().keySet().forEach(failed -> {
+                PendingEmail email = messages.get(failed);
+                if (email != null) {
+                    scheduleRetry(email);
+                }
+            });
+        } catch (MailException e) {
+            log.warn("Email batch failed: {}", e.getMessage());
+            messages.values().forEach(this::scheduleRetry);
+        }
+    }
+
+    private SimpleMailMessage render(NotificationCreatedEvent event, User recipient) {
+        EmailTemplate template = templates.getOrDefault(event.getType(), templates.get(DEFAULT_TEMPLATE));
+
+        Map<String, String> values = new HashMap<>();
+        values.put("firstName", recipient.getFirstName());
+        values.put("title", event.getTitle());
+        values.put("message", event.getMessage());
+        values.put("link", event.getLink() != null ? event.getLink() : "");
+        values.put("appUrl", appUrl);
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(recipient.getEmail());
+        message.setSubject(template.renderSubject(values));
+        message.setText(template.renderBody(values));
+        return message;
+    }
+
+    private void scheduleRetry(PendingEmail email) {
+        if (email.attempt >= maxAttempts) {
+            log.error("Giving up on {} email for user {} after {} attempts",
+                    email.event.getType(), email.event.getUserId(), email.attempt);
+            return;
+        }
+        long delay = retryBackoffMs * (1L << (email.attempt - 1));
+        PendingEmail retry = new PendingEmail(email.event, email.attempt + 1);
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(retry)) {
+                log.warn("Email queue full, dropping retry for user {}", retry.event.getUserId());
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private EmailTemplate loadTemplate(String name) {
+        ClassPathResource resource = new ClassPathResource(TEMPLATE_LOCATION + name + ".txt");
+        try (InputStream input = resource.getInputStream()) {
+            return EmailTemplate.compile(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load email template " + name, e);
+        }
+    }
+
+    private static class PendingEmail {
+        private final NotificationCreatedEvent event;
+        private final int attempt;
+
+        PendingEmail(NotificationCreatedEvent event, int attempt) {
+            this.event = event;
+            this.attempt = attempt;
+        }
+    }
+}
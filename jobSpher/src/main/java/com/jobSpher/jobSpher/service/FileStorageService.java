@@ -1,62 +1,290 @@
 package com.jobSpher.jobSpher.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import java.io.FileNotFoundException;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+
+import com.jobSpher.jobSpher.repository.StoredFileRepository;
+import com.jobSpher.jobSpher.storage.StorageBackend;
+import com.jobSpher.jobSpher.storage.StorageResource;
+import com.jobSpher.jobSpher.storage.StoredObject;
 
 /**
  * Service for handling file uploads and storage
+ *
+ * With file.storage.deduplicate=true (the default) files are content addressed: the
+ * upload is hashed with SHA-256 while it is copied to a temp file, which is then moved
+ * atomically to a path derived from the hash, or discarded when that blob already
+ * exists. Each stored upload counts as one reference in stored_files. Otherwise every
+ * upload gets a fresh UUID name.
+ *
+ * New files are stored in a sharded layout (resumes/3c/7b/<name>) keyed on the first
+ * characters of their UUID or hash; lookups also accept the old flat paths.
+ *
+ * Bytes live in the configured StorageBackend (local disk or S3); the temp files used
+ * for hashing always stay on local disk under the upload directory. Thumbnails of
+ * images and PDFs are generated in the background by ThumbnailService.
  */
 @Service
 public class FileStorageService {
 
+    private static final String TEMP_DIRECTORY = ".tmp";
+    private static final int SHARD_PREFIX_LENGTH = 4;
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
+    @Value("${file.storage.deduplicate:true}")
+    private boolean deduplicate;
+
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
 
-    public String storeFile(MultipartFile file, String subdirectory) throws IOException {
-        if (file.isEmpty()) {
-            throw new RuntimeException("File is empty");
+    /**
+     * Stores a file read from a stream, typically a multipart part read straight off the
+     * request. The content is written exactly once, to a temp file under the upload
+     * directory, while it is hashed and counted; the size limit is enforced as the bytes
+     * arrive. The temp file is then moved into place (a rename for local storage).
+     */
+    public String storeStream(InputStream content, String originalFilename, String subdirectory) throws IOException {
+        if (originalFilename == null) {
+            throw new RuntimeException("File name is null");
+        }
+
+        String extension = getFileExtension(originalFilename);
+        Path tempDirectory = Paths.get(uploadDir, TEMP_DIRECTORY);
+        Files.createDirectories(tempDirectory);
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        try {
+            MessageDigest digest = deduplicate ? newSha256() : null;
+            long size = copyLimited(digest != null ? new DigestInputStream(content, digest) : content, temp);
+            if (size == 0) {
+                throw new RuntimeException("File is empty");
+            }
+
+            String key;
+            if (deduplicate) {
+                key = putContentAddressed(temp, HexFormat.of().formatHex(digest.digest()), size, subdirectory, extension);
+            } else {
+                key = shardedPath(subdirectory + "/" + UUID.randomUUID().toString() + extension);
+                storageBackend.put(key, temp);
+            }
+            thumbnailService.schedule(key);
+            return key;
+        } finally {
+            Files.deleteIfExists(temp);
         }
+    }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new RuntimeException("File size exceeds 10MB limit");
+    private long copyLimited(InputStream input, Path target) throws IOException {
+        long total = 0;
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (OutputStream output = Files.newOutputStream(target)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                total += read;
+                if (total > MAX_FILE_SIZE) {
+                    throw new RuntimeException("File size exceeds 10MB limit");
+                }
+                output.write(buffer, 0, read);
+            }
         }
+        return total;
+    }
 
-        String originalFilename = file.getOriginalFilename();
-        if (originalFilename == null) {
-            throw new RuntimeException("File name is null");
+    /**
+     * Stores a file already assembled on local disk, such as a completed chunked upload.
+     * The source may be moved into storage, so callers must not use it afterwards other
+     * than deleting it if it still exists.
+     */
+    public String storeFile(Path source, String originalFilename, String subdirectory) throws IOException {
+        long size = Files.size(source);
+        if (size == 0) {
+            throw new RuntimeException("File is empty");
         }
 
         String extension = getFileExtension(originalFilename);
-        String filename = UUID.randomUUID().toString() + extension;
+        String key;
+        if (deduplicate) {
+            MessageDigest digest = newSha256();
+            try (InputStream input = new DigestInputStream(Files.newInputStream(source), digest)) {
+                input.transferTo(OutputStream.nullOutputStream());
+            }
+            key = putContentAddressed(source, HexFormat.of().formatHex(digest.digest()), size, subdirectory, extension);
+        } else {
+            key = shardedPath(subdirectory + "/" + UUID.randomUUID().toString() + extension);
+            storageBackend.put(key, source);
+        }
+        thumbnailService.schedule(key);
+        return key;
+    }
+
+    private String putContentAddressed(Path file, String sha256, long size, String subdirectory, String extension)
+            throws IOException {
+        String key = shardedPath(subdirectory + "/" + sha256 + extension.toLowerCase(Locale.ROOT));
+        // Reference first: once counted, the garbage collector can no longer delete the blob under us
+        storedFileRepository.acquire(key, sha256, size);
+        try {
+            if (!storageBackend.exists(key)) {
+                // Same content under the same key, so a concurrent identical upload winning the race is harmless
+                storageBackend.put(key, file);
+            }
+        } catch (IOException | RuntimeException e) {
+            storedFileRepository.release(key);
+            throw e;
+        }
+        return key;
+    }
 
-        Path uploadPath = Paths.get(uploadDir, subdirectory);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+    /**
+     * Returns a stored file as a Resource; its content is streamed, never loaded into memory
+     */
+    public StorageResource loadAsResource(String filePath) throws IOException {
+        return new StorageResource(storageBackend, stat(filePath));
+    }
+
+    /**
+     * Size, modification time and actual key of a stored file, in either layout
+     */
+    public StoredObject stat(String filePath) throws IOException {
+        Optional<StoredObject> object = storageBackend.stat(filePath);
+        String alternate = alternatePath(filePath);
+        if (object.isEmpty() && alternate != null) {
+            object = storageBackend.stat(alternate);
+        }
+        return object.orElseThrow(() -> new FileNotFoundException("File not found: " + filePath));
+    }
+
+    /**
+     * Opens a stored file for reading, so callers can stream it without loading it into memory
+     */
+    public InputStream openStream(String filePath) throws IOException {
+        try {
+            return storageBackend.get(filePath);
+        } catch (FileNotFoundException e) {
+            String alternate = alternatePath(filePath);
+            if (alternate == null) {
+                throw e;
+            }
+            return storageBackend.get(alternate);
+        }
+    }
+
+    /**
+     * Opens bytes start..end (both inclusive) of a stored file
+     */
+    public InputStream openRange(String filePath, long start, long end) throws IOException {
+        try {
+            return storageBackend.getRange(filePath, start, end);
+        } catch (FileNotFoundException e) {
+            String alternate = alternatePath(filePath);
+            if (alternate == null) {
+                throw e;
+            }
+            return storageBackend.getRange(alternate, start, end);
+        }
+    }
+
+    /**
+     * Adds one reference to a file that is already stored, for a second row pointing at it
+     * (an application reusing the profile resume). UUID files have no reference count.
+     */
+    public void retainFile(String filePath) {
+        LocalDateTime now = LocalDateTime.now();
+        String alternate = alternatePath(filePath);
+        if (storedFileRepository.retain(filePath, now) == 0 && alternate != null) {
+            storedFileRepository.retain(alternate, now);
+        }
+    }
+
+    /**
+     * Drops one reference to a stored file, e.g. when the row pointing at it is changed or
+     * deleted. Joins the caller's transaction, so the reference goes with that change. The
+     * file itself is never deleted here: content-addressed blobs may be shared and a UUID
+     * file may still be pointed at by another row (an application reusing the profile
+     * resume), so deletion is left to UploadGarbageCollector, which checks every reference.
+     */
+    public void releaseFile(String filePath) {
+        String alternate = alternatePath(filePath);
+        if (storedFileRepository.release(filePath) == 0 && alternate != null) {
+            storedFileRepository.release(alternate);
         }
+    }
 
-        Path filePath = uploadPath.resolve(filename);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Sharded form of a path: "resumes/3c7b...pdf" becomes "resumes/3c/7b/3c7b...pdf", so no
+     * directory holds more than a fraction of the files. Sharded paths are returned unchanged.
+     */
+    public static String shardedPath(String filePath) {
+        String path = filePath.replaceFirst("^/+", "");
+        String[] segments = path.split("/");
+        if (segments.length != 2 || segments[1].length() < SHARD_PREFIX_LENGTH) {
+            return path;
+        }
+        String name = segments[1];
+        return segments[0] + "/" + name.substring(0, 2) + "/" + name.substring(2, 4) + "/" + name;
+    }
+
+    /**
+     * The same file's path in the other layout (flat or sharded), or null if it has none.
+     * Files uploaded before sharding are moved by StorageLayoutMigrationService; until
+     * then, and for links issued before the move, lookups try both.
+     */
+    public static String alternatePath(String filePath) {
+        String path = filePath.replaceFirst("^/+", "");
+        String[] segments = path.split("/");
+        if (segments.length == 2) {
+            String sharded = shardedPath(path);
+            return sharded.equals(path) ? null : sharded;
+        }
+        if (segments.length == 4 && segments[3].startsWith(segments[1] + segments[2])) {
+            return segments[0] + "/" + segments[3];
+        }
+        return null;
+    }
 
-        return Paths.get(subdirectory, filename).toString().replace("\\", "/");
+    /**
+     * Whether a path names a content-addressed blob, i.e. its file name is a SHA-256 hash
+     */
+    public static boolean isContentAddressed(String filePath) {
+        String name = filePath.substring(filePath.lastIndexOf('/') + 1);
+        int dot = name.indexOf('.');
+        return CONTENT_HASH.matcher(dot == -1 ? name : name.substring(0, dot)).matches();
     }
 
-    public byte[] loadFile(String filePath) throws IOException {
-        Path path = Paths.get(uploadDir, filePath);
-        if (!Files.exists(path)) {
-            throw new FileNotFoundException("File not found: " + filePath);
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return Files.readAllBytes(path);
     }
 
     private String getFileExtension(String filename) {
@@ -66,17 +294,4 @@ public class FileStorageService {
         }
         return filename.substring(lastDotIndex);
     }
-
-    public boolean isValidFileType(MultipartFile file, String[] allowedTypes) {
-        String contentType = file.getContentType();
-        if (contentType == null) {
-            return false;
-        }
-        for (String allowedType : allowedTypes) {
-            if (contentType.startsWith(allowedType)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -0,0 +1,90 @@
+package com.jobSpher.jobSpher.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jobSpher.jobSpher.dto.ApplicationStatusRow;
+import com.jobSpher.jobSpher.model.Application;
+import com.jobSpher.jobSpher.model.JobApplicationStats;
+import com.jobSpher.jobSpher.repository.JobApplicationStatsRepository;
+
+/**
+ * Maintains the per-job application counters in job_application_stats
+ * 
+ * Every change to an application's status is applied as a delta inside the caller's
+ * transaction, so the counters commit or roll back together with the application rows.
+ */
+@Service
+public class JobApplicationStatsService {
+    
+    @Autowired
+    private JobApplicationStatsRepository statsRepository;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSubmitted(Long jobId) {
+        apply(jobId, delta(Application.ApplicationStatus.SUBMITTED, 1));
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Long jobId, Application.ApplicationStatus from, Application.ApplicationStatus to) {
+        if (from == to) {
+            return;
+        }
+        long[] counts = delta(from, -1);
+        counts[to.ordinal()]++;
+        apply(jobId, counts);
+    }
+    
+    /**
+     * Moves every row to the new status; deltas are summed per job so each job is upserted once
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanges(Collection<ApplicationStatusRow> rows, Application.ApplicationStatus to) {
+        Map<Long, long[]> deltas = new HashMap<>();
+        for (ApplicationStatusRow row : rows) {
+            if (row.getStatus() == to) {
+                continue;
+            }
+            long[] counts = deltas.computeIfAbsent(row.getJobId(), jobId -> new long[Application.ApplicationStatus.values().length]);
+            counts[row.getStatus().ordinal()]--;
+            counts[to.ordinal()]++;
+        }
+        // Sorted so concurrent bulk updates lock stats rows in the same order
+        deltas.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> apply(entry.getKey(), entry.getValue()));
+    }
+    
+    /**
+     * Returns the counters for the given jobs; jobs without applications get an all-zero entry
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, JobApplicationStats> getStats(Collection<Long> jobIds) {
+        Map<Long, JobApplicationStats> stats = statsRepository.findAllById(jobIds).stream()
+                .collect(Collectors.toMap(JobApplicationStats::getJobId, Function.identity()));
+        jobIds.forEach(jobId -> stats.computeIfAbsent(jobId, JobApplicationStats::empty));
+        return stats;
+    }
+    
+    private long[] delta(Application.ApplicationStatus status, long amount) {
+        long[] counts = new long[Application.ApplicationStatus.values().length];
+        counts[status.ordinal()] = amount;
+        return counts;
+    }
+    
+    private void apply(Long jobId, long[] counts) {
+        statsRepository.applyDelta(jobId,
+                counts[Application.ApplicationStatus.SUBMITTED.ordinal()],
+                counts[Application.ApplicationStatus.SHORTLISTED.ordinal()],
+                counts[Application.ApplicationStatus.REJECTED.ordinal()],
+                counts[Application.ApplicationStatus.HIRED.ordinal()]);
+    }
+}
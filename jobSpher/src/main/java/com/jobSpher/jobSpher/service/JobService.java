@@ -1,20 +1,36 @@
 package com.jobSpher.jobSpher.service;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.jobSpher.jobSpher.dto.BulkJobReviewResponse;
 import com.jobSpher.jobSpher.dto.JobRequest;
+import com.jobSpher.jobSpher.dto.JobReviewQueueResponse;
+import com.jobSpher.jobSpher.event.JobApprovedEvent;
 import com.jobSpher.jobSpher.model.Company;
 import com.jobSpher.jobSpher.model.Job;
+import com.jobSpher.jobSpher.model.JobApplicationStats;
+import com.jobSpher.jobSpher.model.Notification;
 import com.jobSpher.jobSpher.model.User;
 import com.jobSpher.jobSpher.repository.JobRepository;
+import com.jobSpher.jobSpher.repository.UserRepository;
 
 /**
  * Service for job management
@@ -31,6 +47,24 @@ public class JobService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private JobApplicationStatsService jobApplicationStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${admin.review-queue.lease-minutes:15}")
+    private long reviewLeaseMinutes;
+
+    @Value("${admin.review-queue.max-size:50}")
+    private int reviewQueueMaxSize;
+
     @Transactional
     public Job createJob(User employer, JobRequest request) {
         Company company = companyService.getCompanyByEmployer(employer);
@@ -82,16 +116,60 @@ public class JobService {
                 .orElseThrow(() -> new RuntimeException("Job not found"));
     }
 
+    public boolean isJobOwnedBy(Long jobId, User employer) {
+        return jobRepository.existsByIdAndCompany_Employer_Id(jobId, employer.getId());
+    }
+
     public List<Job> getJobsByCompany(Company company) {
         return jobRepository.findByCompany(company);
     }
 
+    /**
+     * Returns the company's jobs with their application counters attached (one extra query in total)
+     */
     @Transactional(readOnly = true)
-    public List<Job> getPendingJobs() {
-        // Use custom query to fetch all relationships including nested company.employer
-        List<Job> jobs = jobRepository.findPendingJobsWithRelations(Job.JobStatus.PENDING_APPROVAL);
-        // All relationships should be eagerly fetched by the query
-        return jobs != null ? jobs : java.util.Collections.emptyList();
+    public List<Job> getJobsWithApplicationStats(Company company) {
+        List<Job> jobs = jobRepository.findByCompany(company);
+        Map<Long, JobApplicationStats> stats = jobApplicationStatsService.getStats(
+                jobs.stream().map(Job::getId).collect(Collectors.toList()));
+        jobs.forEach(job -> job.setApplicationStats(stats.get(job.getId())));
+        return jobs;
+    }
+
+    /**
+     * Returns a page of pending jobs, oldest first, without claiming any of them
+     */
+    @Transactional(readOnly = true)
+    public Page<Job> getPendingJobs(Pageable pageable) {
+        return jobRepository.findByStatusOrderByCreatedAtAscIdAsc(Job.JobStatus.PENDING_APPROVAL, pageable);
+    }
+
+    /**
+     * Claims the admin's review queue: the pending jobs they hold, topped up to the requested
+     * size by claiming the oldest unclaimed ones. Claimed jobs stay out of other admins' queues
+     * until the lease runs out; claiming again renews it.
+     */
+    @Transactional
+    public JobReviewQueueResponse claimReviewQueue(User admin, int size) {
+        int limit = Math.max(1, Math.min(size, reviewQueueMaxSize));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseExpiresAt = now.plusMinutes(reviewLeaseMinutes);
+
+        int held = jobRepository.renewReviewClaims(admin.getId(), now, leaseExpiresAt);
+        if (held < limit) {
+            jobRepository.claimForReview(admin.getId(), now, leaseExpiresAt, limit - held);
+        }
+        List<Job> jobs = jobRepository.findByStatusAndReviewClaimedByAndReviewClaimedUntilAfterOrderByCreatedAtAscIdAsc(
+                Job.JobStatus.PENDING_APPROVAL, admin.getId(), now, PageRequest.of(0, limit));
+        return new JobReviewQueueResponse(jobs, leaseExpiresAt);
+    }
+
+    /**
+     * Hands the admin's claimed jobs back to the queue, e.g. when they stop reviewing
+     */
+    @Transactional
+    public int releaseReviewQueue(User admin) {
+        return jobRepository.releaseReviewClaims(admin.getId());
     }
 
     @Transactional
@@ -102,12 +180,16 @@ public class JobService {
         if (job.getStatus() != Job.JobStatus.PENDING_APPROVAL) {
             throw new RuntimeException("Job has already been processed. Current status: " + job.getStatus());
         }
+        checkNotClaimedByOther(job, admin);
 
         job.setStatus(Job.JobStatus.ACTIVE);
         job.setApprovedBy(admin);
+        job.setReviewClaimedBy(null);
+        job.setReviewClaimedUntil(null);
         job.setPublishedAt(LocalDateTime.now());
 
         Job savedJob = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobApprovedEvent(List.of(savedJob.getId())));
 
         // Notify employer
         notificationService.createNotification(
@@ -128,6 +210,7 @@ public class JobService {
         if (job.getStatus() != Job.JobStatus.PENDING_APPROVAL) {
             throw new RuntimeException("Job has already been processed. Current status: " + job.getStatus());
         }
+        checkNotClaimedByOther(job, admin);
 
         // Validate rejection reason
         if (reason == null || reason.trim().isEmpty()) {
@@ -136,6 +219,8 @@ public class JobService {
 
         job.setStatus(Job.JobStatus.REJECTED);
         job.setApprovedBy(admin);
+        job.setReviewClaimedBy(null);
+        job.setReviewClaimedUntil(null);
         job.setRejectionReason(reason);
 
         Job savedJob = jobRepository.save(job);
@@ -150,4 +235,134 @@ public class JobService {
 
         return savedJob;
     }
+
+    /**
+     * Approves several pending jobs at once: one conditional UPDATE for all of them, one
+     * batched notification insert and one JobApprovedEvent. Jobs that aren't pending or are
+     * claimed by another admin are left alone and reported per ID.
+     */
+    @Transactional
+    public BulkJobReviewResponse approveJobs(List<Long> jobIds, User admin) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = jobIds.stream().distinct().collect(Collectors.toList());
+        List<ReviewedJob> approved = reviewJobs(ids,
+                "UPDATE jobs j SET status = 'ACTIVE', approved_by = ?, published_at = ?, updated_at = ?, " +
+                "review_claimed_by = NULL, review_claimed_until = NULL",
+                new Object[] { admin.getId(), Timestamp.valueOf(now), Timestamp.valueOf(now) }, admin, now);
+
+        List<Notification> notifications = new ArrayList<>(approved.size());
+        for (ReviewedJob job : approved) {
+            notifications.add(newNotification(job.employerId, "Job Approved",
+                    "Your job posting '" + job.title + "' has been approved and is now live.",
+                    "JOB_APPROVED", "/jobs/" + job.id));
+        }
+        notificationService.createNotifications(notifications);
+        if (!approved.isEmpty()) {
+            eventPublisher.publishEvent(new JobApprovedEvent(
+                    approved.stream().map(job -> job.id).collect(Collectors.toList())));
+        }
+        return reviewOutcomes(ids, approved, "APPROVED", admin, now);
+    }
+
+    /**
+     * Rejects several pending jobs at once with the same reason, like approveJobs
+     */
+    @Transactional
+    public BulkJobReviewResponse rejectJobs(List<Long> jobIds, User admin, String reason) {
+        if (reason == null || reason.trim().isEmpty()) {
+            throw new RuntimeException("Rejection reason is required");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = jobIds.stream().distinct().collect(Collectors.toList());
+        List<ReviewedJob> rejected = reviewJobs(ids,
+                "UPDATE jobs j SET status = 'REJECTED', approved_by = ?, rejection_reason = ?, updated_at = ?, " +
+                "review_claimed_by = NULL, review_claimed_until = NULL",
+                new Object[] { admin.getId(), reason, Timestamp.valueOf(now) }, admin, now);
+
+        List<Notification> notifications = new ArrayList<>(rejected.size());
+        for (ReviewedJob job : rejected) {
+            notifications.add(newNotification(job.employerId, "Job Rejected",
+                    "Your job posting '" + job.title + "' has been rejected. Reason: " + reason,
+                    "JOB_REJECTED", "/jobs/" + job.id));
+        }
+        notificationService.createNotifications(notifications);
+        return reviewOutcomes(ids, rejected, "REJECTED", admin, now);
+    }
+
+    // Runs the status change for every still-pending, unclaimed (or own) job and returns what changed
+    private List<ReviewedJob> reviewJobs(List<Long> ids, String update, Object[] setValues, User admin,
+            LocalDateTime now) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        String sql = update + " FROM companies c WHERE c.id = j.company_id AND j.id IN (" + placeholders + ") " +
+                "AND j.status = 'PENDING_APPROVAL' " +
+                "AND (j.review_claimed_by IS NULL OR j.review_claimed_by = ? OR j.review_claimed_until <= ?) " +
+                "RETURNING j.id, j.title, c.employer_id";
+
+        List<Object> params = new ArrayList<>(setValues.length + ids.size() + 2);
+        params.addAll(List.of(setValues));
+        params.addAll(ids);
+        params.add(admin.getId());
+        params.add(Timestamp.valueOf(now));
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new ReviewedJob(rs.getLong(1), rs.getString(2), rs.getLong(3)),
+                params.toArray());
+    }
+
+    // Explains every requested ID the UPDATE didn't change, with one lookup for all of them
+    private BulkJobReviewResponse reviewOutcomes(List<Long> ids, List<ReviewedJob> changed, String outcome,
+            User admin, LocalDateTime now) {
+        Map<Long, String> results = new LinkedHashMap<>();
+        ids.forEach(id -> results.put(id, "NOT_FOUND"));
+        changed.forEach(job -> results.put(job.id, outcome));
+
+        List<Long> unchanged = ids.stream()
+                .filter(id -> "NOT_FOUND".equals(results.get(id)))
+                .collect(Collectors.toList());
+        if (!unchanged.isEmpty()) {
+            String placeholders = String.join(",", Collections.nCopies(unchanged.size(), "?"));
+            jdbcTemplate.query(
+                    "SELECT id, status, review_claimed_by, review_claimed_until FROM jobs WHERE id IN (" +
+                            placeholders + ")",
+                    rs -> {
+                        long claimedBy = rs.getLong(3);
+                        boolean claimedByOther = !rs.wasNull() && claimedBy != admin.getId()
+                                && rs.getTimestamp(4) != null && rs.getTimestamp(4).toLocalDateTime().isAfter(now);
+                        boolean pending = Job.JobStatus.PENDING_APPROVAL.name().equals(rs.getString(2));
+                        results.put(rs.getLong(1), pending && claimedByOther ? "CLAIMED_BY_OTHER_ADMIN"
+                                : "ALREADY_PROCESSED");
+                    },
+                    unchanged.toArray());
+        }
+        return new BulkJobReviewResponse(changed.size(), results);
+    }
+
+    private Notification newNotification(Long userId, String title, String message, String type, String link) {
+        Notification notification = new Notification();
+        notification.setUser(userRepository.getReferenceById(userId));
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setType(type);
+        notification.setLink(link);
+        return notification;
+    }
+
+    // Another admin holding a live claim is reviewing this job right now
+    private void checkNotClaimedByOther(Job job, User admin) {
+        if (job.getReviewClaimedBy() != null && !job.getReviewClaimedBy().equals(admin.getId())
+                && job.getReviewClaimedUntil() != null && job.getReviewClaimedUntil().isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("Job is being reviewed by another admin");
+        }
+    }
+
+    private static class ReviewedJob {
+        private final long id;
+        private final String title;
+        private final long employerId;
+
+        ReviewedJob(long id, String title, long employerId) {
+            this.id = id;
+            this.title = title;
+            this.employerId = employerId;
+        }
+    }
 }
@@ -0,0 +1,395 @@
+package com.jobSpher.jobSpher.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.jobSpher.jobSpher.dto.CandidateMatch;
+import com.jobSpher.jobSpher.dto.JobRecommendation;
+import com.jobSpher.jobSpher.event.JobApprovedEvent;
+import com.jobSpher.jobSpher.event.ResumeIndexedEvent;
+import com.jobSpher.jobSpher.model.Job;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.ApplicationRepository;
+import com.jobSpher.jobSpher.repository.JobRepository;
+import com.jobSpher.jobSpher.repository.UserRepository;
+import com.jobSpher.jobSpher.util.SparseVector;
+import com.jobSpher.jobSpher.util.TextTokenizer;
+import com.jobSpher.jobSpher.util.TopK;
+
+/**
+ * Scores job seekers against jobs and jobs against job seekers
+ *
+ * Documents are TF-IDF vectors: an active job is its title plus requirements, a job seeker
+ * is the indexed resume of their most recent application (see ResumeIndexService). Both
+ * kinds share one vocabulary and IDF table, so a job and a resume are directly comparable
+ * by cosine similarity.
+ *
+ * All vectors live in an immutable in-memory snapshot that is rebuilt in the background
+ * when a job is approved or a resume is indexed. A query scores every document of the
+ * other kind in parallel on the fork/join pool, each task keeping only its top K. Job
+ * recommendations are cached on the snapshot until the next rebuild; candidate matches
+ * only ever score the job's own applicants, so they are cheap enough to compute per request.
+ */
+@Service
+public class MatchingService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchingService.class);
+
+    public static final int MAX_RESULTS = 100;
+    private static final int PARALLEL_THRESHOLD = 512;
+
+    private static final String ACTIVE_JOBS_SQL =
+            "SELECT id, title, requirements FROM jobs WHERE status = 'ACTIVE'";
+
+    // Terms of each job seeker's most recent indexed resume, grouped by job seeker
+    private static final String SEEKER_TERMS_SQL =
+            "SELECT latest.job_seeker_id, t.term, t.frequency " +
+            "FROM application_terms t " +
+            "JOIN (SELECT a.job_seeker_id, MAX(a.id) AS application_id " +
+            "      FROM applications a JOIN resume_extractions e ON e.application_id = a.id " +
+            "      WHERE e.status = 'INDEXED' GROUP BY a.job_seeker_id) latest " +
+            "ON latest.application_id = t.application_id " +
+            "ORDER BY latest.job_seeker_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile Snapshot snapshot;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobApproved(JobApprovedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResumeIndexed(ResumeIndexedEvent event) {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${matching.refresh-ms:60000}")
+    public void refresh() {
+        if (!stale.getAndSet(false)) {
+            return;
+        }
+        try {
+            snapshot = build();
+        } catch (RuntimeException e) {
+            stale.set(true);
+            log.error("Failed to rebuild matching index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ranks the job's applicants by how well their resume matches the job; only the job's
+     * employer may ask. Job seekers who never applied to the job are never scored or returned.
+     */
+    @Transactional(readOnly = true)
+    public List<CandidateMatch> matchCandidates(Long jobId, User employer, int limit) {
+        if (!jobRepository.existsByIdAndCompany_Employer_Id(jobId, employer.getId())) {
+            throw new RuntimeException("Unauthorized");
+        }
+        Snapshot current = snapshot();
+        List<Long> applicantIds = applicationRepository.findJobSeekerIdsByJobId(jobId);
+        long[] ids = new long[applicantIds.size()];
+        SparseVector[] vectors = new SparseVector[applicantIds.size()];
+        int applicants = 0;
+        for (Long applicantId : applicantIds) {
+            Integer position = current.seekerPositions.get(applicantId);
+            if (position != null) { // applicants without an indexed resume can't be ranked
+                ids[applicants] = applicantId;
+                vectors[applicants++] = current.seekerVectors[position];
+            }
+        }
+        TopK.Result top = current.rank(jobVector(current, jobId),
+                Arrays.copyOf(ids, applicants), Arrays.copyOf(vectors, applicants));
+
+        int count = Math.min(limit, top.size());
+        List<Long> topIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            topIds.add(top.id(i));
+        }
+        Map<Long, User> users = userRepository.findAllById(topIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<CandidateMatch> matches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User seeker = users.get(top.id(i));
+            if (seeker != null) {
+                matches.add(new CandidateMatch(seeker.getId(), seeker.getFirstName(), seeker.getLastName(),
+                        seeker.getEmail(), top.score(i)));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Ranks active jobs by how well they match the job seeker's latest indexed resume
+     */
+    @Transactional(readOnly = true)
+    public List<JobRecommendation> recommendJobs(User jobSeeker, int limit) {
+        Snapshot current = snapshot();
+        Integer position = current.seekerPositions.get(jobSeeker.getId());
+        if (position == null) {
+            return List.of(); // no indexed resume yet
+        }
+        TopK.Result top = current.jobRecommendations.get(jobSeeker.getId());
+        if (top == null) {
+            top = current.rank(current.seekerVectors[position], current.jobIds, current.jobVectors);
+            current.jobRecommendations.putIfAbsent(jobSeeker.getId(), top);
+        }
+
+        int count = Math.min(limit, top.size());
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(top.id(i));
+        }
+        Map<Long, Job> jobs = jobRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+
+        List<JobRecommendation> recommendations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Job job = jobs.get(top.id(i));
+            // Skip jobs closed since the snapshot was built
+            if (job != null && job.getStatus() == Job.JobStatus.ACTIVE) {
+                recommendations.add(new JobRecommendation(job, top.score(i)));
+            }
+        }
+        return recommendations;
+    }
+
+    private SparseVector jobVector(Snapshot current, Long jobId) {
+        Integer position = current.jobPositions.get(jobId);
+        if (position != null) {
+            return current.jobVectors[position];
+        }
+        // Not active (e.g. pending approval): vectorize against the snapshot's vocabulary
+        Job job = jobRepository.findById(jobId).orElseThrow(() -> new RuntimeException("Job not found"));
+        return current.vectorize(TextTokenizer.termFrequencies(jobText(job.getTitle(), job.getRequirements())));
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    stale.set(false);
+                    snapshot = build();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Snapshot build() {
+        long start = System.currentTimeMillis();
+        Vocabulary vocabulary = new Vocabulary();
+
+        List<Long> jobIds = new ArrayList<>();
+        List<int[][]> jobDocuments = new ArrayList<>();
+        jdbcTemplate.query(ACTIVE_JOBS_SQL, row -> {
+            jobIds.add(row.getLong("id"));
+            jobDocuments.add(vocabulary.add(TextTokenizer.termFrequencies(
+                    jobText(row.getString("title"), row.getString("requirements")))));
+        });
+
+        List<Long> seekerIds = new ArrayList<>();
+        List<int[][]> seekerDocuments = new ArrayList<>();
+        Map<String, Integer> current = new HashMap<>();
+        long[] currentSeeker = { -1 };
+        jdbcTemplate.query(SEEKER_TERMS_SQL, row -> {
+            long seekerId = row.getLong(1);
+            if (seekerId != currentSeeker[0] && !current.isEmpty()) {
+                seekerIds.add(currentSeeker[0]);
+                seekerDocuments.add(vocabulary.add(current));
+                current.clear();
+            }
+            currentSeeker[0] = seekerId;
+            current.put(row.getString(2), row.getInt(3));
+        });
+        if (!current.isEmpty()) {
+            seekerIds.add(currentSeeker[0]);
+            seekerDocuments.add(vocabulary.add(current));
+        }
+
+        Snapshot built = new Snapshot(vocabulary, jobIds, jobDocuments, seekerIds, seekerDocuments);
+        log.info("Matching index rebuilt: {} jobs, {} job seekers, {} terms in {} ms",
+                jobIds.size(), seekerIds.size(), vocabulary.size(), System.currentTimeMillis() - start);
+        return built;
+    }
+
+    private static String jobText(String title, String requirements) {
+        return requirements == null ? title : title + "\n" + requirements;
+    }
+
+    /**
+     * Term ids and document frequencies, filled while the snapshot is built
+     */
+    private static class Vocabulary {
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private int[] documentFrequencies = new int[1024];
+        private int documents;
+
+        /**
+         * @return { termIds, frequencies } of the document
+         */
+        int[][] add(Map<String, Integer> frequencies) {
+            int[] ids = new int[frequencies.size()];
+            int[] counts = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int id = termIds.computeIfAbsent(entry.getKey(), term -> termIds.size());
+                if (id == documentFrequencies.length) {
+                    documentFrequencies = Arrays.copyOf(documentFrequencies, id * 2);
+                }
+                documentFrequencies[id]++;
+                ids[i] = id;
+                counts[i++] = entry.getValue();
+            }
+            documents++;
+            return new int[][] { ids, counts };
+        }
+
+        int size() {
+            return termIds.size();
+        }
+    }
+
+    /**
+     * Immutable vectors plus the per-query result caches that belong to them
+     */
+    private static class Snapshot {
+        private final Map<String, Integer> termIds;
+        private final float[] idf;
+
+        private final long[] jobIds;
+        private final SparseVector[] jobVectors;
+        private final Map<Long, Integer> jobPositions = new HashMap<>();
+
+        private final long[] seekerIds;
+        private final SparseVector[] seekerVectors;
+        private final Map<Long, Integer> seekerPositions = new HashMap<>();
+
+        private final Map<Long, TopK.Result> jobRecommendations = new ConcurrentHashMap<>();
+
+        Snapshot(Vocabulary vocabulary, List<Long> jobIdList, List<int[][]> jobDocuments,
+                List<Long> seekerIdList, List<int[][]> seekerDocuments) {
+            termIds = vocabulary.termIds;
+            idf = new float[vocabulary.size()];
+            for (int term = 0; term < idf.length; term++) {
+                idf[term] = (float) (Math.log((vocabulary.documents + 1.0)
+                        / (vocabulary.documentFrequencies[term] + 1.0)) + 1.0);
+            }
+
+            jobIds = new long[jobIdList.size()];
+            jobVectors = new SparseVector[jobIds.length];
+            for (int i = 0; i < jobIds.length; i++) {
+                jobIds[i] = jobIdList.get(i);
+                jobVectors[i] = weigh(jobDocuments.get(i)[0], jobDocuments.get(i)[1]);
+                jobPositions.put(jobIds[i], i);
+            }
+
+            seekerIds = new long[seekerIdList.size()];
+            seekerVectors = new SparseVector[seekerIds.length];
+            for (int i = 0; i < seekerIds.length; i++) {
+                seekerIds[i] = seekerIdList.get(i);
+                seekerVectors[i] = weigh(seekerDocuments.get(i)[0], seekerDocuments.get(i)[1]);
+                seekerPositions.put(seekerIds[i], i);
+            }
+        }
+
+        SparseVector vectorize(Map<String, Integer> frequencies) {
+            int[] ids = new int[frequencies.size()];
+            int[] counts = new int[frequencies.size()];
+            int size = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Integer id = termIds.get(entry.getKey());
+                if (id != null) {
+                    ids[size] = id;
+                    counts[size++] = entry.getValue();
+                }
+            }
+            return weigh(Arrays.copyOf(ids, size), Arrays.copyOf(counts, size));
+        }
+
+        // Sublinear tf: 1 + ln(frequency)
+        private SparseVector weigh(int[] ids, int[] counts) {
+            float[] weights = new float[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                weights[i] = (float) (1.0 + Math.log(counts[i])) * idf[ids[i]];
+            }
+            return SparseVector.of(ids, weights, ids.length);
+        }
+
+        TopK.Result rank(SparseVector query, long[] ids, SparseVector[] vectors) {
+            if (query.isEmpty() || ids.length == 0) {
+                return new TopK(0).result();
+            }
+            return ForkJoinPool.commonPool().invoke(new ScoreTask(query, ids, vectors, 0, ids.length)).result();
+        }
+    }
+
+    private static class ScoreTask extends RecursiveTask<TopK> {
+        private final SparseVector query;
+        private final long[] ids;
+        private final SparseVector[] vectors;
+        private final int from;
+        private final int to;
+
+        ScoreTask(SparseVector query, long[] ids, SparseVector[] vectors, int from, int to) {
+            this.query = query;
+            this.ids = ids;
+            this.vectors = vectors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                TopK top = new TopK(MAX_RESULTS);
+                for (int i = from; i < to; i++) {
+                    float score = query.dot(vectors[i]);
+                    if (score > 0) {
+                        top.offer(ids[i], score);
+                    }
+                }
+                return top;
+            }
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(query, ids, vectors, from, middle);
+            left.fork();
+            TopK top = new ScoreTask(query, ids, vectors, middle, to).compute();
+            top.merge(left.join());
+            return top;
+        }
+    }
+}
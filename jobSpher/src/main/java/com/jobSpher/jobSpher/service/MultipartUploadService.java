@@ -0,0 +1,170 @@
+package com.jobSpher.jobSpher.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.jobSpher.jobSpher.dto.MultipartUpload;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.storage.UploadType;
+import com.jobSpher.jobSpher.util.ContentTypeSniffer;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Streams multipart uploads straight into storage
+ *
+ * Servlet multipart handling is disabled (spring.servlet.multipart.enabled=false), so the
+ * container never buffers the request into its own temp file. The request body is parsed
+ * once, part by part: text fields are read into memory (up to a small limit) and the file
+ * part is piped directly into FileStorageService, which writes it once. The file's real
+ * type is sniffed from its first bytes before anything is stored, and the size limit is
+ * enforced while the bytes arrive, so an oversized or disguised upload is rejected
+ * without being written out in full.
+ *
+ * Instead of a file part, a request may name a completed chunked upload in an "uploadId"
+ * field; see claimUploadSession.
+ */
+@Service
+public class MultipartUploadService {
+
+    private static final int MAX_FIELD_LENGTH = 64 * 1024;
+    private static final long MAX_REQUEST_SIZE = 11 * 1024 * 1024; // 10MB file plus form fields
+    private static final long MAX_PARTS = 20;
+    private static final int MAX_PART_HEADER_SIZE = 1024; // Content-Disposition with a long filename plus Content-Type
+    private static final String UPLOAD_ID_FIELD = "uploadId";
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    /**
+     * Reads a multipart request and stores its file part
+     *
+     * @param request the multipart request
+     * @param fileField name of the file part, e.g. "resume"
+     * @param typeResolver decides the upload type from the text fields read so far; the
+     *        fields the type depends on must therefore precede the file part
+     * @return the text fields and the stored file path (null if no file was sent)
+     * @throws RuntimeException if the request isn't multipart, a field is too large, or the
+     *         file's content isn't allowed for its type
+     */
+    public MultipartUpload receive(HttpServletRequest request, String fileField,
+            Function<Map<String, String>, UploadType> typeResolver) throws IOException {
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new RuntimeException("Expected a multipart/form-data request");
+        }
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setSizeMax(MAX_REQUEST_SIZE);
+        upload.setFileCountMax(MAX_PARTS);
+        upload.setPartHeaderSizeMax(MAX_PART_HEADER_SIZE);
+
+        Map<String, String> fields = new HashMap<>();
+        String filePath = null;
+        try {
+            FileItemInputIterator parts = upload.getItemIterator(request);
+            while (parts.hasNext()) {
+                FileItemInput part = parts.next();
+                if (part.isFormField()) {
+                    try (InputStream input = part.getInputStream()) {
+                        fields.put(part.getFieldName(), readField(part.getFieldName(), input));
+                    }
+                } else if (fileField.equals(part.getFieldName()) && filePath == null
+                        && part.getName() != null && !part.getName().isEmpty()) {
+                    UploadType type = typeResolver.apply(fields);
+                    try (InputStream input = part.getInputStream()) {
+                        filePath = store(input, part.getName(), type);
+                    }
+                }
+                // Other parts are skipped by the iterator without being buffered
+            }
+        } catch (IOException | RuntimeException e) {
+            if (filePath != null) {
+                releaseQuietly(filePath);
+            }
+            throw e;
+        }
+        return new MultipartUpload(fields, filePath);
+    }
+
+    /**
+     * Uses the completed chunked upload named by the "uploadId" field, if there is one, as
+     * the request's file. The upload must belong to the owner, is claimed at most once and
+     * its content is sniffed against the type like a file part.
+     *
+     * @throws RuntimeException if the request sent both a file part and an uploadId, or the
+     *         upload can't be claimed
+     */
+    public void claimUploadSession(MultipartUpload upload, User owner, UploadType type) throws IOException {
+        String uploadId = upload.getFields().get(UPLOAD_ID_FIELD);
+        if (uploadId == null || uploadId.isBlank()) {
+            return;
+        }
+        if (upload.getFilePath() != null) {
+            releaseQuietly(upload.getFilePath());
+            throw new RuntimeException("Send either a file or an uploadId, not both");
+        }
+        upload.setFilePath(chunkedUploadService.claim(uploadId, owner, type));
+        upload.setUploadId(uploadId);
+    }
+
+    /**
+     * Undoes receive() and claimUploadSession() when the request fails afterwards: a stored
+     * file part is released, a claimed upload can be claimed again
+     */
+    public void releaseQuietly(MultipartUpload upload) {
+        if (upload.getUploadId() != null) {
+            chunkedUploadService.unclaimQuietly(upload.getUploadId());
+        } else if (upload.getFilePath() != null) {
+            releaseQuietly(upload.getFilePath());
+        }
+    }
+
+    /**
+     * Drops a file stored by receive() when the request it came with fails afterwards
+     */
+    public void releaseQuietly(String filePath) {
+        try {
+            fileStorageService.releaseFile(filePath);
+        } catch (RuntimeException e) {
+            // Must not hide the original failure the caller is about to rethrow
+        }
+    }
+
+    private String store(InputStream input, String filename, UploadType type) throws IOException {
+        PushbackInputStream content = new PushbackInputStream(input, ContentTypeSniffer.HEADER_LENGTH);
+        byte[] header = new byte[ContentTypeSniffer.HEADER_LENGTH];
+        int length = content.readNBytes(header, 0, header.length);
+        if (length == 0) {
+            throw new RuntimeException("File is empty");
+        }
+        content.unread(header, 0, length);
+
+        if (!type.isAllowed(ContentTypeSniffer.sniff(header, length, filename))) {
+            throw new RuntimeException("Invalid file type for " + type.name().toLowerCase());
+        }
+        return fileStorageService.storeStream(content, filename, type.getSubdirectory());
+    }
+
+    private String readField(String name, InputStream input) throws IOException {
+        byte[] value = input.readNBytes(MAX_FIELD_LENGTH + 1);
+        if (value.length > MAX_FIELD_LENGTH) {
+            throw new RuntimeException("Field " + name + " is too large");
+        }
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
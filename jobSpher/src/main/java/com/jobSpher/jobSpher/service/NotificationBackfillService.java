@@ -0,0 +1,110 @@
+package com.jobSpher.jobSpher.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Moves notifications from notifications_legacy into the partitioned notifications table
+ *
+ * The V4 migration creates the partitioned table and moves only the recent and unread
+ * rows into it, so the schema change commits quickly. After startup this service moves
+ * the remaining old rows in batches: each batch is a single DELETE ... RETURNING feeding an INSERT, committed on
+ * its own, so no long transaction holds locks or WAL and an interrupted run simply
+ * resumes where it stopped. SKIP LOCKED lets several nodes run it at the same time.
+ * The legacy table is dropped once it is empty.
+ *
+ * Until the backfill finishes, read notifications older than last month are missing from
+ * the later pages of listings. Unread ones and everything recent were moved by V4, so
+ * unread counts and mark-as-read are not affected.
+ */
+@Service
+public class NotificationBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationBackfillService.class);
+
+    private static final String MOVE_BATCH_SQL =
+            "WITH moved AS (" +
+            "DELETE FROM notifications_legacy WHERE id IN (" +
+            "SELECT id FROM notifications_legacy ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, user_id, title, message, type, read, link, created_at) " +
+            "INSERT INTO notifications (id, user_id, title, message, type, read, link, created_at) " +
+            "SELECT id, user_id, title, message, type, read, link, created_at FROM moved";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.backfill.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${notifications.backfill.pause-ms:100}")
+    private long pauseMs;
+
+    private volatile boolean stopRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!hasLegacyTable()) {
+            return;
+        }
+        Thread worker = new Thread(this::run, "notification-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopRequested = true;
+    }
+
+    private void run() {
+        long start = System.currentTimeMillis();
+        long moved = 0;
+        try {
+            int batch;
+            while (!stopRequested && (batch = jdbcTemplate.update(MOVE_BATCH_SQL, batchSize)) > 0) {
+                moved += batch;
+                Thread.sleep(pauseMs);
+            }
+            if (stopRequested) {
+                log.info("Notification backfill stopped after {} rows; resumes on next startup", moved);
+                return;
+            }
+            // Rows still locked by another node's batch are not empty yet; that node finishes the job
+            Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM notifications_legacy)",
+                    Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS notifications_legacy");
+            }
+            log.info("Notification backfill moved {} rows in {} ms", moved, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Also reached when another node dropped the table first
+            log.error("Notification backfill stopped after {} rows: {}", moved, e.getMessage());
+        }
+    }
+
+    private boolean hasLegacyTable() {
+        try {
+            String database = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(database)) {
+                return false;
+            }
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT to_regclass('notifications_legacy') IS NOT NULL", Boolean.class));
+        } catch (RuntimeException e) {
+            log.error("Failed to check for notifications_legacy: {}", e.getMessage());
+            return false;
+        }
+    }
+}
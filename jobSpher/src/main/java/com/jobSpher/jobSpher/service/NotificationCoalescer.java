@@ -0,0 +1,160 @@
+package com.jobSpher.jobSpher.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jobSpher.jobSpher.model.Notification;
+import com.jobSpher.jobSpher.repository.NotificationRepository;
+import com.jobSpher.jobSpher.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Coalesces high-volume notification events
+ *
+ * Events are buffered per (recipient, type, group key) for a short window. On flush each
+ * buffer becomes one write: it is merged into the recipient's existing unread notification
+ * for the group (e.g. "37 new applications for 'Backend Engineer'"), or inserted as a new
+ * notification when there is none. A lone event keeps its original single-event message.
+ *
+ * Events are only buffered once the submitting transaction commits, so a rolled back
+ * request never produces a notification.
+ */
+@Service
+public class NotificationCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, PendingGroup> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Buffers one event
+     *
+     * @param recipientId user to notify
+     * @param type notification type, e.g. NEW_APPLICATION
+     * @param groupKey target the events are grouped by, e.g. "job:42"
+     * @param title notification title
+     * @param message message used when the event ends up alone
+     * @param link link used when the event ends up alone
+     * @param aggregateMessageFormat String.format pattern taking the total count, used once events are merged
+     * @param aggregateLink link used once events are merged
+     */
+    public void submit(Long recipientId, String type, String groupKey, String title, String message, String link,
+            String aggregateMessageFormat, String aggregateLink) {
+        PendingGroup event = new PendingGroup(recipientId, type, groupKey, title, message, link,
+                aggregateMessageFormat, aggregateLink);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer(event);
+                }
+            });
+        } else {
+            buffer(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.coalesce.window-ms:5000}")
+    public void flush() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (String key : pending.keySet()) {
+            PendingGroup group = pending.remove(key);
+            if (group == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(group));
+            } catch (RuntimeException e) {
+                log.error("Failed to write coalesced notification {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void buffer(PendingGroup event) {
+        pending.merge(event.key(), event, (existing, added) -> {
+            existing.count += added.count;
+            return existing;
+        });
+    }
+
+    private void write(PendingGroup group) {
+        Optional<Notification> existing = notificationRepository
+                .findFirstByUser_IdAndGroupKeyAndReadFalseOrderByCreatedAtDesc(group.recipientId, group.groupKey)
+                .filter(notification -> notification.getType().equals(group.type));
+
+        if (existing.isPresent()) {
+            Notification notification = existing.get();
+            int total = notification.getGroupCount() + group.count;
+            notificationService.mergeIntoGroupedNotification(notification, group.count,
+                    String.format(group.aggregateMessageFormat, total), group.aggregateLink);
+        } else if (group.count == 1) {
+            notificationService.createGroupedNotification(userRepository.getReferenceById(group.recipientId),
+                    group.title, group.message, group.type, group.link, group.groupKey, 1);
+        } else {
+            notificationService.createGroupedNotification(userRepository.getReferenceById(group.recipientId),
+                    group.title, String.format(group.aggregateMessageFormat, group.count), group.type,
+                    group.aggregateLink, group.groupKey, group.count);
+        }
+    }
+
+    /**
+     * Buffered events for one (recipient, type, group key); the first event's texts are kept
+     */
+    private static class PendingGroup {
+        private final Long recipientId;
+        private final String type;
+        private final String groupKey;
+        private final String title;
+        private final String message;
+        private final String link;
+        private final String aggregateMessageFormat;
+        private final String aggregateLink;
+        private int count = 1; // only mutated inside ConcurrentHashMap.merge
+
+        PendingGroup(Long recipientId, String type, String groupKey, String title, String message, String link,
+                String aggregateMessageFormat, String aggregateLink) {
+            this.recipientId = recipientId;
+            this.type = type;
+            this.groupKey = groupKey;
+            this.title = title;
+            this.message = message;
+            this.link = link;
+            this.aggregateMessageFormat = aggregateMessageFormat;
+            this.aggregateLink = aggregateLink;
+        }
+
+        String key() {
+            return recipientId + "|" + type + "|" + groupKey;
+        }
+    }
+}
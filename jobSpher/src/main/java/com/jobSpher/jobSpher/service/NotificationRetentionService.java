@@ -0,0 +1,145 @@
+package com.jobSpher.jobSpher.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the monthly partitions of the notifications table
+ *
+ * Runs daily: creates partitions a few months ahead so inserts never land in the
+ * default partition, and removes partitions that have fallen out of the retention
+ * window by detaching them. Detached partitions are dropped, or moved to the
+ * notifications_archive schema when archive mode is configured. Either way the cost
+ * is O(1) per month instead of a large DELETE followed by vacuum.
+ *
+ * Only active on PostgreSQL when the notifications table is partitioned (see V4 migration).
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String ARCHIVE_SCHEMA = "notifications_archive";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${notifications.retention.months:12}")
+    private int retentionMonths;
+
+    @Value("${notifications.retention.archive:false}")
+    private boolean archive;
+
+    @Value("${notifications.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Scheduled(cron = "${notifications.retention.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        createUpcomingPartitions();
+        removeExpiredPartitions();
+    }
+
+    private void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.plusMonths(1).atDay(1);
+            try {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS notifications_%s PARTITION OF notifications FOR VALUES FROM ('%s') TO ('%s')",
+                        month.format(PARTITION_SUFFIX), from, to));
+            } catch (RuntimeException e) {
+                // Typically rows for this month already sit in the default partition
+                log.error("Failed to create notification partition for {}: {}", month, e.getMessage());
+            }
+        }
+    }
+
+    private void removeExpiredPartitions() {
+        YearMonth oldestRetained = YearMonth.now().minusMonths(retentionMonths);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (String partition : listPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue; // default partition or foreign table
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestRetained)) {
+                continue;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> removePartition(partition));
+                log.info("Removed notification partition {} ({})", partition, archive ? "archived" : "dropped");
+            } catch (RuntimeException e) {
+                log.error("Failed to remove notification partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private void removePartition(String partition) {
+        // Unread notifications disappear with the partition, so take them off the counters
+        jdbcTemplate.update(String.format(
+                "UPDATE users u SET unread_notification_count = GREATEST(u.unread_notification_count - c.unread, 0) " +
+                "FROM (SELECT user_id, COUNT(*) AS unread FROM %s WHERE read = FALSE GROUP BY user_id) c " +
+                "WHERE u.id = c.user_id", partition));
+
+        jdbcTemplate.execute(String.format("ALTER TABLE notifications DETACH PARTITION %s", partition));
+
+        if (archive) {
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + ARCHIVE_SCHEMA);
+            jdbcTemplate.execute(String.format("ALTER TABLE %s SET SCHEMA %s", partition, ARCHIVE_SCHEMA));
+        } else {
+            jdbcTemplate.execute(String.format("DROP TABLE %s", partition));
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'notifications' AND pg_table_is_visible(p.oid) " +
+                "ORDER BY c.relname",
+                String.class);
+    }
+
+    private boolean isPartitioned() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(database)) {
+            return false;
+        }
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt " +
+                "JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = 'notifications' AND pg_table_is_visible(c.oid))",
+                Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+}
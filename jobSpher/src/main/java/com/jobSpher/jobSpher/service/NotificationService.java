@@ -1,15 +1,29 @@
 package com.jobSpher.jobSpher.service;
 
+import com.jobSpher.jobSpher.event.NotificationCreatedEvent;
+import com.jobSpher.jobSpher.event.UnreadCountChangedEvent;
 import com.jobSpher.jobSpher.model.Notification;
 import com.jobSpher.jobSpher.model.User;
 import com.jobSpher.jobSpher.repository.NotificationRepository;
+import com.jobSpher.jobSpher.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing notifications
@@ -20,16 +34,133 @@ public class NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
     
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     @Transactional
     public Notification createNotification(User user, String title, String message, String type, String link) {
+        return createGroupedNotification(user, title, message, type, link, null, 1);
+    }
+    
+    /**
+     * Creates a notification that later events with the same group key can be merged into
+     * (see NotificationCoalescer). A null group key creates a plain notification.
+     */
+    @Transactional
+    public Notification createGroupedNotification(User user, String title, String message, String type, String link,
+            String groupKey, int groupCount) {
         Notification notification = new Notification();
         notification.setUser(user);
         notification.setTitle(title);
         notification.setMessage(message);
         notification.setType(type);
         notification.setLink(link);
+        notification.setGroupKey(groupKey);
+        notification.setGroupCount(groupCount);
         notification.setRead(false);
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        userRepository.adjustUnreadNotificationCount(user.getId(), 1);
+        
+        publishNotification(user.getId(), savedNotification);
+        return savedNotification;
+    }
+    
+    /**
+     * Inserts many notifications with one batched INSERT and one batched counter update.
+     * Entities can't be batch-inserted through JPA because notification IDs are IDENTITY
+     * generated, so this goes through JDBC in the caller's transaction. Each notification
+     * only needs its user's ID set (a reference from getReferenceById is enough).
+     * 
+     * @return the notifications with IDs and creation timestamps filled in
+     */
+    @Transactional
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return notifications;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(
+                "INSERT INTO notifications (user_id, title, message, type, read, link, group_count, created_at) " +
+                "VALUES (?, ?, ?, ?, FALSE, ?, 1, ?)",
+                new String[] { "id" }),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Notification notification = notifications.get(i);
+                    ps.setLong(1, notification.getUser().getId());
+                    ps.setString(2, notification.getTitle());
+                    ps.setString(3, notification.getMessage());
+                    ps.setString(4, notification.getType());
+                    ps.setString(5, notification.getLink());
+                    ps.setTimestamp(6, Timestamp.valueOf(now));
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return notifications.size();
+                }
+            },
+            keyHolder);
+        
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            // Only the id column is requested; its key is upper-cased by some drivers
+            notification.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            notification.setRead(false);
+            notification.setGroupCount(1);
+            notification.setCreatedAt(now);
+        }
+        
+        Map<Long, Long> perUser = notifications.stream()
+                .collect(Collectors.groupingBy(notification -> notification.getUser().getId(), Collectors.counting()));
+        List<Object[]> counterUpdates = perUser.entrySet().stream()
+                .map(entry -> new Object[] { entry.getValue(), entry.getKey() })
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(
+            "UPDATE users SET unread_notification_count = unread_notification_count + ? WHERE id = ?",
+            counterUpdates);
+        
+        notifications.forEach(notification -> publishNotification(notification.getUser().getId(), notification));
+        return notifications;
+    }
+    
+    /**
+     * Folds more events into an existing unread grouped notification in place.
+     * The unread count is unchanged since no new notification is added.
+     */
+    @Transactional
+    public Notification mergeIntoGroupedNotification(Notification notification, int additionalCount,
+            String message, String link) {
+        notification.setGroupCount(notification.getGroupCount() + additionalCount);
+        notification.setMessage(message);
+        notification.setLink(link);
+        Notification savedNotification = notificationRepository.save(notification);
+        
+        publishNotification(notification.getUser().getId(), savedNotification);
+        return savedNotification;
+    }
+    
+    // Listeners (e.g. the SSE stream) run after commit
+    private void publishNotification(Long userId, Notification notification) {
+        eventPublisher.publishEvent(new NotificationCreatedEvent(
+            userId,
+            notification.getId(),
+            notification.getTitle(),
+            notification.getMessage(),
+            notification.getType(),
+            notification.getLink(),
+            notification.getCreatedAt()
+        ));
     }
     
     public List<Notification> getUserNotifications(User user) {
@@ -40,8 +171,13 @@ public class NotificationService {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user, pageable);
     }
     
+    /**
+     * Returns the denormalized unread counter from the user row, which the caller
+     * has already loaded, instead of counting the user's notifications.
+     */
     public long getUnreadCount(User user) {
-        return notificationRepository.countByUserAndReadFalse(user);
+        Long count = user.getUnreadNotificationCount();
+        return count != null ? count : 0L;
     }
     
     @Transactional
@@ -53,8 +189,59 @@ public class NotificationService {
             throw new RuntimeException("Unauthorized");
         }
         
+        if (!notification.getRead() && notificationRepository.markAsReadIfUnread(notificationId) > 0) {
+            adjustUnreadCount(user, -1);
+        }
         notification.setRead(true);
-        return notificationRepository.save(notification);
+        return notification;
+    }
+    
+    /**
+     * Marks the given notifications as read with a single UPDATE.
+     * IDs that don't belong to the user or are already read are ignored.
+     * 
+     * @return number of notifications that changed from unread to read
+     */
+    @Transactional
+    public int markAsRead(List<Long> notificationIds, User user) {
+        int updated = notificationRepository.markAsReadByIds(user.getId(), notificationIds);
+        adjustUnreadCount(user, -updated);
+        return updated;
+    }
+    
+    @Transactional
+    public int markAllAsRead(User user) {
+        int updated = notificationRepository.markAllAsRead(user.getId());
+        adjustUnreadCount(user, -updated);
+        return updated;
+    }
+    
+    /**
+     * Deletes the given notifications owned by the user with a single DELETE ... RETURNING.
+     * The returned read flags give the exact number of unread notifications removed, so the
+     * unread counter is lowered by that amount in the same transaction.
+     * 
+     * @return number of notifications deleted
+     */
+    @Transactional
+    public int deleteNotifications(List<Long> notificationIds, User user) {
+        List<Boolean> deletedReadFlags = jdbcTemplate.query(
+            "DELETE FROM notifications WHERE user_id = ? AND id = ANY(?) RETURNING read",
+            ps -> {
+                ps.setLong(1, user.getId());
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", notificationIds.toArray()));
+            },
+            (rs, rowNum) -> rs.getBoolean(1));
+        long unreadDeleted = deletedReadFlags.stream().filter(read -> !read).count();
+        adjustUnreadCount(user, -unreadDeleted);
+        return deletedReadFlags.size();
+    }
+    
+    private void adjustUnreadCount(User user, long delta) {
+        if (delta != 0) {
+            userRepository.adjustUnreadNotificationCount(user.getId(), delta);
+            eventPublisher.publishEvent(new UnreadCountChangedEvent(user.getId()));
+        }
     }
 }
 
@@ -0,0 +1,347 @@
+package com.jobSpher.jobSpher.service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.jobSpher.jobSpher.event.NotificationCreatedEvent;
+import com.jobSpher.jobSpher.event.UnreadCountChangedEvent;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-Sent Events push channel for notifications
+ *
+ * Keeps a registry of open SSE connections keyed by user ID and pushes new
+ * notifications and unread-count changes once the producing transaction has committed.
+ *
+ * Connections are held with async servlet support (SseEmitter), so an idle client does
+ * not occupy a Tomcat worker thread. Writes happen on a shared sender pool, at most one
+ * in flight per connection; each connection has a bounded buffer and drops its oldest
+ * pending event when a slow client falls behind.
+ *
+ * A client that stops reading eventually blocks emitter.send once the socket buffers fill.
+ * A watchdog evicts any connection whose send has been in flight longer than the send
+ * timeout, or whose buffer has stayed full without draining, and interrupts the blocked
+ * sender so one stuck client cannot starve the pool. Heartbeats keep proxies from closing
+ * idle connections and detect dead clients.
+ *
+ * The watchdog and the heartbeat run on their own scheduler thread rather than Spring's
+ * shared @Scheduled thread, so a slow matching refresh or garbage collection run cannot
+ * delay evictions past the send timeout.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notifications.stream.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    @Value("${notifications.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${notifications.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${notifications.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${notifications.stream.sender-threads:8}")
+    private int senderThreads;
+
+    @Value("${notifications.stream.watchdog-ms:1000}")
+    private long watchdogMs;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    private ExecutorService sender;
+
+    private ScheduledExecutorService watchdog;
+
+    @PostConstruct
+    public void startExecutors() {
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleWithFixedDelay(guarded(this::heartbeat), heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        watchdog.scheduleWithFixedDelay(guarded(this::evictStalled), watchdogMs, watchdogMs, TimeUnit.MILLISECONDS);
+    }
+
+    // An exception escaping a periodic task would cancel all of its later runs
+    private Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Notification stream maintenance failed: {}", e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * Opens a new stream for the user and sends the current unread count as the first event
+     */
+    public SseEmitter subscribe(User user) {
+        Long userId = user.getId();
+
+        // Close the oldest connections if the user has too many tabs open
+        Set<Connection> existing = connections.get(userId);
+        while (existing != null && existing.size() >= maxConnectionsPerUser) {
+            existing.stream()
+                    .min((a, b) -> Long.compare(a.openedAt, b.openedAt))
+                    .ifPresent(this::close);
+            existing = connections.get(userId);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter, bufferSize);
+        connections.compute(userId, (id, userConnections) -> {
+            Set<Connection> updated = userConnections != null ? userConnections : ConcurrentHashMap.newKeySet();
+            updated.add(connection);
+            return updated;
+        });
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> close(connection));
+        emitter.onError(error -> remove(connection));
+
+        connection.enqueue(unreadCountEvent(user.getUnreadNotificationCount()).build());
+        return emitter;
+    }
+
+    public boolean hasConnections(Long userId) {
+        Set<Connection> userConnections = connections.get(userId);
+        return userConnections != null && !userConnections.isEmpty();
+    }
+
+    public int getConnectionCount() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (!hasConnections(event.getUserId())) {
+            return;
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", event.getNotificationId());
+        data.put("title", event.getTitle());
+        data.put("message", event.getMessage());
+        data.put("type", event.getType());
+        data.put("link", event.getLink());
+        data.put("createdAt", event.getCreatedAt());
+        data.put("read", false);
+
+        broadcast(event.getUserId(), SseEmitter.event().name("notification").data(data, MediaType.APPLICATION_JSON));
+        pushUnreadCount(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        if (hasConnections(event.getUserId())) {
+            pushUnreadCount(event.getUserId());
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment on every open connection
+     */
+    public void heartbeat() {
+        connections.values().forEach(userConnections -> userConnections
+                .forEach(connection -> connection.enqueue(SseEmitter.event().comment("ping").build())));
+    }
+
+    /**
+     * Evicts connections whose send has exceeded the send timeout, and connections whose
+     * buffer has stayed full since the previous heartbeat (client is not reading)
+     */
+    public void evictStalled() {
+        long now = System.currentTimeMillis();
+        long sendDeadline = now - sendTimeoutMs;
+        long staleBefore = now - 2 * heartbeatMs;
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+            if (connection.isSendTimedOut(sendDeadline) || connection.isStalled(staleBefore)) {
+                evict(connection);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        connections.values().forEach(userConnections -> userConnections.forEach(this::close));
+        sender.shutdownNow();
+    }
+
+    // The count is read on the sender pool so the committing request thread never waits on it
+    private void pushUnreadCount(Long userId) {
+        sender.execute(() -> {
+            try {
+                Long count = userRepository.findUnreadNotificationCountById(userId);
+                broadcast(userId, unreadCountEvent(count));
+            } catch (RuntimeException e) {
+                log.warn("Failed to push unread count for user {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    private SseEventBuilder unreadCountEvent(Long count) {
+        Map<String, Long> data = new HashMap<>();
+        data.put("count", count != null ? count : 0L);
+        return SseEmitter.event().name("unread-count").data(data, MediaType.APPLICATION_JSON);
+    }
+
+    private void broadcast(Long userId, SseEventBuilder event) {
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections != null) {
+            // Build once; a builder must not be built again per connection
+            Set<DataWithMediaType> payload = event.build();
+            userConnections.forEach(connection -> connection.enqueue(payload));
+        }
+    }
+
+    private void close(Connection connection) {
+        remove(connection);
+        try {
+            connection.emitter.complete();
+        } catch (RuntimeException ignored) {
+            // Already completed by the container
+        }
+    }
+
+    private void evict(Connection connection) {
+        log.debug("Evicting stalled notification stream of user {}", connection.userId);
+        remove(connection);
+        connection.buffer.clear();
+        try {
+            connection.emitter.completeWithError(new TimeoutException("Notification stream send timed out"));
+        } catch (RuntimeException ignored) {
+            // Already completed by the container
+        }
+        // Closing the response fails the pending write; the interrupt covers writes that wait on it
+        Thread sendingThread = connection.sendingThread;
+        if (sendingThread != null && connection.sendStartedAt != 0) {
+            sendingThread.interrupt();
+        }
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    /**
+     * One open SSE connection with its bounded outgoing buffer
+     */
+    private class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final long openedAt = System.currentTimeMillis();
+        private volatile long lastDrainedAt = openedAt;
+        // Start of the send in flight, 0 when idle; written only by the draining thread
+        private volatile long sendStartedAt;
+        private volatile Thread sendingThread;
+
+        Connection(Long userId, SseEmitter emitter, int capacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void enqueue(Set<DataWithMediaType> event) {
+            // Drop the oldest pending event rather than growing without bound
+            while (!buffer.offer(event)) {
+                buffer.poll();
+            }
+            scheduleDrain();
+        }
+
+        boolean isStalled(long staleBefore) {
+            return buffer.remainingCapacity() == 0 && lastDrainedAt < staleBefore;
+        }
+
+        boolean isSendTimedOut(long sendDeadline) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && startedAt < sendDeadline;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            sendingThread = Thread.currentThread();
+            try {
+                Set<DataWithMediaType> event;
+                while ((event = buffer.poll()) != null) {
+                    sendStartedAt = System.currentTimeMillis();
+                    emitter.send(event);
+                    sendStartedAt = 0;
+                    lastDrainedAt = System.currentTimeMillis();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or was evicted; the container will not call back for a dead socket
+                remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                sendStartedAt = 0;
+                sendingThread = null;
+                // Clear an interrupt from evict() so it cannot leak into the next task on this thread
+                Thread.interrupted();
+                draining.set(false);
+            }
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
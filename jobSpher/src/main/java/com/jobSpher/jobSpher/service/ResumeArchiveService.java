@@ -0,0 +1,84 @@
+package com.jobSpher.jobSpher.service;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.jobSpher.jobSpher.dto.ResumeExportEntry;
+
+/**
+ * Writes resume archives
+ *
+ * The ZIP is built on the fly directly into the given output stream: each file is
+ * streamed from the storage backend through the deflater in small chunks, so neither a
+ * whole resume nor the archive is ever held in memory. PDF and DOCX files are already
+ * compressed, so the fastest deflate level is used. Resumes whose file is missing are
+ * listed in a missing-resumes.txt entry at the end of the archive.
+ */
+@Service
+public class ResumeArchiveService {
+
+    private static final String MISSING_ENTRY = "missing-resumes.txt";
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    public void writeZip(List<ResumeExportEntry> entries, OutputStream output) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output);
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        Set<String> names = new HashSet<>();
+        List<String> missing = new ArrayList<>();
+        for (ResumeExportEntry entry : entries) {
+            String name = entryName(entry, names);
+            try (InputStream source = fileStorageService.openStream(entry.getResumePath())) {
+                zip.putNextEntry(new ZipEntry(name));
+                source.transferTo(zip);
+                zip.closeEntry();
+            } catch (FileNotFoundException e) {
+                missing.add(name);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            zip.putNextEntry(new ZipEntry(MISSING_ENTRY));
+            zip.write(String.join("\n", missing).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    // "Lastname_Firstname_<applicationId>.pdf", unique within the archive
+    private String entryName(ResumeExportEntry entry, Set<String> names) {
+        String path = entry.getResumePath();
+        int dot = path.lastIndexOf('.');
+        String extension = dot > path.lastIndexOf('/') ? path.substring(dot) : "";
+        String base = sanitize(entry.getApplicantLastName()) + "_" + sanitize(entry.getApplicantFirstName())
+                + "_" + entry.getApplicationId();
+        String name = base + extension;
+        for (int i = 2; !names.add(name); i++) {
+            name = base + "_" + i + extension;
+        }
+        return name;
+    }
+
+    private String sanitize(String value) {
+        if (value == null || value.isBlank()) {
+            return "unknown";
+        }
+        return value.trim().replaceAll("[^\\p{L}\\p{N}.-]+", "-");
+    }
+}
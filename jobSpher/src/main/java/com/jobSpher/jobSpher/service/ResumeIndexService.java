@@ -0,0 +1,209 @@
+package com.jobSpher.jobSpher.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jobSpher.jobSpher.event.ResumeIndexedEvent;
+import com.jobSpher.jobSpher.model.ResumeExtraction;
+import com.jobSpher.jobSpher.repository.ApplicationRepository;
+import com.jobSpher.jobSpher.repository.ApplicationTermRepository;
+import com.jobSpher.jobSpher.repository.ResumeExtractionRepository;
+import com.jobSpher.jobSpher.util.ResumeTextExtractor;
+import com.jobSpher.jobSpher.util.TextTokenizer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Builds the per-job keyword index of applicant resumes
+ *
+ * Each new application gets a PENDING row in resume_extractions in the same transaction.
+ * After commit the application is handed to a small bounded worker pool that extracts the
+ * resume text, tokenizes it and replaces the application's rows in application_terms.
+ * Nothing runs on the request thread. When the pool's queue is full, or the process
+ * restarts, the rows simply stay PENDING and a periodic sweep resubmits them; failed
+ * attempts are retried on later sweeps up to a maximum.
+ */
+@Service
+public class ResumeIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeIndexService.class);
+
+    private static final String INSERT_TERM =
+            "INSERT INTO application_terms (application_id, term, job_id, frequency) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private ResumeExtractionRepository extractionRepository;
+
+    @Autowired
+    private ApplicationTermRepository termRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${resumes.extraction.threads:2}")
+    private int threads;
+
+    @Value("${resumes.extraction.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${resumes.extraction.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${resumes.extraction.max-chars:200000}")
+    private int maxChars;
+
+    private ThreadPoolExecutor executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "resume-extractor-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Interrupted work stays PENDING and is picked up after the restart
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues an application's resume for indexing; must run inside the transaction that created it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void schedule(Long applicationId, Long jobId) {
+        extractionRepository.insertPending(applicationId, jobId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(applicationId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${resumes.extraction.sweep-ms:60000}",
+            initialDelayString = "${resumes.extraction.initial-delay-ms:15000}")
+    public void sweep() {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        extractionRepository.findIdsByStatus(ResumeExtraction.ExtractionStatus.PENDING, PageRequest.of(0, capacity))
+                .forEach(this::submit);
+    }
+
+    private void submit(Long applicationId) {
+        if (!inFlight.add(applicationId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    index(applicationId);
+                } finally {
+                    inFlight.remove(applicationId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full or shutting down; the next sweep retries
+            inFlight.remove(applicationId);
+        }
+    }
+
+    private void index(Long applicationId) {
+        ResumeExtraction extraction = extractionRepository.findById(applicationId).orElse(null);
+        if (extraction == null || extraction.getStatus() != ResumeExtraction.ExtractionStatus.PENDING) {
+            return;
+        }
+        String resumePath = applicationRepository.findResumePathById(applicationId).orElse(null);
+        if (resumePath == null || !ResumeTextExtractor.isSupported(resumePath)) {
+            markUnsupported(applicationId);
+            return;
+        }
+
+        Map<String, Integer> frequencies;
+        try (InputStream input = fileStorageService.openStream(resumePath)) {
+            frequencies = TextTokenizer.termFrequencies(ResumeTextExtractor.extract(resumePath, input, maxChars));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Resume extraction failed for application {}: {}", applicationId, e.getMessage());
+            recordFailure(applicationId, e.getMessage());
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(frequencies.size());
+        frequencies.forEach((term, frequency) ->
+                rows.add(new Object[] { applicationId, term, extraction.getJobId(), frequency }));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            termRepository.deleteByApplicationId(applicationId);
+            jdbcTemplate.batchUpdate(INSERT_TERM, rows);
+            extractionRepository.findById(applicationId).ifPresent(row -> {
+                row.setStatus(ResumeExtraction.ExtractionStatus.INDEXED);
+                row.setAttempts(row.getAttempts() + 1);
+                row.setLastError(null);
+            });
+            eventPublisher.publishEvent(new ResumeIndexedEvent(applicationId));
+        });
+    }
+
+    private void recordFailure(Long applicationId, String error) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                extractionRepository.findById(applicationId).ifPresent(row -> {
+                    row.setAttempts(row.getAttempts() + 1);
+                    row.setStatus(row.getAttempts() >= maxAttempts
+                            ? ResumeExtraction.ExtractionStatus.FAILED
+                            : ResumeExtraction.ExtractionStatus.PENDING);
+                    row.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+                }));
+    }
+
+    private void markUnsupported(Long applicationId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                extractionRepository.findById(applicationId)
+                        .ifPresent(row -> row.setStatus(ResumeExtraction.ExtractionStatus.UNSUPPORTED)));
+    }
+}
@@ -0,0 +1,221 @@
+package com.jobSpher.jobSpher.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.jobSpher.jobSpher.dto.SimilarJob;
+import com.jobSpher.jobSpher.util.LongObjectHashMap;
+
+/**
+ * "Applicants of this job also applied to" recommendations
+ *
+ * Keeps an in-memory item-to-item co-occurrence model: for every job, the jobs that share
+ * applicants with it and how many. The model is loaded once at startup with a single scan
+ * of applications and then updated incrementally as applications are committed. Serving a
+ * request only checks the candidates' status with one primary-key lookup, so jobs that
+ * were closed, rejected or never approved are never returned.
+ *
+ * Each job keeps at most max-neighbors neighbors. When a job's list is full, a new
+ * neighbor replaces the one with the lowest count and inherits that count plus one
+ * (the Space-Saving algorithm), which keeps the frequently shared jobs with bounded memory.
+ */
+@Service
+public class SimilarJobsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarJobsService.class);
+
+    private static final String APPLICATIONS_SQL = "SELECT job_seeker_id, job_id FROM applications";
+    private static final String ACTIVE_JOBS_SQL = "SELECT id FROM jobs WHERE status = 'ACTIVE' AND id IN (";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${recommendations.similar.max-neighbors:50}")
+    private int maxNeighbors;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Model model; // guarded by lock
+    private List<long[]> recordedDuringLoad = new ArrayList<>(); // guarded by lock; null once loaded
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Thread loader = new Thread(this::loadModel, "similar-jobs-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Adds an application to the model once the surrounding transaction commits
+     */
+    public void recordApplication(Long jobSeekerId, Long jobId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(jobSeekerId, jobId);
+                }
+            });
+        } else {
+            record(jobSeekerId, jobId);
+        }
+    }
+
+    /**
+     * @return active jobs sharing the most applicants with the given job, most shared first
+     */
+    public List<SimilarJob> getSimilarJobs(Long jobId, int limit) {
+        List<SimilarJob> candidates;
+        lock.readLock().lock();
+        try {
+            Neighbors neighbors = model == null ? null : model.neighborsByJob.get(jobId);
+            // All neighbors (at most max-neighbors), so inactive ones can be skipped without a second round
+            candidates = neighbors == null ? List.of() : neighbors.top(maxNeighbors);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        Set<Long> active = new HashSet<>(jdbcTemplate.queryForList(
+                ACTIVE_JOBS_SQL + String.join(",", Collections.nCopies(candidates.size(), "?")) + ")",
+                Long.class, candidates.stream().map(SimilarJob::getJobId).toArray()));
+        return candidates.stream()
+                .filter(candidate -> active.contains(candidate.getJobId()))
+                .limit(limit)
+                .toList();
+    }
+
+    private void record(long jobSeekerId, long jobId) {
+        lock.writeLock().lock();
+        try {
+            if (recordedDuringLoad != null) {
+                recordedDuringLoad.add(new long[] { jobSeekerId, jobId });
+            }
+            if (model != null) {
+                model.add(jobSeekerId, jobId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadModel() {
+        long start = System.currentTimeMillis();
+        Model loaded = new Model(maxNeighbors);
+        try {
+            jdbcTemplate.query(APPLICATIONS_SQL, row -> {
+                loaded.add(row.getLong(1), row.getLong(2));
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to load similar jobs model: {}", e.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Applications committed while scanning; add() ignores the ones the scan already saw
+            recordedDuringLoad.forEach(application -> loaded.add(application[0], application[1]));
+            recordedDuringLoad = null;
+            model = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Similar jobs model loaded: {} jobs, {} job seekers in {} ms",
+                loaded.neighborsByJob.size(), loaded.jobsBySeeker.size(), System.currentTimeMillis() - start);
+    }
+
+    private static class Model {
+        private final int maxNeighbors;
+        private final LongObjectHashMap<long[]> jobsBySeeker = new LongObjectHashMap<>(1024);
+        private final LongObjectHashMap<Neighbors> neighborsByJob = new LongObjectHashMap<>(1024);
+
+        Model(int maxNeighbors) {
+            this.maxNeighbors = maxNeighbors;
+        }
+
+        void add(long jobSeekerId, long jobId) {
+            long[] previousJobs = jobsBySeeker.get(jobSeekerId);
+            if (previousJobs == null) {
+                jobsBySeeker.put(jobSeekerId, new long[] { jobId });
+                return;
+            }
+            for (long previous : previousJobs) {
+                if (previous == jobId) {
+                    return; // already counted
+                }
+            }
+            Neighbors neighbors = neighborsByJob.computeIfAbsent(jobId, id -> new Neighbors(maxNeighbors));
+            for (long previous : previousJobs) {
+                neighbors.increment(previous);
+                neighborsByJob.computeIfAbsent(previous, id -> new Neighbors(maxNeighbors)).increment(jobId);
+            }
+            long[] jobs = Arrays.copyOf(previousJobs, previousJobs.length + 1);
+            jobs[previousJobs.length] = jobId;
+            jobsBySeeker.put(jobSeekerId, jobs);
+        }
+    }
+
+    /**
+     * Bounded neighbor counts of one job
+     */
+    private static class Neighbors {
+        private final long[] jobIds;
+        private final int[] counts;
+        private int size;
+
+        Neighbors(int capacity) {
+            jobIds = new long[capacity];
+            counts = new int[capacity];
+        }
+
+        void increment(long jobId) {
+            int lowest = 0;
+            for (int i = 0; i < size; i++) {
+                if (jobIds[i] == jobId) {
+                    counts[i]++;
+                    return;
+                }
+                if (counts[i] < counts[lowest]) {
+                    lowest = i;
+                }
+            }
+            if (size < jobIds.length) {
+                jobIds[size] = jobId;
+                counts[size++] = 1;
+            } else if (jobIds.length > 0) {
+                jobIds[lowest] = jobId;
+                counts[lowest]++;
+            }
+        }
+
+        List<SimilarJob> top(int limit) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(counts[b], counts[a]));
+            List<SimilarJob> result = new ArrayList<>(Math.min(limit, size));
+            for (int i = 0; i < size && i < limit; i++) {
+                result.add(new SimilarJob(jobIds[order[i]], counts[order[i]]));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.jobSpher.jobSpher.service;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jobSpher.jobSpher.dto.LayoutMigrationStatus;
+import com.jobSpher.jobSpher.storage.StorageBackend;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Moves files uploaded before sharding into the sharded layout
+ *
+ * Runs in the background when started by an admin. Each referencing column is walked in
+ * id order, one chunk at a time: the chunk's distinct flat paths are moved in parallel
+ * on a small worker pool, then the rows pointing at moved files are rewritten in one
+ * batched transaction, together with their stored_files entries. Files are always moved
+ * before the rows change, and FileStorageService resolves either layout, so downloads
+ * keep working throughout and for links issued before the move.
+ *
+ * The run is idempotent: files already moved by an earlier or interrupted run are
+ * recognised and only their rows are rewritten, so it can simply be started again.
+ *
+ * Only one node may run it at a time: on PostgreSQL the run holds a session-level
+ * advisory lock on a dedicated connection for its whole duration, and starting it while
+ * another node holds the lock fails. The lock is released when the run ends or the
+ * connection drops with the node.
+ */
+@Service
+public class StorageLayoutMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageLayoutMigrationService.class);
+
+    // Tables and columns holding upload paths; identifiers are constants, never user input
+    private static final String[][] PATH_COLUMNS = {
+            { "users", "resume_path" },
+            { "applications", "resume_path" },
+            { "manual_payments", "file_path" },
+            { "companies", "logo_path" },
+    };
+
+    // pg_advisory_lock key reserved for this migration
+    private static final long ADVISORY_LOCK_KEY = 0x4A53_4C41_594F_5554L;
+
+    private static final String MERGE_STORED_FILE =
+            "INSERT INTO stored_files (path, sha256, size_bytes, ref_count, created_at, last_referenced_at) " +
+            "SELECT ?, sha256, size_bytes, ref_count, created_at, last_referenced_at FROM stored_files WHERE path = ? " +
+            "ON CONFLICT (path) DO UPDATE SET ref_count = stored_files.ref_count + EXCLUDED.ref_count";
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${file.layout-migration.threads:4}")
+    private int threads;
+
+    @Value("${file.layout-migration.chunk-size:500}")
+    private int chunkSize;
+
+    private final AtomicLong filesMoved = new AtomicLong();
+    private final AtomicLong filesMissing = new AtomicLong();
+    private final AtomicLong filesFailed = new AtomicLong();
+    private final AtomicLong rowsUpdated = new AtomicLong();
+
+    private volatile String state = "IDLE";
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile boolean stopRequested;
+    private Thread worker;
+
+    /**
+     * Starts a migration run unless one is already running
+     *
+     * @throws RuntimeException if a run is in progress on another node
+     */
+    public synchronized LayoutMigrationStatus start() {
+        if (!"RUNNING".equals(state)) {
+            Connection lock = acquireLock();
+            filesMoved.set(0);
+            filesMissing.set(0);
+            filesFailed.set(0);
+            rowsUpdated.set(0);
+            state = "RUNNING";
+            startedAt = LocalDateTime.now();
+            finishedAt = null;
+            error = null;
+            stopRequested = false;
+            worker = new Thread(() -> run(lock), "storage-layout-migration");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        return getStatus();
+    }
+
+    public LayoutMigrationStatus getStatus() {
+        return new LayoutMigrationStatus(state, startedAt, finishedAt, filesMoved.get(), filesMissing.get(),
+                filesFailed.get(), rowsUpdated.get(), error);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Takes the cluster-wide advisory lock on a connection of its own, outside any transaction
+     *
+     * @return the connection holding the lock, or null when not on PostgreSQL
+     */
+    private Connection acquireLock() {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            if (!"PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+                connection.close();
+                return null;
+            }
+            connection.setAutoCommit(true);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                statement.setLong(1, ADVISORY_LOCK_KEY);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        return connection;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new RuntimeException("Failed to lock storage layout migration: " + e.getMessage());
+        }
+        closeQuietly(connection);
+        throw new RuntimeException("Storage layout migration is already running on another node");
+    }
+
+    private void releaseLock(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            statement.execute();
+        } catch (SQLException e) {
+            // Closing the session below releases the lock anyway
+            log.warn("Failed to release storage layout migration lock: {}", e.getMessage());
+        }
+        closeQuietly(connection);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close connection: {}", e.getMessage());
+        }
+    }
+
+    private void run(Connection lock) {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "storage-layout-mover-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (String[] column : PATH_COLUMNS) {
+                migrateColumn(column[0], column[1], pool);
+            }
+            state = stopRequested ? "STOPPED" : "COMPLETED";
+            log.info("Storage layout migration {}: {} files moved, {} missing, {} failed, {} rows updated",
+                    state.toLowerCase(), filesMoved.get(), filesMissing.get(), filesFailed.get(), rowsUpdated.get());
+        } catch (RuntimeException e) {
+            log.error("Storage layout migration failed: {}", e.getMessage());
+            error = e.getMessage();
+            state = "FAILED";
+        } finally {
+            finishedAt = LocalDateTime.now();
+            pool.shutdownNow();
+            releaseLock(lock);
+        }
+    }
+
+    private void migrateColumn(String table, String column, ExecutorService pool) {
+        // Flat paths have exactly one slash: "resumes/<name>"
+        String select = "SELECT id, " + column + " FROM " + table +
+                " WHERE " + column + " LIKE '%/%' AND " + column + " NOT LIKE '%/%/%' AND id > ? ORDER BY id LIMIT ?";
+        String update = "UPDATE " + table + " SET " + column + " = ? WHERE id = ? AND " + column + " = ?";
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long afterId = 0;
+        while (!stopRequested) {
+            List<Object[]> rows = jdbcTemplate.query(select,
+                    (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2) }, afterId, chunkSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+
+            Set<String> paths = new LinkedHashSet<>();
+            rows.forEach(row -> paths.add((String) row[1]));
+            Set<String> moved = moveAll(paths, pool);
+
+            List<Object[]> updates = new ArrayList<>();
+            for (Object[] row : rows) {
+                String path = (String) row[1];
+                if (moved.contains(path)) {
+                    updates.add(new Object[] { FileStorageService.shardedPath(path), row[0], path });
+                }
+            }
+            if (updates.isEmpty()) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int updated : jdbcTemplate.batchUpdate(update, updates)) {
+                    rowsUpdated.addAndGet(Math.max(updated, 0));
+                }
+                for (String path : moved) {
+                    jdbcTemplate.update(MERGE_STORED_FILE, FileStorageService.shardedPath(path), path);
+                    jdbcTemplate.update("DELETE FROM stored_files WHERE path = ?", path);
+                }
+            });
+        }
+    }
+
+    // Moves the files in parallel and returns the paths now present in the sharded layout
+    private Set<String> moveAll(Set<String> paths, ExecutorService pool) {
+        Map<String, Future<Boolean>> results = new LinkedHashMap<>();
+        for (String path : paths) {
+            results.put(path, pool.submit(() -> move(path)));
+        }
+        Set<String> moved = new LinkedHashSet<>();
+        for (Map.Entry<String, Future<Boolean>> result : results.entrySet()) {
+            try {
+                if (result.getValue().get()) {
+                    moved.add(result.getKey());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            } catch (ExecutionException e) {
+                log.warn("Failed to move {}: {}", result.getKey(), e.getCause().getMessage());
+                filesFailed.incrementAndGet();
+            }
+        }
+        return moved;
+    }
+
+    private boolean move(String path) throws IOException {
+        String target = FileStorageService.shardedPath(path);
+        if (target.equals(path)) {
+            return false;
+        }
+        try {
+            storageBackend.move(path, target);
+        } catch (FileNotFoundException e) {
+            // Moved by an earlier run, or referenced from another column already migrated
+            if (storageBackend.exists(target)) {
+                return true;
+            }
+            filesMissing.incrementAndGet();
+            return false;
+        }
+        filesMoved.incrementAndGet();
+        try {
+            // Thumbnails are regenerated under the new path on first request
+            thumbnailService.delete(path);
+        } catch (IOException e) {
+            log.debug("Failed to delete thumbnail of {}: {}", path, e.getMessage());
+        }
+        return true;
+    }
+}
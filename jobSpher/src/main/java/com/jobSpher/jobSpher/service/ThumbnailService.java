@@ -0,0 +1,157 @@
+package com.jobSpher.jobSpher.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.jobSpher.jobSpher.storage.StorageBackend;
+import com.jobSpher.jobSpher.util.ThumbnailRenderer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Generates thumbnails of uploaded images and PDFs
+ *
+ * Files stored in one of the configured directories (company logos and payment proofs
+ * by default) are handed to a small bounded worker pool once they are stored; the worker
+ * renders a JPEG thumbnail and stores it next to the original as "<name>.thumb.jpg".
+ * Nothing runs on the request thread. When the queue is full the file is skipped and its
+ * thumbnail is generated the first time it is requested instead, which also covers
+ * files uploaded before thumbnails existed.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private static final String THUMBNAIL_SUFFIX = ".thumb.jpg";
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Value("${file.thumbnails.directories:logos,payments}")
+    private Set<String> directories;
+
+    @Value("${file.thumbnails.max-dimension:320}")
+    private int maxDimension;
+
+    @Value("${file.thumbnails.threads:2}")
+    private int threads;
+
+    @Value("${file.thumbnails.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    // Rendering is background work; keep it from competing with request threads
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean isSupported(String filePath) {
+        int slash = filePath.indexOf('/');
+        return slash > 0
+                && directories.contains(filePath.substring(0, slash))
+                && !filePath.endsWith(THUMBNAIL_SUFFIX)
+                && ThumbnailRenderer.isSupported(filePath);
+    }
+
+    public static String thumbnailPath(String filePath) {
+        int dot = filePath.lastIndexOf('.');
+        String base = dot > filePath.lastIndexOf('/') ? filePath.substring(0, dot) : filePath;
+        return base + THUMBNAIL_SUFFIX;
+    }
+
+    /**
+     * Queues thumbnail generation for a stored file; a no-op for unsupported files
+     */
+    public void schedule(String filePath) {
+        if (!isSupported(filePath) || !inFlight.add(filePath)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(filePath);
+                } finally {
+                    inFlight.remove(filePath);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full or shutting down; generated on first request instead
+            inFlight.remove(filePath);
+        }
+    }
+
+    /**
+     * Path of the file's thumbnail if it has been generated. Otherwise generation is queued
+     * and the caller should fall back to the original.
+     */
+    public Optional<String> findThumbnail(String filePath) throws IOException {
+        if (!isSupported(filePath)) {
+            return Optional.empty();
+        }
+        String thumbnailPath = thumbnailPath(filePath);
+        if (storageBackend.exists(thumbnailPath)) {
+            return Optional.of(thumbnailPath);
+        }
+        schedule(filePath);
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes the thumbnail of a file that is being deleted
+     */
+    public void delete(String filePath) throws IOException {
+        if (isSupported(filePath)) {
+            storageBackend.delete(thumbnailPath(filePath));
+        }
+    }
+
+    private void generate(String filePath) {
+        String thumbnailPath = thumbnailPath(filePath);
+        try {
+            // Content-addressed files may already have one from an identical upload
+            if (storageBackend.exists(thumbnailPath)) {
+                return;
+            }
+            ByteArrayOutputStream thumbnail = new ByteArrayOutputStream(32 * 1024);
+            try (InputStream input = storageBackend.get(filePath)) {
+                ThumbnailRenderer.render(filePath, input, maxDimension, thumbnail);
+            }
+            storageBackend.put(thumbnailPath, new ByteArrayInputStream(thumbnail.toByteArray()), thumbnail.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Thumbnail generation failed for {}: {}", filePath, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.jobSpher.jobSpher.service;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jobSpher.jobSpher.dto.GarbageCollectionReport;
+import com.jobSpher.jobSpher.storage.StorageBackend;
+import com.jobSpher.jobSpher.storage.StoredObject;
+import com.jobSpher.jobSpher.util.LongHashSet;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Mark-and-sweep collector for orphaned uploads
+ *
+ * Files are stored before the row that references them is committed, so failed requests,
+ * replaced resumes and released content-addressed blobs leave files nobody points at.
+ *
+ * Mark: every path referenced by the database is streamed into a set of 64-bit path
+ * fingerprints (about 16 bytes per path), in both the flat and the sharded layout and
+ * together with its thumbnail. A fingerprint collision can only keep an orphan, never
+ * delete a referenced file.
+ *
+ * Liveness is decided by those reference columns alone, not by stored_files.ref_count:
+ * the counts are bookkeeping that a crash between storing a file and committing its row
+ * can leave too high, and a count that never reaches zero would keep a blob forever.
+ *
+ * Sweep: every object of the storage backend is listed through StorageBackend.list (a
+ * directory walk for local storage, paginated ListObjectsV2 for S3). Unmarked objects last
+ * modified before the grace period are deleted in bounded batches. Each batch locks its
+ * stored_files rows first and keeps any blob referenced again within the grace period
+ * (every acquire and retain sets last_referenced_at), so a row pointing at it that was
+ * not yet committed during the mark phase doesn't lose its file; a concurrent upload of
+ * the same content waits for the lock and then writes it anew.
+ * Abandoned partial writes under .tmp are removed too; chunked upload parts (.uploads)
+ * are left to ChunkedUploadService.
+ *
+ * Runs nightly and on demand, for both the local and the S3 backend.
+ */
+@Service
+public class UploadGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadGarbageCollector.class);
+
+    private static final String TEMP_DIRECTORY = ".tmp";
+    private static final String PARTS_DIRECTORY = ".uploads";
+    private static final int FETCH_SIZE = 1000;
+
+    // Queries returning every referenced upload path; identifiers are constants, never user input
+    private static final String[] REFERENCE_QUERIES = {
+            "SELECT resume_path FROM users WHERE resume_path IS NOT NULL",
+            "SELECT resume_path FROM applications WHERE resume_path IS NOT NULL",
+            "SELECT file_path FROM manual_payments WHERE file_path IS NOT NULL",
+            "SELECT logo_path FROM companies WHERE logo_path IS NOT NULL",
+            "SELECT file_path FROM upload_sessions WHERE file_path IS NOT NULL",
+    };
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${file.gc.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${file.gc.batch-size:500}")
+    private int batchSize;
+
+    @Value("${file.gc.max-deletions:10000}")
+    private long maxDeletions;
+
+    private final AtomicLong filesScanned = new AtomicLong();
+    private final AtomicLong filesDeleted = new AtomicLong();
+    private final AtomicLong tempFilesDeleted = new AtomicLong();
+    private final AtomicLong bytesReclaimed = new AtomicLong();
+    private final AtomicLong filesFailed = new AtomicLong();
+
+    private volatile String state = "IDLE";
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long referencedPaths;
+    private volatile boolean limitReached;
+    private volatile String error;
+    private volatile boolean stopRequested;
+
+    /**
+     * Starts a collection run in the background unless one is already running
+     */
+    public synchronized GarbageCollectionReport start() {
+        if (!"RUNNING".equals(state)) {
+            filesScanned.set(0);
+            filesDeleted.set(0);
+            tempFilesDeleted.set(0);
+            bytesReclaimed.set(0);
+            filesFailed.set(0);
+            referencedPaths = 0;
+            limitReached = false;
+            state = "RUNNING";
+            startedAt = LocalDateTime.now();
+            finishedAt = null;
+            error = null;
+            stopRequested = false;
+            Thread worker = new Thread(this::run, "upload-gc");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        return getReport();
+    }
+
+    public GarbageCollectionReport getReport() {
+        return new GarbageCollectionReport(state, startedAt, finishedAt, referencedPaths, filesScanned.get(),
+                filesDeleted.get(), tempFilesDeleted.get(), bytesReclaimed.get(), filesFailed.get(), limitReached,
+                error);
+    }
+
+    @Scheduled(cron = "${file.gc.cron:0 45 3 * * *}")
+    public void collectNightly() {
+        start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopRequested = true;
+    }
+
+    private void run() {
+        try {
+            // Anything written after this instant may belong to a request still in flight
+            Instant cutoff = Instant.now().minus(Duration.ofHours(graceHours));
+            LongHashSet referenced = mark();
+            sweep(referenced, cutoff);
+            state = stopRequested ? "STOPPED" : "COMPLETED";
+            log.info("Upload garbage collection {}: {} of {} files deleted ({} bytes), {} temp files, {} failed",
+                    state.toLowerCase(), filesDeleted.get(), filesScanned.get(), bytesReclaimed.get(),
+                    tempFilesDeleted.get(), filesFailed.get());
+        } catch (IOException | RuntimeException e) {
+            log.error("Upload garbage collection failed: {}", e.getMessage());
+            error = e.getMessage();
+            state = "FAILED";
+        } finally {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private LongHashSet mark() {
+        LongHashSet referenced = new LongHashSet(1 << 16);
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(FETCH_SIZE);
+        // PostgreSQL only honours the fetch size (a server-side cursor) inside a transaction
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String query : REFERENCE_QUERIES) {
+                streaming.query(query, rs -> {
+                    markPath(referenced, rs.getString(1));
+                    referencedPaths++; // only written by this thread
+                });
+            }
+        });
+        return referenced;
+    }
+
+    private static void markPath(LongHashSet referenced, String filePath) {
+        String path = filePath.replaceFirst("^/+", "");
+        referenced.add(fingerprint(path));
+        referenced.add(fingerprint(ThumbnailService.thumbnailPath(path)));
+        String alternate = FileStorageService.alternatePath(path);
+        if (alternate != null) {
+            referenced.add(fingerprint(alternate));
+            referenced.add(fingerprint(ThumbnailService.thumbnailPath(alternate)));
+        }
+    }
+
+    private void sweep(LongHashSet referenced, Instant cutoff) throws IOException {
+        Map<String, Long> batch = new LinkedHashMap<>();
+        storageBackend.list("", object -> {
+            if (stopRequested) {
+                return false;
+            }
+            String key = object.getKey();
+            int slash = key.indexOf('/');
+            if (slash == -1) {
+                return true; // uploads always live in a directory
+            }
+            String directory = key.substring(0, slash);
+            if (PARTS_DIRECTORY.equals(directory)) {
+                return true;
+            }
+            if (TEMP_DIRECTORY.equals(directory)) {
+                deleteTempFile(object, cutoff);
+                return true;
+            }
+            filesScanned.incrementAndGet();
+            if (object.getLastModified().isAfter(cutoff) || referenced.contains(fingerprint(key))) {
+                return true;
+            }
+            batch.put(key, object.getSize());
+            if (batch.size() >= batchSize) {
+                deleteBatch(batch, cutoff);
+                batch.clear();
+            }
+            if (filesDeleted.get() >= maxDeletions) {
+                limitReached = true;
+                return false;
+            }
+            return !stopRequested;
+        });
+        if (!batch.isEmpty() && !limitReached && !stopRequested) {
+            deleteBatch(batch, cutoff);
+        }
+    }
+
+    private void deleteBatch(Map<String, Long> batch, Instant cutoff) {
+        String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Row locks make a concurrent acquire() of the same blob wait for this batch
+                Set<String> inUse = new HashSet<>();
+                List<String> releasedBlobs = new ArrayList<>();
+                jdbcTemplate.query(
+                        "SELECT path, last_referenced_at FROM stored_files WHERE path IN (" + placeholders
+                                + ") FOR UPDATE",
+                        rs -> {
+                            // Acquired or retained again since the mark phase, by a row not committed yet
+                            Timestamp lastReferenced = rs.getTimestamp(2);
+                            if (lastReferenced.toInstant().isAfter(cutoff)) {
+                                inUse.add(rs.getString(1));
+                            } else {
+                                releasedBlobs.add(rs.getString(1));
+                            }
+                        },
+                        batch.keySet().toArray());
+
+                for (Map.Entry<String, Long> candidate : batch.entrySet()) {
+                    if (inUse.contains(candidate.getKey())) {
+                        continue;
+                    }
+                    try {
+                        storageBackend.delete(candidate.getKey());
+                        filesDeleted.incrementAndGet();
+                        bytesReclaimed.addAndGet(candidate.getValue());
+                    } catch (IOException e) {
+                        filesFailed.incrementAndGet();
+                        releasedBlobs.remove(candidate.getKey());
+                        log.warn("Failed to delete orphaned upload {}: {}", candidate.getKey(), e.getMessage());
+                    }
+                }
+                if (!releasedBlobs.isEmpty()) {
+                    jdbcTemplate.batchUpdate("DELETE FROM stored_files WHERE path = ?",
+                            releasedBlobs.stream().map(path -> new Object[] { path }).toList());
+                }
+            });
+        } catch (RuntimeException e) {
+            filesFailed.addAndGet(batch.size());
+            log.error("Upload garbage collection batch failed: {}", e.getMessage());
+        }
+    }
+
+    private void deleteTempFile(StoredObject object, Instant cutoff) {
+        if (object.getLastModified().isAfter(cutoff)) {
+            return;
+        }
+        try {
+            storageBackend.delete(object.getKey());
+            tempFilesDeleted.incrementAndGet();
+            bytesReclaimed.addAndGet(object.getSize());
+        } catch (IOException e) {
+            filesFailed.incrementAndGet();
+        }
+    }
+
+    // 64-bit FNV-1a over the path's chars, finished with the MurmurHash3 mixer
+    private static long fingerprint(String path) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < path.length(); i++) {
+            h ^= path.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
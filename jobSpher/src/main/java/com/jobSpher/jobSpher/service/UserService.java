@@ -0,0 +1,39 @@
+package com.jobSpher.jobSpher.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.UserRepository;
+
+/**
+ * Service for user profile changes that involve stored files
+ */
+@Service
+public class UserService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    /**
+     * Points the job seeker's profile at a newly stored resume and releases the reference
+     * held by the previous one, in the same transaction. Applications that were submitted
+     * with the previous resume hold their own reference and keep it.
+     */
+    @Transactional
+    public User replaceResume(User jobSeeker, String resumePath) {
+        User user = userRepository.findById(jobSeeker.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        String previous = user.getResumePath();
+        user.setResumePath(resumePath);
+        user = userRepository.save(user);
+        if (previous != null) {
+            fileStorageService.releaseFile(previous);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,247 @@
+package com.jobSpher.jobSpher.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * Storage backend on S3 or any S3-compatible service (e.g. MinIO)
+ *
+ * Objects larger than one part are uploaded with multipart upload, one part buffer at a
+ * time; a failed upload is aborted so no orphaned parts are billed. Reads stream the
+ * object body directly from the HTTP response, and range reads are passed to S3 as a
+ * Range header so only the requested bytes are transferred.
+ *
+ * For MinIO set file.storage.s3.endpoint (e.g. http://localhost:9000) and keep path-style access.
+ * Without an access key the default AWS credentials chain is used.
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.backend", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend {
+
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024; // S3 minimum for all but the last part
+
+    @Value("${file.storage.s3.bucket}")
+    private String bucket;
+
+    @Value("${file.storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${file.storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${file.storage.s3.path-style:true}")
+    private boolean pathStyle;
+
+    @Value("${file.storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${file.storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${file.storage.s3.part-size:8388608}")
+    private long partSize;
+
+    private S3Client client;
+
+    @PostConstruct
+    public void start() {
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalStateException("file.storage.s3.part-size must be at least " + MIN_PART_SIZE);
+        }
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .forcePathStyle(pathStyle);
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        builder.credentialsProvider(accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+        client = builder.build();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        long size = Files.size(source);
+        try (InputStream input = Files.newInputStream(source)) {
+            put(key, input, size);
+        }
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public void put(String key, InputStream content, long size) throws IOException {
+        try {
+            if (size <= partSize) {
+                client.putObject(PutObjectRequest.builder().bucket(bucket).key(normalize(key)).contentLength(size).build(),
+                        RequestBody.fromInputStream(content, size));
+            } else {
+                putMultipart(normalize(key), content, size);
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Failed to store " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void putMultipart(String key, InputStream content, long size) throws IOException {
+        String uploadId = client.createMultipartUpload(
+                CreateMultipartUploadRequest.builder().bucket(bucket).key(key).build()).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            byte[] buffer = new byte[(int) partSize];
+            long remaining = size;
+            for (int partNumber = 1; remaining > 0; partNumber++) {
+                int length = content.readNBytes(buffer, 0, (int) Math.min(partSize, remaining));
+                if (length == 0) {
+                    throw new IOException("Stream ended " + remaining + " bytes early");
+                }
+                String eTag = client.uploadPart(
+                        UploadPartRequest.builder().bucket(bucket).key(key).uploadId(uploadId)
+                                .partNumber(partNumber).contentLength((long) length).build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                remaining -= length;
+            }
+            client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            client.abortMultipartUpload(
+                    AbortMultipartUploadRequest.builder().bucket(bucket).key(key).uploadId(uploadId).build());
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        try {
+            HeadObjectResponse head = client.headObject(
+                    HeadObjectRequest.builder().bucket(bucket).key(normalize(key)).build());
+            return Optional.of(new StoredObject(normalize(key), head.contentLength(), head.lastModified()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new IOException("Failed to read metadata of " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return open(GetObjectRequest.builder().bucket(bucket).key(normalize(key)).build(), key);
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long end) throws IOException {
+        return open(GetObjectRequest.builder().bucket(bucket).key(normalize(key))
+                .range("bytes=" + start + "-" + end).build(), key);
+    }
+
+    private InputStream open(GetObjectRequest request, String key) throws IOException {
+        try {
+            return client.getObject(request);
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException("File not found: " + key);
+        } catch (S3Exception e) {
+            throw new IOException("Failed to read " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(normalize(key)).build());
+        } catch (S3Exception e) {
+            throw new IOException("Failed to delete " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void list(String prefix, ObjectVisitor visitor) throws IOException {
+        String continuationToken = null;
+        do {
+            ListObjectsV2Response page;
+            try {
+                page = client.listObjectsV2(ListObjectsV2Request.builder().bucket(bucket)
+                        .prefix(normalize(prefix)).continuationToken(continuationToken).build());
+            } catch (S3Exception e) {
+                throw new IOException("Failed to list " + prefix + ": " + e.getMessage(), e);
+            }
+            for (S3Object object : page.contents()) {
+                if (!visitor.visit(new StoredObject(object.key(), object.size(), object.lastModified()))) {
+                    return;
+                }
+            }
+            continuationToken = Boolean.TRUE.equals(page.isTruncated()) ? page.nextContinuationToken() : null;
+        } while (continuationToken != null);
+    }
+
+    @Override
+    public void move(String source, String target) throws IOException {
+        // Server-side copy; uploads are capped well below the 5 GB single-copy limit
+        try {
+            client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(bucket).sourceKey(normalize(source))
+                    .destinationBucket(bucket).destinationKey(normalize(target))
+                    .build());
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException("File not found: " + source);
+        } catch (S3Exception e) {
+            throw new IOException("Failed to move " + source + ": " + e.getMessage(), e);
+        }
+        delete(source);
+    }
+
+    private static String normalize(String key) {
+        return key.replace('\\', '/').replaceFirst("^/+", "");
+    }
+}
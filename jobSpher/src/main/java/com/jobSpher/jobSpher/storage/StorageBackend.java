@@ -0,0 +1,87 @@
+package com.jobSpher.jobSpher.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Storage SPI for uploaded files
+ *
+ * Keys are relative, slash separated paths such as "resumes/3c7b....pdf"; they are what
+ * gets stored in the database. Implementations must be safe for concurrent use. Reads
+ * throw FileNotFoundException for keys that don't exist.
+ *
+ * Selected with file.storage.backend: "local" (default) or "s3".
+ */
+public interface StorageBackend {
+
+    /**
+     * Stores a local file under the key, replacing any existing object. The source file may
+     * be moved rather than copied, so callers must not use it afterwards.
+     */
+    void put(String key, Path source) throws IOException;
+
+    /**
+     * Stores size bytes read from the stream under the key, replacing any existing object
+     */
+    void put(String key, InputStream content, long size) throws IOException;
+
+    Optional<StoredObject> stat(String key) throws IOException;
+
+    default boolean exists(String key) throws IOException {
+        return stat(key).isPresent();
+    }
+
+    /**
+     * Opens the whole object for streaming; the caller closes the stream
+     */
+    InputStream get(String key) throws IOException;
+
+    /**
+     * Opens bytes start..end (both inclusive) of the object for streaming
+     */
+    InputStream getRange(String key, long start, long end) throws IOException;
+
+    /**
+     * The object's file on the local filesystem, for backends that keep objects as files, so
+     * it can be served with zero-copy transfers; empty for remote backends
+     */
+    default Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes the object; deleting a missing key is not an error
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * Visits every object whose key starts with the prefix ("" for all), in no particular
+     * order, until the visitor returns false. Objects written during the listing may or may
+     * not be visited.
+     */
+    void list(String prefix, ObjectVisitor visitor) throws IOException;
+
+    /**
+     * Moves an object to another key, replacing any object there. Implementations should
+     * override this with a rename or server-side copy; the default streams the bytes.
+     */
+    default void move(String source, String target) throws IOException {
+        StoredObject object = stat(source)
+                .orElseThrow(() -> new FileNotFoundException("File not found: " + source));
+        try (InputStream content = get(source)) {
+            put(target, content, object.getSize());
+        }
+        delete(source);
+    }
+
+    /**
+     * Receives the objects of list(); returns false to stop listing
+     */
+    @FunctionalInterface
+    interface ObjectVisitor {
+        boolean visit(StoredObject object) throws IOException;
+    }
+}
@@ -0,0 +1,87 @@
+package com.jobSpher.jobSpher.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Spring Resource over a stored object
+ *
+ * Length and modification time come from the object's metadata, so writing the resource
+ * to a response never reads it twice; every getInputStream() opens a new stream from the backend.
+ *
+ * Objects of the local backend are exposed as files (isFile(), getFile(), readableChannel()),
+ * so they can be sent with sendfile and range requests seek in the file instead of
+ * skipping through a stream.
+ */
+public class StorageResource extends AbstractResource {
+
+    private final StorageBackend backend;
+    private final StoredObject object;
+    private final Path file;
+
+    public StorageResource(StorageBackend backend, StoredObject object) {
+        this.backend = backend;
+        this.object = object;
+        this.file = backend.localFile(object.getKey()).orElse(null);
+    }
+
+    /**
+     * Key the object is actually stored under
+     */
+    public String getKey() {
+        return object.getKey();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return file != null ? Files.newInputStream(file) : backend.get(object.getKey());
+    }
+
+    @Override
+    public boolean isFile() {
+        return file != null;
+    }
+
+    @Override
+    public File getFile() throws IOException {
+        return file != null ? file.toFile() : super.getFile();
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        return file != null ? FileChannel.open(file, StandardOpenOption.READ) : super.readableChannel();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return object.getSize();
+    }
+
+    @Override
+    public long lastModified() {
+        return object.getLastModified().toEpochMilli();
+    }
+
+    @Override
+    public String getFilename() {
+        return object.getKey().substring(object.getKey().lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Stored object [" + object.getKey() + "]";
+    }
+}
@@ -0,0 +1,17 @@
+package com.jobSpher.jobSpher.storage;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Metadata of a stored object
+ */
+@Data
+@AllArgsConstructor
+public class StoredObject {
+    private String key;
+    private long size;
+    private Instant lastModified;
+}
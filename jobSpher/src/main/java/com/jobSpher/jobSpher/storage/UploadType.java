@@ -0,0 +1,56 @@
+package com.jobSpher.jobSpher.storage;
+
+import java.util.Locale;
+
+/**
+ * Kinds of uploaded files, with their storage directory and allowed MIME types
+ */
+public enum UploadType {
+
+    // Resumes: PDF and Word documents only
+    RESUME("resumes", "application/pdf", "application/msword",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+    // Payment proofs: Images and PDFs
+    PAYMENT("payments", "image/", "application/pdf"),
+    // Company logos: Images only
+    LOGO("logos", "image/");
+
+    private final String subdirectory;
+    private final String[] allowedTypes;
+
+    UploadType(String subdirectory, String... allowedTypes) {
+        this.subdirectory = subdirectory;
+        this.allowedTypes = allowedTypes;
+    }
+
+    public String getSubdirectory() {
+        return subdirectory;
+    }
+
+    public String[] getAllowedTypes() {
+        return allowedTypes;
+    }
+
+    public boolean isAllowed(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        for (String allowedType : allowedTypes) {
+            if (contentType.startsWith(allowedType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses "resume", "payment" or "logo" (any case)
+     */
+    public static UploadType fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid file type");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jobSpher.jobSpher.util;
+
+import java.util.Locale;
+
+/**
+ * Detects a file's MIME type from its first bytes
+ *
+ * Only the types uploads may have are recognised: PDF, the common image formats and Word
+ * documents. DOCX files are ZIP archives, so a ZIP is only reported as DOCX when its
+ * file name says so. Anything else is application/octet-stream, which no upload type allows.
+ */
+public final class ContentTypeSniffer {
+
+    public static final int HEADER_LENGTH = 16;
+
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private ContentTypeSniffer() {
+    }
+
+    public static String sniff(byte[] header, int length, String filename) {
+        if (startsWith(header, length, '%', 'P', 'D', 'F', '-')) {
+            return "application/pdf";
+        }
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G')) {
+            return "image/png";
+        }
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, length, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(header, length, 'B', 'M')) {
+            return "image/bmp";
+        }
+        if (startsWith(header, length, 'R', 'I', 'F', 'F') && length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "image/webp";
+        }
+        if (startsWith(header, length, 0xD0, 0xCF, 0x11, 0xE0)) {
+            // OLE compound document: legacy .doc
+            return "application/msword";
+        }
+        if (startsWith(header, length, 'P', 'K', 0x03, 0x04)) {
+            return filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".docx") ? DOCX : "application/zip";
+        }
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] header, int length, int... magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
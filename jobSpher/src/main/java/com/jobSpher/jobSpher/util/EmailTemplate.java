@@ -0,0 +1,93 @@
+package com.jobSpher.jobSpher.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled plain-text email template
+ *
+ * The template source is split once into literal and ${placeholder} segments, so
+ * rendering is a single pass of appends with no parsing or regex work per message.
+ * The first line must be "Subject: ..." and is compiled as the subject template.
+ *
+ * Values are inserted verbatim and never parsed again, so a value containing "${...}"
+ * is not expanded. Line breaks in values are replaced with spaces in the subject, so a
+ * user-supplied title cannot add header lines.
+ */
+public class EmailTemplate {
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private final List<Segment> subject;
+    private final List<Segment> body;
+
+    private EmailTemplate(List<Segment> subject, List<Segment> body) {
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public static EmailTemplate compile(String source) {
+        String normalized = source.replace("\r\n", "\n");
+        int firstLineEnd = normalized.indexOf('\n');
+        String firstLine = firstLineEnd == -1 ? normalized : normalized.substring(0, firstLineEnd);
+        if (!firstLine.startsWith(SUBJECT_PREFIX)) {
+            throw new IllegalArgumentException("Email template must start with a 'Subject:' line");
+        }
+        String bodySource = firstLineEnd == -1 ? "" : normalized.substring(firstLineEnd + 1);
+        return new EmailTemplate(parse(firstLine.substring(SUBJECT_PREFIX.length()).trim()), parse(bodySource));
+    }
+
+    public String renderSubject(Map<String, String> values) {
+        return render(subject, values, true);
+    }
+
+    public String renderBody(Map<String, String> values) {
+        return render(body, values, false);
+    }
+
+    private static String render(List<Segment> segments, Map<String, String> values, boolean singleLine) {
+        StringBuilder out = new StringBuilder(128);
+        for (Segment segment : segments) {
+            if (segment.placeholder) {
+                String value = values.get(segment.text);
+                if (value != null && singleLine) {
+                    value = value.replace('\r', ' ').replace('\n', ' ');
+                }
+                out.append(value != null ? value : "");
+            } else {
+                out.append(segment.text);
+            }
+        }
+        return out.toString();
+    }
+
+    private static List<Segment> parse(String source) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int start = source.indexOf("${", position);
+            int end = start == -1 ? -1 : source.indexOf('}', start);
+            if (start == -1 || end == -1) {
+                segments.add(new Segment(source.substring(position), false));
+                break;
+            }
+            if (start > position) {
+                segments.add(new Segment(source.substring(position, start), false));
+            }
+            segments.add(new Segment(source.substring(start + 2, end), true));
+            position = end + 1;
+        }
+        return segments;
+    }
+
+    private static class Segment {
+        private final String text;
+        private final boolean placeholder;
+
+        Segment(String text, boolean placeholder) {
+            this.text = text;
+            this.placeholder = placeholder;
+        }
+    }
+}
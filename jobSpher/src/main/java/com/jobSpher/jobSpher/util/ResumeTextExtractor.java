@@ -0,0 +1,112 @@
+package com.jobSpher.jobSpher.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+/**
+ * Pulls plain text out of PDF and DOCX resumes
+ *
+ * PDFs are read with PDFBox (first MAX_PDF_PAGES pages only). DOCX files are streamed:
+ * word/document.xml is located in the ZIP and its w:t text runs are read with StAX,
+ * without building a DOM. Output is cut off at maxChars.
+ */
+public final class ResumeTextExtractor {
+
+    private static final int MAX_PDF_PAGES = 20;
+    private static final String DOCX_BODY = "word/document.xml";
+    private static final String WORD_NAMESPACE = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private static final XMLInputFactory XML_FACTORY = createXmlFactory();
+
+    private ResumeTextExtractor() {
+    }
+
+    public static boolean isSupported(String filePath) {
+        String lower = filePath.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".pdf") || lower.endsWith(".docx");
+    }
+
+    public static String extract(String filePath, InputStream input, int maxChars) throws IOException {
+        String lower = filePath.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".pdf")) {
+            return truncate(extractPdf(input), maxChars);
+        }
+        if (lower.endsWith(".docx")) {
+            return extractDocx(input, maxChars);
+        }
+        throw new IllegalArgumentException("Unsupported resume type: " + filePath);
+    }
+
+    private static String extractPdf(InputStream input) throws IOException {
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(input))) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setEndPage(MAX_PDF_PAGES);
+            return stripper.getText(document);
+        }
+    }
+
+    private static String extractDocx(InputStream input, int maxChars) throws IOException {
+        ZipInputStream zip = new ZipInputStream(input);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (DOCX_BODY.equals(entry.getName())) {
+                return readWordText(zip, maxChars);
+            }
+        }
+        throw new IOException("Not a DOCX document: " + DOCX_BODY + " missing");
+    }
+
+    private static String readWordText(InputStream xml, int maxChars) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try {
+            XMLStreamReader reader = XML_FACTORY.createXMLStreamReader(xml);
+            boolean inText = false;
+            while (reader.hasNext() && text.length() < maxChars) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && WORD_NAMESPACE.equals(reader.getNamespaceURI())) {
+                    String name = reader.getLocalName();
+                    inText = "t".equals(name);
+                    if ("tab".equals(name) || "br".equals(name)) {
+                        text.append(' ');
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("p".equals(reader.getLocalName())) {
+                        text.append('\n');
+                    }
+                    inText = false;
+                } else if (inText && event == XMLStreamConstants.CHARACTERS) {
+                    text.append(reader.getText());
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid DOCX document: " + e.getMessage(), e);
+        }
+        return truncate(text.toString(), maxChars);
+    }
+
+    private static String truncate(String text, int maxChars) {
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+
+    private static XMLInputFactory createXmlFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Resumes are untrusted input: no DTDs, no external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,76 @@
+package com.jobSpher.jobSpher.util;
+
+import java.util.Arrays;
+
+/**
+ * L2-normalized sparse vector over primitive arrays
+ *
+ * Term ids are sorted ascending, so the dot product of two vectors is a single merge
+ * pass; for normalized vectors that dot product is their cosine similarity.
+ */
+public final class SparseVector {
+
+    public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    private final int[] indices;
+    private final float[] values;
+
+    private SparseVector(int[] indices, float[] values) {
+        this.indices = indices;
+        this.values = values;
+    }
+
+    /**
+     * Builds a normalized vector; indices need not be sorted but must be distinct
+     */
+    public static SparseVector of(int[] indices, float[] weights, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        long[] packed = new long[size];
+        for (int i = 0; i < size; i++) {
+            // index in the high bits keeps the sort by index; weight bits ride along
+            packed[i] = ((long) indices[i] << 32) | (Float.floatToRawIntBits(weights[i]) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed);
+
+        int[] sortedIndices = new int[size];
+        float[] sortedValues = new float[size];
+        double norm = 0;
+        for (int i = 0; i < size; i++) {
+            sortedIndices[i] = (int) (packed[i] >>> 32);
+            sortedValues[i] = Float.intBitsToFloat((int) packed[i]);
+            norm += (double) sortedValues[i] * sortedValues[i];
+        }
+        if (norm == 0) {
+            return EMPTY;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < size; i++) {
+            sortedValues[i] *= scale;
+        }
+        return new SparseVector(sortedIndices, sortedValues);
+    }
+
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    public float dot(SparseVector other) {
+        int[] a = indices;
+        int[] b = other.indices;
+        float sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                sum += values[i++] * other.values[j++];
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,77 @@
+package com.jobSpher.jobSpher.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Splits free text into lowercase index terms
+ *
+ * Terms are runs of letters and digits; '+', '#' and '.' are kept inside a term so
+ * "c++", "c#" and "node.js" survive, but trailing dots are dropped. Terms shorter than two
+ * or longer than MAX_TERM_LENGTH characters and common English stop words are ignored.
+ * Indexing and searching both go through this class, so they always agree on terms.
+ */
+public final class TextTokenizer {
+
+    public static final int MAX_TERM_LENGTH = 50;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+            "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "will", "with", "i", "my",
+            "me", "we", "our", "you", "your");
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * @return term -> number of occurrences in the text
+     */
+    public static Map<String, Integer> termFrequencies(CharSequence text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(text, term -> frequencies.merge(term, 1, Integer::sum));
+        return frequencies;
+    }
+
+    /**
+     * @return distinct terms of the text in order of first occurrence
+     */
+    public static Set<String> terms(CharSequence text) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(text, terms::add);
+        return terms;
+    }
+
+    private static void tokenize(CharSequence text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || (current.length() > 0 && (c == '+' || c == '#' || c == '.'))) {
+                current.append(c);
+                continue;
+            }
+            emit(current, sink);
+            current.setLength(0);
+        }
+    }
+
+    private static void emit(StringBuilder current, Consumer<String> sink) {
+        int end = current.length();
+        while (end > 0 && current.charAt(end - 1) == '.') {
+            end--;
+        }
+        if (end < 2 || end > MAX_TERM_LENGTH) {
+            return;
+        }
+        String term = current.substring(0, end).toLowerCase(Locale.ROOT);
+        if (!STOP_WORDS.contains(term)) {
+            sink.accept(term);
+        }
+    }
+}
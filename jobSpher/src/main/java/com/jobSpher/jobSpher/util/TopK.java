@@ -0,0 +1,122 @@
+package com.jobSpher.jobSpher.util;
+
+/**
+ * Keeps the k highest scored ids seen so far
+ *
+ * A min-heap over parallel primitive arrays: offering is O(log k) and nothing is boxed.
+ * Not thread safe; parallel scorers each fill their own instance and merge them.
+ */
+public final class TopK {
+
+    private final long[] ids;
+    private final float[] scores;
+    private int size;
+
+    public TopK(int k) {
+        this.ids = new long[k];
+        this.scores = new float[k];
+    }
+
+    public void offer(long id, float score) {
+        if (ids.length == 0) {
+            return;
+        }
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    public void merge(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.scores[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drains the heap and returns its entries best first
+     */
+    public Result result() {
+        long[] resultIds = new long[size];
+        float[] resultScores = new float[size];
+        for (int i = size - 1; i >= 0; i--) {
+            resultIds[i] = ids[0];
+            resultScores[i] = scores[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return new Result(resultIds, resultScores);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    public static final class Result {
+        private final long[] ids;
+        private final float[] scores;
+
+        Result(long[] ids, float[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public long id(int index) {
+            return ids[index];
+        }
+
+        public float score(int index) {
+            return scores[index];
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- Content-addressed blobs written by FileStorageService and how many uploads reference them.
+-- Blobs whose ref_count dropped to zero are candidates for garbage collection.
+CREATE TABLE IF NOT EXISTS stored_files (
+    path VARCHAR(255) PRIMARY KEY,
+    sha256 CHAR(64) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    ref_count INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    last_referenced_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stored_files_ref_count ON stored_files (ref_count);
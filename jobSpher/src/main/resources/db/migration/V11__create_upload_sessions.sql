@@ -0,0 +1,19 @@
+-- Resumable chunked uploads. Chunks are written into a part file on local disk;
+-- received_bytes is the contiguous prefix known to be on disk, so a client that lost
+-- its connection resumes from there.
+CREATE TABLE IF NOT EXISTS upload_sessions (
+    id VARCHAR(36) PRIMARY KEY,
+    owner_id BIGINT NOT NULL REFERENCES users(id),
+    upload_type VARCHAR(20) NOT NULL,
+    filename VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    total_bytes BIGINT NOT NULL,
+    received_bytes BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    file_path VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_expires ON upload_sessions (status, expires_at);
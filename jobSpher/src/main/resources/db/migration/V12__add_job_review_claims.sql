@@ -0,0 +1,9 @@
+-- Lease-based claiming for the admin job review queue. An admin claims a batch of
+-- pending jobs with FOR UPDATE SKIP LOCKED; the jobs stay out of other admins'
+-- queues until review_claimed_until passes.
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS review_claimed_by BIGINT REFERENCES users(id);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS review_claimed_until TIMESTAMP;
+
+-- Only pending jobs are ever queued, so the index stays as small as the backlog
+CREATE INDEX IF NOT EXISTS idx_jobs_review_queue ON jobs (created_at, id) WHERE status = 'PENDING_APPROVAL';
+CREATE INDEX IF NOT EXISTS idx_jobs_review_claimed_by ON jobs (review_claimed_by) WHERE status = 'PENDING_APPROVAL';
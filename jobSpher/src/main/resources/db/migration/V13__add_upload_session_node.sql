@@ -0,0 +1,4 @@
+-- Part files of chunked uploads live on the local disk of the node that opened the
+-- session, so the session records that node and chunks sent elsewhere are rejected.
+-- Sessions opened before this column existed have no node and are accepted anywhere.
+ALTER TABLE upload_sessions ADD COLUMN IF NOT EXISTS node VARCHAR(255);
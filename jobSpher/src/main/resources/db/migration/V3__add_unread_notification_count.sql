@@ -0,0 +1,14 @@
+-- Denormalized unread notification counter on users.
+-- Maintained by NotificationService so the unread-count endpoint no longer counts notifications.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS unread_notification_count BIGINT NOT NULL DEFAULT 0;
+
+-- Backfill from existing notifications
+UPDATE users u
+SET unread_notification_count = c.unread
+FROM (
+    SELECT user_id, COUNT(*) AS unread
+    FROM notifications
+    WHERE read = FALSE
+    GROUP BY user_id
+) c
+WHERE u.id = c.user_id;
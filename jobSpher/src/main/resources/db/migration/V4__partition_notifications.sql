@@ -0,0 +1,58 @@
+-- Convert notifications to monthly range partitions on created_at.
+-- Old months can then be detached/dropped in O(1) by NotificationRetentionService
+-- instead of running large DELETEs.
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER INDEX IF EXISTS idx_user_id RENAME TO idx_user_id_legacy;
+ALTER INDEX IF EXISTS idx_read RENAME TO idx_read_legacy;
+
+-- The partition key must be part of the primary key
+CREATE TABLE notifications (
+    id BIGINT NOT NULL DEFAULT nextval('notifications_id_seq'),
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    type VARCHAR(100) NOT NULL,
+    read BOOLEAN NOT NULL DEFAULT FALSE,
+    link VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+
+-- Catches rows outside every monthly range so inserts never fail
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- One partition per month from the oldest existing row up to three months ahead
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM notifications_legacy), now()));
+    last_month DATE := date_trunc('month', now() + INTERVAL '3 months');
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+            'notifications_' || to_char(month_start, 'YYYY_MM'),
+            month_start,
+            month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+-- Created on the parent, so every partition gets its own copy
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at DESC);
+CREATE INDEX idx_notifications_user_unread ON notifications (user_id) WHERE read = FALSE;
+
+-- Only the rows users are likely to look at are moved here: the current and previous month, which
+-- fill the first pages of every listing, and every unread row, so mark-as-read and the unread
+-- counters never refer to a notification that isn't in the new table. Moving everything with one
+-- INSERT ... SELECT would hold the migration's transaction for as long as the whole copy takes.
+-- NotificationBackfillService moves the remaining older, read rows from notifications_legacy in
+-- small batches after startup and then drops it.
+WITH moved AS (
+    DELETE FROM notifications_legacy
+    WHERE created_at >= date_trunc('month', now()) - INTERVAL '1 month' OR read = FALSE
+    RETURNING id, user_id, title, message, type, read, link, created_at)
+INSERT INTO notifications (id, user_id, title, message, type, read, link, created_at)
+SELECT id, user_id, title, message, type, read, link, created_at FROM moved;
@@ -0,0 +1,8 @@
+-- Coalesced notifications: events sharing a group key (e.g. new applications for one job)
+-- are merged into a single unread notification carrying a running count.
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS group_key VARCHAR(255);
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS group_count INTEGER NOT NULL DEFAULT 1;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_group_unread
+    ON notifications (user_id, group_key)
+    WHERE read = FALSE AND group_key IS NOT NULL;
@@ -0,0 +1,3 @@
+-- Backs the paginated applicant list per job, optionally filtered by status
+CREATE INDEX IF NOT EXISTS idx_applications_job_status_applied
+    ON applications (job_id, status, applied_at);
@@ -0,0 +1,22 @@
+-- Per-job application counters by status, maintained incrementally by ApplicationService
+-- with ON CONFLICT upserts so employer dashboards never need GROUP BY scans over applications.
+CREATE TABLE IF NOT EXISTS job_application_stats (
+    job_id BIGINT PRIMARY KEY REFERENCES jobs(id),
+    submitted_count BIGINT NOT NULL DEFAULT 0,
+    shortlisted_count BIGINT NOT NULL DEFAULT 0,
+    rejected_count BIGINT NOT NULL DEFAULT 0,
+    hired_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- One-time backfill from existing applications
+INSERT INTO job_application_stats (job_id, submitted_count, shortlisted_count, rejected_count, hired_count, updated_at)
+SELECT job_id,
+       COUNT(*) FILTER (WHERE status = 'SUBMITTED'),
+       COUNT(*) FILTER (WHERE status = 'SHORTLISTED'),
+       COUNT(*) FILTER (WHERE status = 'REJECTED'),
+       COUNT(*) FILTER (WHERE status = 'HIRED'),
+       now()
+FROM applications
+GROUP BY job_id
+ON CONFLICT (job_id) DO NOTHING;
@@ -0,0 +1,33 @@
+-- One application per (job, job seeker), enforced by the database so concurrent
+-- submissions can't both succeed. Duplicates left by earlier races are not removed here:
+-- which one to keep (and what to do with its resume, notes and status history) is a
+-- decision for whoever resolves them, so the migration fails listing the pairs instead.
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(format('(job_id=%s, job_seeker_id=%s: application ids %s)',
+                             job_id, job_seeker_id, ids), ', ')
+    INTO conflicts
+    FROM (
+        SELECT job_id, job_seeker_id, string_agg(id::TEXT, ',' ORDER BY id) AS ids
+        FROM applications
+        GROUP BY job_id, job_seeker_id
+        HAVING COUNT(*) > 1
+        ORDER BY job_id, job_seeker_id
+    ) duplicates;
+
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'applications has more than one row per (job_id, job_seeker_id); resolve these before migrating: %',
+            conflicts;
+    END IF;
+END $$;
+
+ALTER TABLE applications
+    ADD CONSTRAINT uq_applications_job_job_seeker UNIQUE (job_id, job_seeker_id);
+
+-- Client supplied Idempotency-Key of the submission that created the application
+ALTER TABLE applications ADD COLUMN idempotency_key VARCHAR(100);
+CREATE UNIQUE INDEX uq_applications_job_seeker_idempotency_key
+    ON applications (job_seeker_id, idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
@@ -0,0 +1,29 @@
+-- Extraction state per application; PENDING rows are (re)picked by ResumeIndexService,
+-- so extraction survives restarts.
+CREATE TABLE IF NOT EXISTS resume_extractions (
+    application_id BIGINT PRIMARY KEY REFERENCES applications(id),
+    job_id BIGINT NOT NULL REFERENCES jobs(id),
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_resume_extractions_status_updated ON resume_extractions (status, updated_at);
+
+-- Tokenized resume text: one row per distinct term per application
+CREATE TABLE IF NOT EXISTS application_terms (
+    application_id BIGINT NOT NULL REFERENCES applications(id),
+    term VARCHAR(50) NOT NULL,
+    job_id BIGINT NOT NULL REFERENCES jobs(id),
+    frequency INT NOT NULL,
+    PRIMARY KEY (application_id, term)
+);
+
+CREATE INDEX IF NOT EXISTS idx_application_terms_job_term ON application_terms (job_id, term);
+
+-- Queue every existing application for extraction
+INSERT INTO resume_extractions (application_id, job_id, status, attempts, updated_at)
+SELECT id, job_id, 'PENDING', 0, now()
+FROM applications
+ON CONFLICT (application_id) DO NOTHING;
@@ -0,0 +1,35 @@
+package com.jobSpher.jobSpher.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+class FileControllerTest {
+
+    private static final String SHA = "3c7b".repeat(16);
+
+    @Test
+    void contentAddressedFilesUseTheirHashRegardlessOfLocation() {
+        assertEquals("\"" + SHA + "\"", FileController.strongETag("logos/3c/7b/" + SHA + ".png", 10, 1));
+        assertEquals("\"" + SHA + "\"", FileController.strongETag("logos/" + SHA + ".png", 20, 2));
+    }
+
+    @Test
+    void variantsOfContentAddressedFilesGetTheirOwnETag() {
+        String original = FileController.strongETag("logos/" + SHA + ".png", 10, 1);
+        String thumbnail = FileController.strongETag("logos/" + SHA + ".thumb.jpg", 10, 1);
+
+        assertEquals("\"" + SHA + "-thumb\"", thumbnail);
+        assertNotEquals(original, thumbnail);
+    }
+
+    @Test
+    void otherFilesUseSizeAndModificationTime() {
+        assertEquals("\"ff-10\"", FileController.strongETag("resumes/resume.pdf", 255, 16));
+        assertNotEquals(FileController.strongETag("resumes/resume.pdf", 255, 16),
+                FileController.strongETag("resumes/resume.pdf", 255, 17));
+        // Not a full 64-character hash
+        assertEquals("\"1-1\"", FileController.strongETag("logos/" + SHA.substring(1) + ".png", 1, 1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.jobSpher.jobSpher.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SignedUrlServiceTest {
+
+    private static final String SECRET = "test-secret";
+    private static final long TTL_SECONDS = 900;
+    private static final String PATH = "resumes/3c/7b/3c7b.pdf";
+
+    private final SignedUrlService signedUrlService = new SignedUrlService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(signedUrlService, "secret", SECRET);
+        ReflectionTestUtils.setField(signedUrlService, "ttlSeconds", TTL_SECONDS);
+        ReflectionTestUtils.setField(signedUrlService, "privateDirectories", Set.of("resumes"));
+    }
+
+    @Test
+    void signedUrlVerifies() {
+        SignedUrl url = SignedUrl.parse(signedUrlService.sign(PATH));
+
+        assertEquals("/api/files/download/" + PATH, url.path);
+        assertTrue(signedUrlService.verify(PATH, url.expires, url.signature));
+        // Request paths may carry a leading slash
+        assertTrue(signedUrlService.verify("/" + PATH, url.expires, url.signature));
+    }
+
+    @Test
+    void expiryIsBetweenOneAndTwoTtlsAwayAndStableWithinAWindow() {
+        long now = Instant.now().getEpochSecond();
+        SignedUrl url = SignedUrl.parse(signedUrlService.sign(PATH));
+
+        assertEquals(0, url.expires % TTL_SECONDS);
+        assertTrue(url.expires - now > TTL_SECONDS && url.expires - now <= 2 * TTL_SECONDS);
+        if (Instant.now().getEpochSecond() / TTL_SECONDS == now / TTL_SECONDS) {
+            assertEquals(signedUrlService.sign(PATH), signedUrlService.sign(PATH));
+        }
+    }
+
+    @Test
+    void tamperedUrlsAreRejected() {
+        SignedUrl url = SignedUrl.parse(signedUrlService.sign(PATH));
+
+        assertFalse(signedUrlService.verify("resumes/3c/7b/other.pdf", url.expires, url.signature));
+        assertFalse(signedUrlService.verify(PATH, url.expires + TTL_SECONDS, url.signature));
+        assertFalse(signedUrlService.verify(PATH, url.expires, url.signature.substring(1) + "A"));
+        assertFalse(signedUrlService.verify(PATH, url.expires, hmac("other-secret", PATH, url.expires)));
+        assertFalse(signedUrlService.verify(PATH, null, url.signature));
+        assertFalse(signedUrlService.verify(PATH, url.expires, null));
+    }
+
+    @Test
+    void expiredUrlsAreRejectedEvenWithAValidSignature() {
+        long past = Instant.now().getEpochSecond() - 1;
+        long future = Instant.now().getEpochSecond() + TTL_SECONDS;
+
+        assertFalse(signedUrlService.verify(PATH, past, hmac(SECRET, PATH, past)));
+        // Same construction with a future expiry is accepted, so the rejection above is the expiry
+        assertTrue(signedUrlService.verify(PATH, future, hmac(SECRET, PATH, future)));
+    }
+
+    @Test
+    void onlyFilesInPrivateDirectoriesArePrivate() {
+        assertTrue(signedUrlService.isPrivate(PATH));
+        assertTrue(signedUrlService.isPrivate("/resumes/x.pdf"));
+        assertFalse(signedUrlService.isPrivate("logos/x.png"));
+        assertFalse(signedUrlService.isPrivate("resumes"));
+    }
+
+    private static String hmac(String secret, String path, long expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal((path + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class SignedUrl {
+        private final String path;
+        private final long expires;
+        private final String signature;
+
+        private SignedUrl(String path, long expires, String signature) {
+            this.path = path;
+            this.expires = expires;
+            this.signature = signature;
+        }
+
+        static SignedUrl parse(String url) {
+            String[] parts = url.split("[?&]");
+            return new SignedUrl(parts[0], Long.parseLong(parts[1].substring("expires=".length())),
+                    parts[2].substring("signature=".length()));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.jobSpher.jobSpher.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.jobSpher.jobSpher.dto.UploadSessionRequest;
+import com.jobSpher.jobSpher.model.UploadSession;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.UserRepository;
+import com.jobSpher.jobSpher.storage.UploadType;
+
+// Content addressing upserts with ON CONFLICT DO UPDATE, which H2 lacks, so files get UUID names here
+@SpringBootTest(properties = {
+        "file.storage.deduplicate=false",
+        "file.upload-dir=target/chunked-upload-test"
+})
+class ChunkedUploadServiceTest {
+
+    private static final byte[] PDF = "%PDF-1.4\n1 0 obj\n<<>>\nendobj\n%%EOF\n".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void completedUploadIsClaimedOnlyOnce() throws Exception {
+        User owner = user();
+        UploadSession session = fullyReceivedUpload(owner);
+        String filePath = chunkedUploadService.complete(session.getId(), owner);
+
+        assertEquals(filePath, chunkedUploadService.claim(session.getId(), owner, UploadType.RESUME));
+        assertThrows(RuntimeException.class,
+                () -> chunkedUploadService.claim(session.getId(), owner, UploadType.RESUME));
+    }
+
+    @Test
+    void failedRequestReturnsTheClaim() throws Exception {
+        User owner = user();
+        UploadSession session = fullyReceivedUpload(owner);
+        String filePath = chunkedUploadService.complete(session.getId(), owner);
+        chunkedUploadService.claim(session.getId(), owner, UploadType.RESUME);
+
+        chunkedUploadService.unclaimQuietly(session.getId());
+
+        assertEquals(filePath, chunkedUploadService.claim(session.getId(), owner, UploadType.RESUME));
+    }
+
+    @Test
+    void onlyTheOwnerCanClaim() throws Exception {
+        User owner = user();
+        UploadSession session = fullyReceivedUpload(owner);
+        chunkedUploadService.complete(session.getId(), owner);
+
+        assertThrows(RuntimeException.class,
+                () -> chunkedUploadService.claim(session.getId(), user(), UploadType.RESUME));
+    }
+
+    @Test
+    void contentMustSuitTheClaimingType() throws Exception {
+        User owner = user();
+        UploadSession session = fullyReceivedUpload(owner);
+        chunkedUploadService.complete(session.getId(), owner);
+
+        // A PDF is a valid resume but not a logo
+        assertThrows(RuntimeException.class,
+                () -> chunkedUploadService.claim(session.getId(), owner, UploadType.LOGO));
+        assertEquals(UploadSession.UploadStatus.COMPLETED,
+                chunkedUploadService.getSession(session.getId(), owner).getStatus());
+    }
+
+    @Test
+    void uploadMustBeCompletedBeforeItIsClaimed() throws Exception {
+        User owner = user();
+        UploadSession session = fullyReceivedUpload(owner);
+
+        assertThrows(RuntimeException.class,
+                () -> chunkedUploadService.claim(session.getId(), owner, UploadType.RESUME));
+    }
+
+    // A session with all of its bytes received, not completed yet
+    private UploadSession fullyReceivedUpload(User owner) throws Exception {
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setType("resume");
+        request.setFilename("resume.pdf");
+        request.setContentType("application/pdf");
+        request.setSize((long) PDF.length);
+        UploadSession session = chunkedUploadService.createSession(owner, request);
+        chunkedUploadService.writeChunk(session.getId(), owner, 0, PDF.length, new ByteArrayInputStream(PDF));
+        return session;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user.setFirstName("Test");
+        user.setLastName("Seeker");
+        user.setRole(User.Role.JOB_SEEKER);
+        return userRepository.save(user);
+    }
+}
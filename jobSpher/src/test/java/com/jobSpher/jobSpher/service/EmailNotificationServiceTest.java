@@ -0,0 +1,257 @@
+package com.jobSpher.jobSpher.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.jobSpher.jobSpher.event.NotificationCreatedEvent;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.UserRepository;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Notification emails sent through a real SMTP server (GreenMail). Failures are injected at
+ * JavaMailSenderImpl.doSend, where a refused connection or a rejected recipient surfaces as
+ * a MailSendException listing the failed messages; the other messages still go over SMTP.
+ */
+@SpringBootTest(properties = {
+        "notifications.email.enabled=true",
+        "notifications.email.types=APPLICATION_STATUS_UPDATED",
+        "notifications.email.retry-backoff-ms=200",
+        "notifications.email.max-attempts=5"
+})
+class EmailNotificationServiceTest {
+
+    private static final long BACKOFF_MS = 200;
+    private static final long TIMEOUT_MS = 5000;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailNotificationService emailNotificationService;
+
+    @Autowired
+    private RecordingMailSender mailSender;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void resetMailSender() {
+        mailSender.reset();
+    }
+
+    @Test
+    void queuedEmailsAreSentAsOneBatch() throws Exception {
+        // While the first email is being sent, the next ones pile up in the queue
+        mailSender.holdNextSend();
+        User first = user();
+        notify(first);
+        mailSender.awaitHeld();
+        List<User> queued = List.of(user(), user(), user(), user());
+        queued.forEach(this::notify);
+        mailSender.release();
+
+        assertTrue(greenMail.waitForIncomingEmail(TIMEOUT_MS, 5));
+        assertEquals(List.of(1, 4), mailSender.getBatchSizes());
+        assertEquals(emails(Stream.concat(Stream.of(first), queued.stream()).toList()), receivedRecipients());
+    }
+
+    @Test
+    void failedBatchIsRetriedWithExponentialBackoff() throws Exception {
+        mailSender.failNextAttempts(2);
+        User user = user();
+        notify(user);
+
+        assertTrue(greenMail.waitForIncomingEmail(TIMEOUT_MS, 1));
+        List<Long> attempts = mailSender.getAttemptTimes();
+        assertEquals(3, attempts.size());
+        assertTrue(attempts.get(1) - attempts.get(0) >= BACKOFF_MS);
+        assertTrue(attempts.get(2) - attempts.get(1) >= 2 * BACKOFF_MS);
+        assertEquals(Set.of(user.getEmail()), receivedRecipients());
+    }
+
+    @Test
+    void onlyTheFailedMessagesOfABatchAreRetried() throws Exception {
+        mailSender.holdNextSend();
+        notify(user());
+        mailSender.awaitHeld();
+        User rejected = user();
+        List<User> batch = List.of(user(), rejected, user());
+        mailSender.rejectOnce(rejected.getEmail());
+        batch.forEach(this::notify);
+        mailSender.release();
+
+        assertTrue(greenMail.waitForIncomingEmail(TIMEOUT_MS, 4));
+        // The held email, the batch of three with one recipient rejected, then that one alone
+        assertEquals(List.of(1, 3, 1), mailSender.getBatchSizes());
+        assertEquals(4, greenMail.getReceivedMessages().length);
+        assertTrue(receivedRecipients().containsAll(emails(batch)));
+    }
+
+    private void notify(User user) {
+        emailNotificationService.onNotificationCreated(new NotificationCreatedEvent(user.getId(), 1L,
+                "Application update", "Your application was shortlisted", "APPLICATION_STATUS_UPDATED",
+                "/my-applications", LocalDateTime.now()));
+    }
+
+    private User user() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user.setFirstName("Test");
+        user.setLastName("Seeker");
+        user.setRole(User.Role.JOB_SEEKER);
+        return userRepository.save(user);
+    }
+
+    private static Set<String> emails(List<User> users) {
+        return users.stream().map(User::getEmail).collect(Collectors.toSet());
+    }
+
+    private static Set<String> receivedRecipients() throws MessagingException {
+        Set<String> recipients = new HashSet<>();
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            recipients.add(message.getAllRecipients()[0].toString());
+        }
+        return recipients;
+    }
+
+    @TestConfiguration
+    static class MailConfiguration {
+
+        @Bean
+        RecordingMailSender recordingMailSender() {
+            RecordingMailSender mailSender = new RecordingMailSender();
+            mailSender.setHost("localhost");
+            mailSender.setPort(ServerSetupTest.SMTP.getPort());
+            return mailSender;
+        }
+    }
+
+    /**
+     * Records every send attempt and can hold one send, fail whole attempts, or reject
+     * single recipients once
+     */
+    static class RecordingMailSender extends JavaMailSenderImpl {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final List<Long> attemptTimes = new CopyOnWriteArrayList<>();
+        private final Set<String> rejectOnce = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger failingAttempts = new AtomicInteger();
+        private volatile boolean holdNext;
+        private volatile CountDownLatch held = new CountDownLatch(0);
+        private volatile CountDownLatch released = new CountDownLatch(0);
+
+        void reset() {
+            batchSizes.clear();
+            attemptTimes.clear();
+            rejectOnce.clear();
+            failingAttempts.set(0);
+            holdNext = false;
+        }
+
+        void holdNextSend() {
+            held = new CountDownLatch(1);
+            released = new CountDownLatch(1);
+            holdNext = true;
+        }
+
+        void awaitHeld() throws InterruptedException {
+            assertTrue(held.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        void failNextAttempts(int attempts) {
+            failingAttempts.set(attempts);
+        }
+
+        void rejectOnce(String recipient) {
+            rejectOnce.add(recipient);
+        }
+
+        List<Integer> getBatchSizes() {
+            return new ArrayList<>(batchSizes);
+        }
+
+        List<Long> getAttemptTimes() {
+            return new ArrayList<>(attemptTimes);
+        }
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            batchSizes.add(mimeMessages.length);
+            attemptTimes.add(System.currentTimeMillis());
+            if (holdNext) {
+                holdNext = false;
+                held.countDown();
+                try {
+                    released.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            if (failingAttempts.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                for (Object original : originalMessages) {
+                    failed.put(original, new MessagingException("421 Service not available"));
+                }
+                throw new MailSendException(failed);
+            }
+
+            List<MimeMessage> accepted = new ArrayList<>();
+            List<Object> acceptedOriginals = new ArrayList<>();
+            for (int i = 0; i < mimeMessages.length; i++) {
+                String recipient = ((SimpleMailMessage) originalMessages[i]).getTo()[0];
+                if (rejectOnce.remove(recipient)) {
+                    failed.put(originalMessages[i], new SendFailedException("550 Mailbox unavailable"));
+                } else {
+                    accepted.add(mimeMessages[i]);
+                    acceptedOriginals.add(originalMessages[i]);
+                }
+            }
+            if (!accepted.isEmpty()) {
+                super.doSend(accepted.toArray(new MimeMessage[0]), acceptedOriginals.toArray());
+            }
+            if (!failed.isEmpty()) {
+                throw new MailSendException(failed);
+            }
+        }
+    }
+}
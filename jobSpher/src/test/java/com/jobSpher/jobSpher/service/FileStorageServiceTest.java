@@ -0,0 +1,49 @@
+package com.jobSpher.jobSpher.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FileStorageServiceTest {
+
+    private static final String SHA = "3c7b".repeat(16);
+
+    @Test
+    void shardedPathNestsByTheFirstFourCharacters() {
+        assertEquals("resumes/3c/7b/3c7b-resume.pdf", FileStorageService.shardedPath("resumes/3c7b-resume.pdf"));
+        assertEquals("resumes/3c/7b/3c7b-resume.pdf", FileStorageService.shardedPath("/resumes/3c7b-resume.pdf"));
+    }
+
+    @Test
+    void shardedPathLeavesOtherPathsAlone() {
+        assertEquals("resumes/3c/7b/3c7b.pdf", FileStorageService.shardedPath("resumes/3c/7b/3c7b.pdf"));
+        assertEquals("resumes/a.b", FileStorageService.shardedPath("resumes/a.b"));
+        assertEquals("resume.pdf", FileStorageService.shardedPath("resume.pdf"));
+    }
+
+    @Test
+    void alternatePathMapsBetweenTheLayouts() {
+        assertEquals("resumes/3c/7b/3c7b.pdf", FileStorageService.alternatePath("resumes/3c7b.pdf"));
+        assertEquals("resumes/3c7b.pdf", FileStorageService.alternatePath("resumes/3c/7b/3c7b.pdf"));
+        assertEquals("resumes/3c7b.pdf", FileStorageService.alternatePath("/resumes/3c/7b/3c7b.pdf"));
+    }
+
+    @Test
+    void alternatePathIsNullWithoutAnotherLayout() {
+        assertNull(FileStorageService.alternatePath("resumes/abc"));
+        // Shard directories that don't match the file name are not a sharded path
+        assertNull(FileStorageService.alternatePath("resumes/aa/bb/3c7b.pdf"));
+        assertNull(FileStorageService.alternatePath("resume.pdf"));
+    }
+
+    @Test
+    void contentAddressedPathsAreRecognisedInBothLayouts() {
+        assertTrue(FileStorageService.isContentAddressed("logos/" + SHA + ".png"));
+        assertTrue(FileStorageService.isContentAddressed("logos/3c/7b/" + SHA + ".thumb.jpg"));
+        assertFalse(FileStorageService.isContentAddressed("resumes/" + SHA.toUpperCase() + ".pdf"));
+        assertFalse(FileStorageService.isContentAddressed("resumes/3c7b-resume.pdf"));
+    }
+}
@@ -0,0 +1,169 @@
+package com.jobSpher.jobSpher.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.jobSpher.jobSpher.dto.ApplicationRequest;
+import com.jobSpher.jobSpher.dto.ApplicationStatusUpdateRequest;
+import com.jobSpher.jobSpher.dto.BulkApplicationStatusUpdateRequest;
+import com.jobSpher.jobSpher.model.Application;
+import com.jobSpher.jobSpher.model.Company;
+import com.jobSpher.jobSpher.model.Job;
+import com.jobSpher.jobSpher.model.JobApplicationStats;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.ApplicationRepository;
+import com.jobSpher.jobSpher.repository.CompanyRepository;
+import com.jobSpher.jobSpher.repository.JobRepository;
+import com.jobSpher.jobSpher.repository.UserRepository;
+
+/**
+ * The job_application_stats counters must equal a GROUP BY over applications after any mix
+ * of concurrent single and bulk status changes.
+ *
+ * Needs PostgreSQL (the counters are maintained with ON CONFLICT DO UPDATE, which H2 lacks):
+ * set JOBSPHER_TEST_POSTGRES_URL, e.g. jdbc:postgresql://localhost:5432/jobspher_test, and
+ * JOBSPHER_TEST_POSTGRES_USER/PASSWORD. The schema is created by the Flyway migrations.
+ */
+@EnabledIfEnvironmentVariable(named = "JOBSPHER_TEST_POSTGRES_URL", matches = ".+")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${JOBSPHER_TEST_POSTGRES_URL}",
+        "spring.datasource.username=${JOBSPHER_TEST_POSTGRES_USER:postgres}",
+        "spring.datasource.password=${JOBSPHER_TEST_POSTGRES_PASSWORD:postgres}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.flyway.enabled=true",
+})
+class JobApplicationStatsConcurrencyTest {
+
+    private static final int APPLICATIONS = 20;
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 40;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private JobApplicationStatsService jobApplicationStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Test
+    void countersMatchApplicationsAfterConcurrentStatusChanges() throws Exception {
+        User employer = user(User.Role.EMPLOYER);
+        Job job = activeJob(employer);
+        List<Long> applicationIds = new ArrayList<>();
+        for (int i = 0; i < APPLICATIONS; i++) {
+            ApplicationRequest request = new ApplicationRequest();
+            request.setJobId(job.getId());
+            applicationIds.add(applicationService
+                    .createApplication(user(User.Role.JOB_SEEKER), request, "resumes/" + UUID.randomUUID() + ".pdf")
+                    .getId());
+        }
+
+        Application.ApplicationStatus[] statuses = Application.ApplicationStatus.values();
+        AtomicInteger applied = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    Application.ApplicationStatus status = statuses[random.nextInt(statuses.length)];
+                    try {
+                        if (random.nextBoolean()) {
+                            ApplicationStatusUpdateRequest request = new ApplicationStatusUpdateRequest();
+                            request.setStatus(status);
+                            applicationService.updateApplicationStatus(
+                                    applicationIds.get(random.nextInt(APPLICATIONS)), employer, request);
+                        } else {
+                            BulkApplicationStatusUpdateRequest request = new BulkApplicationStatusUpdateRequest();
+                            request.setStatus(status);
+                            request.setApplicationIds(List.of(applicationIds.get(random.nextInt(APPLICATIONS)),
+                                    applicationIds.get(random.nextInt(APPLICATIONS)),
+                                    applicationIds.get(random.nextInt(APPLICATIONS))));
+                            applicationService.updateApplicationStatuses(employer, request);
+                        }
+                        applied.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // A rejected update (e.g. deadlock victim) rolls back as a whole; the invariant still holds
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+        assertTrue(applied.get() > 0, "No status update succeeded");
+
+        Map<Application.ApplicationStatus, Long> actual = new EnumMap<>(Application.ApplicationStatus.class);
+        for (Application.ApplicationStatus status : statuses) {
+            actual.put(status, 0L);
+        }
+        applicationRepository.findByJob(job)
+                .forEach(application -> actual.merge(application.getStatus(), 1L, Long::sum));
+
+        JobApplicationStats stats = jobApplicationStatsService.getStats(List.of(job.getId())).get(job.getId());
+        assertEquals(actual.get(Application.ApplicationStatus.SUBMITTED), stats.getSubmittedCount());
+        assertEquals(actual.get(Application.ApplicationStatus.SHORTLISTED), stats.getShortlistedCount());
+        assertEquals(actual.get(Application.ApplicationStatus.REJECTED), stats.getRejectedCount());
+        assertEquals(actual.get(Application.ApplicationStatus.HIRED), stats.getHiredCount());
+        assertEquals(APPLICATIONS, stats.getTotalCount());
+    }
+
+    private User user(User.Role role) {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user.setFirstName("Test");
+        user.setLastName(role.name());
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Job activeJob(User employer) {
+        Company company = new Company();
+        company.setName("Company " + employer.getId());
+        company.setAddress("Addis Ababa");
+        company.setEmployer(employer);
+        company = companyRepository.save(company);
+
+        Job job = new Job();
+        job.setTitle("Java developer");
+        job.setDescription("Java developer");
+        job.setCategory("IT");
+        job.setLocation("Addis Ababa");
+        job.setCompany(company);
+        job.setStatus(Job.JobStatus.ACTIVE);
+        return jobRepository.save(job);
+    }
+}
@@ -0,0 +1,126 @@
+package com.jobSpher.jobSpher.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.jobSpher.jobSpher.dto.CandidateMatch;
+import com.jobSpher.jobSpher.event.ResumeIndexedEvent;
+import com.jobSpher.jobSpher.model.Application;
+import com.jobSpher.jobSpher.model.ApplicationTerm;
+import com.jobSpher.jobSpher.model.Company;
+import com.jobSpher.jobSpher.model.Job;
+import com.jobSpher.jobSpher.model.ResumeExtraction;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.ApplicationRepository;
+import com.jobSpher.jobSpher.repository.ApplicationTermRepository;
+import com.jobSpher.jobSpher.repository.CompanyRepository;
+import com.jobSpher.jobSpher.repository.JobRepository;
+import com.jobSpher.jobSpher.repository.ResumeExtractionRepository;
+import com.jobSpher.jobSpher.repository.UserRepository;
+
+@SpringBootTest
+class MatchingServiceTest {
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ResumeExtractionRepository resumeExtractionRepository;
+
+    @Autowired
+    private ApplicationTermRepository applicationTermRepository;
+
+    @Test
+    void candidateMatchesOnlyIncludeTheJobsApplicants() {
+        User employer = user(User.Role.EMPLOYER);
+        Job job = job(employer, "Java developer");
+        Job otherJob = job(user(User.Role.EMPLOYER), "Java engineer");
+
+        User applicant = user(User.Role.JOB_SEEKER);
+        User nonApplicant = user(User.Role.JOB_SEEKER);
+        indexedApplication(job, applicant, "java", "developer");
+        // Same resume, but submitted to another employer's job
+        indexedApplication(otherJob, nonApplicant, "java", "developer");
+
+        matchingService.onResumeIndexed(new ResumeIndexedEvent(null));
+        matchingService.refresh();
+
+        List<CandidateMatch> matches = matchingService.matchCandidates(job.getId(), employer, 10);
+
+        assertEquals(List.of(applicant.getId()), matches.stream().map(CandidateMatch::getJobSeekerId).toList());
+        assertTrue(matches.stream().noneMatch(match -> nonApplicant.getEmail().equals(match.getEmail())));
+    }
+
+    @Test
+    void candidateMatchesAreOnlyShownToTheJobsEmployer() {
+        Job job = job(user(User.Role.EMPLOYER), "Java developer");
+        User otherEmployer = user(User.Role.EMPLOYER);
+
+        assertThrows(RuntimeException.class, () -> matchingService.matchCandidates(job.getId(), otherEmployer, 10));
+    }
+
+    private User user(User.Role role) {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user.setFirstName("Test");
+        user.setLastName(role.name());
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Job job(User employer, String title) {
+        Company company = new Company();
+        company.setName("Company " + employer.getId());
+        company.setAddress("Addis Ababa");
+        company.setEmployer(employer);
+        company = companyRepository.save(company);
+
+        Job job = new Job();
+        job.setTitle(title);
+        job.setDescription(title);
+        job.setCategory("IT");
+        job.setLocation("Addis Ababa");
+        job.setCompany(company);
+        job.setStatus(Job.JobStatus.ACTIVE);
+        return jobRepository.save(job);
+    }
+
+    private void indexedApplication(Job job, User jobSeeker, String... terms) {
+        Application application = new Application();
+        application.setJob(job);
+        application.setJobSeeker(jobSeeker);
+        application.setResumePath("resumes/" + UUID.randomUUID() + ".pdf");
+        application = applicationRepository.save(application);
+
+        ResumeExtraction extraction = new ResumeExtraction();
+        extraction.setApplicationId(application.getId());
+        extraction.setJobId(job.getId());
+        extraction.setStatus(ResumeExtraction.ExtractionStatus.INDEXED);
+        resumeExtractionRepository.save(extraction);
+
+        for (String term : terms) {
+            applicationTermRepository.save(new ApplicationTerm(application.getId(), term, job.getId(), 1));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.jobSpher.jobSpher.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.jobSpher.jobSpher.model.StoredFile;
+import com.jobSpher.jobSpher.model.User;
+import com.jobSpher.jobSpher.repository.StoredFileRepository;
+import com.jobSpher.jobSpher.repository.UserRepository;
+
+@SpringBootTest
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Test
+    void replacedResumeIsNoLongerReferenced() {
+        String oldResume = blob();
+        String newResume = blob();
+        User jobSeeker = jobSeeker(oldResume);
+
+        User updated = userService.replaceResume(jobSeeker, newResume);
+
+        assertEquals(newResume, updated.getResumePath());
+        assertEquals(newResume, userRepository.findById(jobSeeker.getId()).orElseThrow().getResumePath());
+        assertEquals(0, refCount(oldResume));
+        assertEquals(1, refCount(newResume));
+    }
+
+    @Test
+    void resumeReusedByAnApplicationKeepsItsReference() {
+        String oldResume = blob();
+        User jobSeeker = jobSeeker(oldResume);
+        // An application submitted with the profile resume
+        fileStorageService.retainFile(oldResume);
+
+        userService.replaceResume(jobSeeker, blob());
+
+        assertEquals(1, refCount(oldResume));
+    }
+
+    // A stored blob with the single reference its upload registered
+    private String blob() {
+        String sha256 = (UUID.randomUUID().toString().replace("-", "")).repeat(2);
+        String path = FileStorageService.shardedPath("resumes/" + sha256 + ".pdf");
+        LocalDateTime now = LocalDateTime.now();
+        storedFileRepository.save(new StoredFile(path, sha256, 1024L, 1, now, now));
+        return path;
+    }
+
+    private User jobSeeker(String resumePath) {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user.setFirstName("Test");
+        user.setLastName("Seeker");
+        user.setRole(User.Role.JOB_SEEKER);
+        user.setResumePath(resumePath);
+        return userRepository.save(user);
+    }
+
+    private int refCount(String path) {
+        return storedFileRepository.findById(path).orElseThrow().getRefCount();
+    }
+}
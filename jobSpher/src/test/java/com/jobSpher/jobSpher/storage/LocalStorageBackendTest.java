@@ -0,0 +1,59 @@
+package com.jobSpher.jobSpher.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LocalStorageBackendTest extends StorageBackendContractTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Override
+    protected StorageBackend createBackend() {
+        LocalStorageBackend local = new LocalStorageBackend();
+        ReflectionTestUtils.setField(local, "uploadDir", uploadDir.toString());
+        return local;
+    }
+
+    @Test
+    void keysCannotEscapeTheUploadDirectory() throws IOException {
+        Files.writeString(uploadDir.resolveSibling("outside.txt"), "secret");
+
+        assertThrows(FileNotFoundException.class, () -> backend.get("../outside.txt").close());
+        assertThrows(FileNotFoundException.class, () -> put("resumes/../../outside.txt", "overwrite"));
+        assertEquals("secret", Files.readString(uploadDir.resolveSibling("outside.txt")));
+        Files.delete(uploadDir.resolveSibling("outside.txt"));
+    }
+
+    @Test
+    void putFromAStreamLeavesNoTemporaryFiles() throws IOException {
+        put("resumes/a.pdf", "content");
+
+        try (var temp = Files.list(uploadDir.resolve(".tmp"))) {
+            assertFalse(temp.findAny().isPresent());
+        }
+    }
+
+    @Test
+    void storedObjectsAreServedAsFiles() throws IOException {
+        put("logos/a.png", "content");
+
+        StorageResource resource = new StorageResource(backend, backend.stat("logos/a.png").orElseThrow());
+
+        assertTrue(resource.isFile());
+        assertEquals(uploadDir.resolve("logos/a.png").toFile().getAbsolutePath(), resource.getFile().getAbsolutePath());
+        assertFalse(new StorageResource(backend, new StoredObject("logos/missing.png", 0, Instant.now())).isFile());
+    }
+}
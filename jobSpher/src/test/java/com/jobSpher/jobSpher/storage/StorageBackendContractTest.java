@@ -0,0 +1,193 @@
+package com.jobSpher.jobSpher.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behaviour every StorageBackend must share; subclasses supply the backend
+ */
+abstract class StorageBackendContractTest {
+
+    // Keeps tests apart when the backend is shared, e.g. one S3 bucket
+    protected final String prefix = "contract-" + UUID.randomUUID() + "/";
+
+    protected StorageBackend backend;
+
+    protected abstract StorageBackend createBackend() throws IOException;
+
+    @BeforeEach
+    void createStorageBackend() throws IOException {
+        backend = createBackend();
+    }
+
+    @AfterEach
+    void deleteObjects() throws IOException {
+        try {
+            List<String> keys = new ArrayList<>();
+            backend.list(prefix, object -> keys.add(object.getKey()));
+            for (String key : keys) {
+                backend.delete(key);
+            }
+        } finally {
+            closeBackend();
+        }
+    }
+
+    // Runs after the test's objects are deleted
+    protected void closeBackend() {
+    }
+
+    @Test
+    void storedContentReadsBack() throws IOException {
+        byte[] content = "hello storage".getBytes(StandardCharsets.UTF_8);
+        backend.put(prefix + "resumes/a.pdf", new ByteArrayInputStream(content), content.length);
+
+        assertArrayEquals(content, read(backend.get(prefix + "resumes/a.pdf")));
+        StoredObject object = backend.stat(prefix + "resumes/a.pdf").orElseThrow();
+        assertEquals(prefix + "resumes/a.pdf", object.getKey());
+        assertEquals(content.length, object.getSize());
+        assertTrue(backend.exists(prefix + "resumes/a.pdf"));
+    }
+
+    @Test
+    void putReplacesAnExistingObject() throws IOException {
+        put(prefix + "logos/a.png", "first version");
+        put(prefix + "logos/a.png", "second");
+
+        assertEquals("second", readString(prefix + "logos/a.png"));
+        assertEquals(6, backend.stat(prefix + "logos/a.png").orElseThrow().getSize());
+    }
+
+    @Test
+    void putStoresALocalFile() throws IOException {
+        Path source = Files.createTempFile("storage-contract", ".pdf");
+        Files.writeString(source, "from a file");
+
+        backend.put(prefix + "resumes/file.pdf", source);
+
+        assertEquals("from a file", readString(prefix + "resumes/file.pdf"));
+        Files.deleteIfExists(source);
+    }
+
+    @Test
+    void largeObjectsRoundTrip() throws IOException {
+        // Larger than the S3 part size, so the S3 backend uses a multipart upload
+        byte[] content = new byte[11 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+
+        backend.put(prefix + "resumes/large.bin", new ByteArrayInputStream(content), content.length);
+
+        assertArrayEquals(content, read(backend.get(prefix + "resumes/large.bin")));
+    }
+
+    @Test
+    void rangeReadsAreInclusive() throws IOException {
+        put(prefix + "resumes/range.txt", "0123456789");
+
+        assertEquals("234", new String(read(backend.getRange(prefix + "resumes/range.txt", 2, 4)), StandardCharsets.UTF_8));
+        assertEquals("9", new String(read(backend.getRange(prefix + "resumes/range.txt", 9, 9)), StandardCharsets.UTF_8));
+        assertEquals("0123456789",
+                new String(read(backend.getRange(prefix + "resumes/range.txt", 0, 9)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void missingObjectsAreReportedAsMissing() throws IOException {
+        String missing = prefix + "resumes/missing.pdf";
+
+        assertTrue(backend.stat(missing).isEmpty());
+        assertFalse(backend.exists(missing));
+        assertThrows(FileNotFoundException.class, () -> backend.get(missing).close());
+        assertThrows(FileNotFoundException.class, () -> backend.getRange(missing, 0, 1).close());
+        // Deleting a missing key is not an error
+        backend.delete(missing);
+    }
+
+    @Test
+    void deleteRemovesTheObject() throws IOException {
+        put(prefix + "payments/a.pdf", "receipt");
+
+        backend.delete(prefix + "payments/a.pdf");
+
+        assertFalse(backend.exists(prefix + "payments/a.pdf"));
+    }
+
+    @Test
+    void moveReplacesTheTargetAndRemovesTheSource() throws IOException {
+        put(prefix + "resumes/3c7b.pdf", "moved");
+        put(prefix + "resumes/3c/7b/3c7b.pdf", "stale");
+
+        backend.move(prefix + "resumes/3c7b.pdf", prefix + "resumes/3c/7b/3c7b.pdf");
+
+        assertEquals("moved", readString(prefix + "resumes/3c/7b/3c7b.pdf"));
+        assertFalse(backend.exists(prefix + "resumes/3c7b.pdf"));
+        assertThrows(FileNotFoundException.class,
+                () -> backend.move(prefix + "resumes/3c7b.pdf", prefix + "resumes/other.pdf"));
+    }
+
+    @Test
+    void listVisitsObjectsUnderThePrefix() throws IOException {
+        put(prefix + "resumes/a.pdf", "a");
+        put(prefix + "resumes/3c/7b/3c7b.pdf", "b");
+        put(prefix + "logos/c.png", "c");
+        put(prefix + "resumes-old/d.pdf", "d");
+
+        Set<String> resumes = new TreeSet<>();
+        backend.list(prefix + "resumes/", object -> resumes.add(object.getKey()));
+        Set<String> all = new TreeSet<>();
+        backend.list(prefix, object -> all.add(object.getKey()));
+
+        assertEquals(Set.of(prefix + "resumes/a.pdf", prefix + "resumes/3c/7b/3c7b.pdf"), resumes);
+        assertEquals(4, all.size());
+    }
+
+    @Test
+    void listStopsWhenTheVisitorSaysSo() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            put(prefix + "logos/" + i + ".png", "logo");
+        }
+
+        List<String> visited = new ArrayList<>();
+        backend.list(prefix, object -> {
+            visited.add(object.getKey());
+            return visited.size() < 2;
+        });
+
+        assertEquals(2, visited.size());
+    }
+
+    protected void put(String key, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        backend.put(key, new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    protected String readString(String key) throws IOException {
+        return new String(read(backend.get(key)), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] read(InputStream input) throws IOException {
+        try (input) {
+            return input.readAllBytes();
+        }
+    }
+}
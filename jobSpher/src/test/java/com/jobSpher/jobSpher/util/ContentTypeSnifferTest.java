@@ -0,0 +1,64 @@
+package com.jobSpher.jobSpher.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class ContentTypeSnifferTest {
+
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    @Test
+    void recognisesUploadFormatsByMagicNumber() {
+        assertEquals("application/pdf", sniff(ascii("%PDF-1.7"), "resume.pdf"));
+        assertEquals("image/png", sniff(bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A), "logo.png"));
+        assertEquals("image/jpeg", sniff(bytes(0xFF, 0xD8, 0xFF, 0xE0), "logo.jpg"));
+        assertEquals("image/gif", sniff(ascii("GIF89a"), "logo.gif"));
+        assertEquals("image/bmp", sniff(ascii("BM...."), "logo.bmp"));
+        assertEquals("image/webp", sniff(ascii("RIFF\0\0\0\0WEBPVP8 "), "logo.webp"));
+        assertEquals("application/msword", sniff(bytes(0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1), "resume.doc"));
+    }
+
+    @Test
+    void zipIsOnlyDocxWhenTheFileNameSaysSo() {
+        byte[] zip = bytes('P', 'K', 0x03, 0x04);
+
+        assertEquals(DOCX, sniff(zip, "Resume.DOCX"));
+        assertEquals("application/zip", sniff(zip, "resume.zip"));
+        assertEquals("application/zip", sniff(zip, null));
+    }
+
+    @Test
+    void fileNameDoesNotOverrideContent() {
+        assertEquals("application/octet-stream", sniff(ascii("<html><script>"), "resume.pdf"));
+        assertEquals("application/octet-stream", sniff(ascii("RIFF\0\0\0\0WAVEfmt "), "logo.webp"));
+    }
+
+    @Test
+    void onlyTheBytesReadAreConsidered() {
+        byte[] header = new byte[ContentTypeSniffer.HEADER_LENGTH];
+        System.arraycopy(ascii("%PDF-"), 0, header, 0, 5);
+
+        assertEquals("application/octet-stream", ContentTypeSniffer.sniff(header, 4, "resume.pdf"));
+        assertEquals("application/pdf", ContentTypeSniffer.sniff(header, 5, "resume.pdf"));
+        assertEquals("application/octet-stream", ContentTypeSniffer.sniff(header, 0, "resume.pdf"));
+    }
+
+    private static String sniff(byte[] header, String filename) {
+        return ContentTypeSniffer.sniff(header, header.length, filename);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,51 @@
+package com.jobSpher.jobSpher.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class EmailTemplateTest {
+
+    private final EmailTemplate template = EmailTemplate.compile(
+            "Subject: New: ${title}\r\nHi ${firstName},\r\n\r\n${message}\r\n");
+
+    @Test
+    void rendersPlaceholdersAndNormalizesLineEndings() {
+        Map<String, String> values = Map.of("title", "Job approved", "firstName", "Sara", "message", "Welcome");
+
+        assertEquals("New: Job approved", template.renderSubject(values));
+        assertEquals("Hi Sara,\n\nWelcome\n", template.renderBody(values));
+    }
+
+    @Test
+    void valuesAreNotExpandedAgain() {
+        Map<String, String> values = Map.of("title", "${firstName}", "firstName", "Sara", "message", "${title} $ {}");
+
+        assertEquals("New: ${firstName}", template.renderSubject(values));
+        assertEquals("Hi Sara,\n\n${title} $ {}\n", template.renderBody(values));
+    }
+
+    @Test
+    void lineBreaksInSubjectValuesCannotAddHeaders() {
+        Map<String, String> values = Map.of("title", "Hello\r\nBcc: victim@example.com", "message", "line 1\nline 2");
+
+        assertEquals("New: Hello  Bcc: victim@example.com", template.renderSubject(values));
+        assertEquals("Hi ,\n\nline 1\nline 2\n", template.renderBody(values));
+    }
+
+    @Test
+    void unterminatedPlaceholdersStayLiteral() {
+        EmailTemplate literal = EmailTemplate.compile("Subject: Costs ${\nPay $5 or ${amount");
+
+        assertEquals("Costs ${", literal.renderSubject(Map.of()));
+        assertEquals("Pay $5 or ${amount", literal.renderBody(Map.of("amount", "10")));
+    }
+
+    @Test
+    void templateMustStartWithASubjectLine() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("Hi ${firstName}"));
+    }
+}
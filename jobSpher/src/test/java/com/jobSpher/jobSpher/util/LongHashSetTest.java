@@ -0,0 +1,46 @@
+package com.jobSpher.jobSpher.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTest {
+
+    @Test
+    void addReportsWhetherTheValueWasNew() {
+        LongHashSet set = new LongHashSet();
+
+        assertTrue(set.add(5));
+        assertFalse(set.add(5));
+        assertTrue(set.contains(5));
+        assertFalse(set.contains(6));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void zeroIsStoredAlongsideTheEmptyMarker() {
+        LongHashSet set = new LongHashSet();
+
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void growsWithoutLosingMembers() {
+        LongHashSet set = new LongHashSet(1);
+        for (long value = -5_000; value < 5_000; value++) {
+            set.add(value * 0x9E3779B97F4A7C15L);
+        }
+
+        assertEquals(10_000, set.size());
+        for (long value = -5_000; value < 5_000; value++) {
+            assertTrue(set.contains(value * 0x9E3779B97F4A7C15L));
+        }
+        assertFalse(set.contains(1));
+    }
+}
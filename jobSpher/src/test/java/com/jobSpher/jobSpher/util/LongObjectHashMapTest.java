@@ -0,0 +1,69 @@
+package com.jobSpher.jobSpher.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void putReplacesTheValueOfAnExistingKey() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(42, "first");
+        map.put(42, "second");
+
+        assertEquals("second", map.get(42));
+        assertEquals(1, map.size());
+        assertNull(map.get(43));
+    }
+
+    @Test
+    void zeroNegativeAndExtremeKeysAreOrdinaryKeys() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        long[] keys = { 0, -1, Long.MIN_VALUE, Long.MAX_VALUE };
+        for (long key : keys) {
+            map.put(key, "v" + key);
+        }
+
+        for (long key : keys) {
+            assertEquals("v" + key, map.get(key));
+        }
+        assertEquals(keys.length, map.size());
+    }
+
+    @Test
+    void growsWithoutLosingEntries() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key * 1024, key);
+        }
+
+        assertEquals(10_000, map.size());
+        for (long key = 0; key < 10_000; key++) {
+            assertEquals(Long.valueOf(key), map.get(key * 1024));
+        }
+        assertNull(map.get(1));
+    }
+
+    @Test
+    void computeIfAbsentCreatesTheValueOnce() {
+        LongObjectHashMap<StringBuilder> map = new LongObjectHashMap<>();
+        AtomicInteger created = new AtomicInteger();
+
+        StringBuilder first = map.computeIfAbsent(7, key -> {
+            created.incrementAndGet();
+            return new StringBuilder();
+        });
+        StringBuilder second = map.computeIfAbsent(7, key -> {
+            created.incrementAndGet();
+            return new StringBuilder();
+        });
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+    }
+}
@@ -0,0 +1,55 @@
+package com.jobSpher.jobSpher.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SparseVectorTest {
+
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    void vectorsAreNormalizedWhateverTheInputOrder() {
+        SparseVector vector = SparseVector.of(new int[] { 7, 1, 3 }, new float[] { 2, 4, 4 }, 3);
+
+        assertEquals(1.0, vector.dot(vector), EPSILON);
+        assertFalse(vector.isEmpty());
+    }
+
+    @Test
+    void dotProductIsTheCosineSimilarity() {
+        SparseVector a = SparseVector.of(new int[] { 0, 1 }, new float[] { 1, 1 }, 2);
+        SparseVector b = SparseVector.of(new int[] { 2, 1 }, new float[] { 1, 1 }, 2);
+
+        assertEquals(0.5, a.dot(b), EPSILON);
+        assertEquals(0.5, b.dot(a), EPSILON);
+    }
+
+    @Test
+    void vectorsWithoutSharedTermsAreOrthogonal() {
+        SparseVector a = SparseVector.of(new int[] { 1, 3, 5 }, new float[] { 1, 2, 3 }, 3);
+        SparseVector b = SparseVector.of(new int[] { 2, 4, 6 }, new float[] { 3, 2, 1 }, 3);
+
+        assertEquals(0.0, a.dot(b), EPSILON);
+        assertEquals(0.0, a.dot(SparseVector.EMPTY), EPSILON);
+    }
+
+    @Test
+    void onlyTheFirstSizeEntriesAreUsed() {
+        // Callers reuse oversized scratch arrays
+        SparseVector vector = SparseVector.of(new int[] { 4, 9, 0 }, new float[] { 1, 1, 100 }, 2);
+        SparseVector expected = SparseVector.of(new int[] { 4, 9 }, new float[] { 1, 1 }, 2);
+
+        assertEquals(1.0, vector.dot(expected), EPSILON);
+    }
+
+    @Test
+    void emptyAndZeroWeightVectorsAreEmpty() {
+        assertSame(SparseVector.EMPTY, SparseVector.of(new int[0], new float[0], 0));
+        assertSame(SparseVector.EMPTY, SparseVector.of(new int[] { 1, 2 }, new float[] { 0, 0 }, 2));
+        assertTrue(SparseVector.EMPTY.isEmpty());
+    }
+}
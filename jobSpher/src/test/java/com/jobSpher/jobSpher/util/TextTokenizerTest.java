@@ -0,0 +1,44 @@
+package com.jobSpher.jobSpher.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class TextTokenizerTest {
+
+    @Test
+    void lowercasesAndDropsStopWordsAndSingleCharacters() {
+        assertEquals(List.of("senior", "java", "developer", "team"),
+                List.copyOf(TextTokenizer.terms("A Senior JAVA developer for the team, x")));
+    }
+
+    @Test
+    void keepsProgrammingLanguageNamesIntact() {
+        assertEquals(List.of("c++", "c#", "node.js", "asp.net"),
+                List.copyOf(TextTokenizer.terms("C++, C# and Node.js. ASP.NET...")));
+    }
+
+    @Test
+    void countsTermFrequencies() {
+        Map<String, Integer> frequencies = TextTokenizer.termFrequencies("Java java JAVA spring");
+
+        assertEquals(Map.of("java", 3, "spring", 1), frequencies);
+    }
+
+    @Test
+    void dropsOverlongTerms() {
+        String longest = "a".repeat(TextTokenizer.MAX_TERM_LENGTH);
+
+        assertEquals(List.of(longest), List.copyOf(TextTokenizer.terms(longest + " " + longest + "b")));
+    }
+
+    @Test
+    void nullAndBlankTextHaveNoTerms() {
+        assertTrue(TextTokenizer.terms(null).isEmpty());
+        assertTrue(TextTokenizer.termFrequencies(" .,;+# ").isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.jobSpher.jobSpher.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+    @Test
+    void keepsTheHighestScoresBestFirst() {
+        TopK topK = new TopK(3);
+        float[] scores = { 0.2f, 0.9f, 0.1f, 0.5f, 0.7f, 0.3f };
+        for (int i = 0; i < scores.length; i++) {
+            topK.offer(i, scores[i]);
+        }
+
+        TopK.Result result = topK.result();
+
+        assertArrayEquals(new long[] { 1, 4, 3 }, ids(result));
+        assertEquals(0.9, result.score(0), 1e-6);
+        assertEquals(0.5, result.score(2), 1e-6);
+    }
+
+    @Test
+    void returnsEverythingWhenFewerThanKWereOffered() {
+        TopK topK = new TopK(5);
+        topK.offer(10, 1f);
+        topK.offer(20, 3f);
+
+        assertEquals(2, topK.size());
+        assertArrayEquals(new long[] { 20, 10 }, ids(topK.result()));
+    }
+
+    @Test
+    void zeroCapacityIgnoresOffers() {
+        TopK topK = new TopK(0);
+        topK.offer(1, 1f);
+
+        assertEquals(0, topK.size());
+        assertEquals(0, topK.result().size());
+    }
+
+    @Test
+    void mergingPartialResultsMatchesASingleScan() {
+        TopK single = new TopK(4);
+        TopK left = new TopK(4);
+        TopK right = new TopK(4);
+        for (int i = 0; i < 100; i++) {
+            float score = (i * 37 % 101) / 101f;
+            single.offer(i, score);
+            (i % 2 == 0 ? left : right).offer(i, score);
+        }
+
+        left.merge(right);
+
+        assertArrayEquals(ids(single.result()), ids(left.result()));
+    }
+
+    private static long[] ids(TopK.Result result) {
+        long[] ids = new long[result.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = result.id(i);
+        }
+        return ids;
+    }
+}